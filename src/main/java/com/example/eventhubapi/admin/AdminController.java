@@ -3,17 +3,23 @@ package com.example.eventhubapi.admin;
 import com.example.eventhubapi.admin.dto.AdminChangeUserRoleRequest;
 import com.example.eventhubapi.admin.dto.AdminEventUpdateRequest;
 import com.example.eventhubapi.admin.dto.AdminUserUpdateStatusRequest;
+import com.example.eventhubapi.admin.export.AdminExportService;
+import com.example.eventhubapi.admin.export.ExportFormat;
 import com.example.eventhubapi.event.dto.EventDto;
 import com.example.eventhubapi.event.media.MediaService;
 import com.example.eventhubapi.event.media.dto.MediaDto;
+import com.example.eventhubapi.security.CurrentAccount;
 import com.example.eventhubapi.user.dto.UserDto;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -28,15 +34,18 @@ public class AdminController {
 
     private final AdminService adminService;
     private final MediaService mediaService;
+    private final AdminExportService adminExportService;
 
     /**
      * Constructs an AdminController with the necessary services.
      * @param adminService The service for administrative actions.
      * @param mediaService The service for media-related actions.
+     * @param adminExportService The service for bulk data exports.
      */
-    public AdminController(AdminService adminService, MediaService mediaService) {
+    public AdminController(AdminService adminService, MediaService mediaService, AdminExportService adminExportService) {
         this.adminService = adminService;
         this.mediaService = mediaService;
+        this.adminExportService = adminExportService;
     }
 
     /**
@@ -101,13 +110,13 @@ public class AdminController {
      * Uploads a gallery image for an event as an administrator.
      * @param id The ID of the event.
      * @param file The image file to upload.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity containing the DTO of the created media.
      * @throws IOException If an I/O error occurs during file processing.
      */
     @PostMapping("/events/{id}/media/gallery")
-    public ResponseEntity<MediaDto> adminUploadGalleryImage(@PathVariable Long id, @RequestParam("file") MultipartFile file, Authentication authentication) throws IOException {
-        MediaDto mediaDto = mediaService.adminUploadGalleryImage(id, file, authentication);
+    public ResponseEntity<MediaDto> adminUploadGalleryImage(@PathVariable Long id, @RequestParam("file") MultipartFile file, CurrentAccount currentAccount) throws IOException {
+        MediaDto mediaDto = mediaService.adminUploadGalleryImage(id, file, currentAccount);
         return new ResponseEntity<>(mediaDto, HttpStatus.CREATED);
     }
 
@@ -121,4 +130,47 @@ public class AdminController {
         adminService.deleteMedia(fileId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Exports every event. The body is written on a separate thread while rows are read from the database.
+     * @param format The output format, "ndjson" or "csv".
+     * @return A ResponseEntity streaming the export.
+     */
+    @GetMapping("/export/events")
+    public ResponseEntity<StreamingResponseBody> exportEvents(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        return export("events", exportFormat, out -> adminExportService.exportEvents(exportFormat, out));
+    }
+
+    /**
+     * Exports every user account. The body is written on a separate thread while rows are read from the database.
+     * @param format The output format, "ndjson" or "csv".
+     * @return A ResponseEntity streaming the export.
+     */
+    @GetMapping("/export/accounts")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        return export("accounts", exportFormat, out -> adminExportService.exportAccounts(exportFormat, out));
+    }
+
+    /**
+     * Exports the participants of an event. The body is written on a separate thread while rows are read from the database.
+     * @param id The ID of the event.
+     * @param format The output format, "ndjson" or "csv".
+     * @return A ResponseEntity streaming the export.
+     */
+    @GetMapping("/export/events/{id}/participants")
+    public ResponseEntity<StreamingResponseBody> exportParticipants(@PathVariable Long id, @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        adminExportService.requireEvent(id);
+        return export("event-" + id + "-participants", exportFormat, out -> adminExportService.exportParticipants(id, exportFormat, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(name + "." + format.getValue()).build().toString())
+                .body(body);
+    }
+}
@@ -2,12 +2,16 @@ package com.example.eventhubapi.admin;
 
 import com.example.eventhubapi.admin.dto.AdminEventUpdateRequest;
 import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.event.EventPermissionService;
 import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.event.calendar.EventCalendarService;
 import com.example.eventhubapi.event.dto.EventDto;
 import com.example.eventhubapi.event.exception.EventNotFoundException;
+import com.example.eventhubapi.event.geo.EventGeoService;
 import com.example.eventhubapi.event.mapper.EventMapper;
 import com.example.eventhubapi.event.media.MediaRepository;
 import com.example.eventhubapi.event.media.exception.MediaNotFoundException;
+import com.example.eventhubapi.event.search.EventSearchService;
 import com.example.eventhubapi.location.Location;
 import com.example.eventhubapi.location.LocationRepository;
 import com.example.eventhubapi.location.LocationService;
@@ -15,10 +19,12 @@ import com.example.eventhubapi.location.dto.LocationDto;
 import com.example.eventhubapi.location.exception.LocationNotFoundException;
 import com.example.eventhubapi.security.Role;
 import com.example.eventhubapi.security.RoleRepository;
+import com.example.eventhubapi.security.TokenEpochRegistry;
 import com.example.eventhubapi.security.exception.RoleNotFoundException;
 import com.example.eventhubapi.user.AccountStatus;
 import com.example.eventhubapi.user.AccountStatusRepository;
 import com.example.eventhubapi.user.User;
+import com.example.eventhubapi.event.participant.ParticipantAdmissionService;
 import com.example.eventhubapi.event.participant.ParticipantRepository;
 import com.example.eventhubapi.user.UserRepository;
 import com.example.eventhubapi.user.dto.UserDto;
@@ -43,6 +49,12 @@ public class AdminService {
     private final AccountStatusRepository accountStatusRepository;
     private final LocationService locationService;
     private final ParticipantRepository participantRepository;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final EventPermissionService eventPermissionService;
+    private final EventSearchService eventSearchService;
+    private final EventGeoService eventGeoService;
+    private final EventCalendarService eventCalendarService;
+    private final ParticipantAdmissionService admissionService;
 
     /**
      * Constructs an AdminService with the necessary repositories and mappers.
@@ -56,6 +68,12 @@ public class AdminService {
      * @param accountStatusRepository The repository for account status data access.
      * @param locationService The service for location-related business logic.
      * @param participantRepository The repository for participant data access.
+     * @param tokenEpochRegistry The registry used to revoke tokens after account changes.
+     * @param eventPermissionService The service whose cached event permissions are evicted on deletion.
+     * @param eventSearchService The service maintaining the event search index.
+     * @param eventGeoService The service maintaining the event geo index.
+     * @param eventCalendarService The service maintaining the event calendars.
+     * @param admissionService The service that fills freed seats from the waitlists.
      */
     public AdminService(UserRepository userRepository,
                         EventRepository eventRepository,
@@ -66,7 +84,13 @@ public class AdminService {
                         EventMapper eventMapper,
                         AccountStatusRepository accountStatusRepository,
                         LocationService locationService,
-                        ParticipantRepository participantRepository) {
+                        ParticipantRepository participantRepository,
+                        TokenEpochRegistry tokenEpochRegistry,
+                        EventPermissionService eventPermissionService,
+                        EventSearchService eventSearchService,
+                        EventGeoService eventGeoService,
+                        EventCalendarService eventCalendarService,
+                        ParticipantAdmissionService admissionService) {
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.mediaRepository = mediaRepository;
@@ -77,6 +101,12 @@ public class AdminService {
         this.accountStatusRepository = accountStatusRepository;
         this.locationService = locationService;
         this.participantRepository = participantRepository;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.eventPermissionService = eventPermissionService;
+        this.eventSearchService = eventSearchService;
+        this.eventGeoService = eventGeoService;
+        this.eventCalendarService = eventCalendarService;
+        this.admissionService = admissionService;
     }
 
     /**
@@ -93,6 +123,7 @@ public class AdminService {
                 .orElseThrow(() -> new IllegalArgumentException("Invalid status: " + newStatusName));
 
         user.setStatus(newStatus);
+        tokenEpochRegistry.revoke(userId);
 
         return userMapper.toUserDto(userRepository.save(user));
     }
@@ -109,6 +140,7 @@ public class AdminService {
         Role newRole = roleRepository.findByName(roleName)
                 .orElseThrow(() -> new RoleNotFoundException("Role not found: " + roleName));
         user.setRole(newRole);
+        tokenEpochRegistry.revoke(userId);
         return userMapper.toUserDto(userRepository.save(user));
     }
 
@@ -121,7 +153,9 @@ public class AdminService {
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException("User not found with id: " + userId);
         }
+        admissionService.releaseSeatsOfDeletedUser(userId);
         userRepository.deleteById(userId);
+        tokenEpochRegistry.revoke(userId);
     }
 
     /**
@@ -132,6 +166,7 @@ public class AdminService {
      */
     @Transactional
     public EventDto updateAnyEvent(Long eventId, AdminEventUpdateRequest request) {
+        admissionService.changeMaxParticipants(eventId, request.getMaxParticipants());
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
 
@@ -140,7 +175,6 @@ public class AdminService {
         event.setStartDate(request.getStartDate());
         event.setEndDate(request.getEndDate());
         event.setPublic(request.getIsPublic());
-        event.setMaxParticipants(request.getMaxParticipants());
 
         if (request.getLocationId() != null) {
             Location location = locationRepository.findById(request.getLocationId())
@@ -153,8 +187,11 @@ public class AdminService {
             event.setLocation(newLocation);
         }
 
-
-        return eventMapper.toDto(eventRepository.save(event));
+        Event savedEvent = eventRepository.save(event);
+        eventSearchService.index(savedEvent);
+        eventGeoService.index(savedEvent);
+        eventCalendarService.index(savedEvent);
+        return eventMapper.toDto(savedEvent);
     }
 
     /**
@@ -168,6 +205,10 @@ public class AdminService {
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
 
         eventRepository.delete(event);
+        eventPermissionService.evictEvent(eventId);
+        eventSearchService.remove(eventId);
+        eventGeoService.remove(eventId);
+        eventCalendarService.remove(eventId);
     }
 
     /**
@@ -176,10 +217,9 @@ public class AdminService {
      */
     @Transactional
     public void deleteMedia(Long mediaId) {
-        if (!mediaRepository.existsById(mediaId)) {
+        if (mediaRepository.deleteMediaById(mediaId) == 0) {
             throw new MediaNotFoundException("Media not found with id: " + mediaId);
         }
-        mediaRepository.deleteById(mediaId);
     }
 
     private User findUserById(Long userId) {
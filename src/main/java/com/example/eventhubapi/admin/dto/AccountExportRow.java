@@ -0,0 +1,20 @@
+package com.example.eventhubapi.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * One account as written by the admin account export.
+ */
+@Getter
+@AllArgsConstructor
+public class AccountExportRow {
+    private final Long id;
+    private final String login;
+    private final String name;
+    private final String role;
+    private final String status;
+    private final Instant createdAt;
+}
@@ -0,0 +1,23 @@
+package com.example.eventhubapi.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * One event as written by the admin event export.
+ */
+@Getter
+@AllArgsConstructor
+public class EventExportRow {
+    private final Long id;
+    private final String name;
+    private final boolean isPublic;
+    private final Instant startDate;
+    private final Instant endDate;
+    private final Long maxParticipants;
+    private final int attendingCount;
+    private final Long organizerId;
+    private final Long locationId;
+}
@@ -0,0 +1,25 @@
+package com.example.eventhubapi.admin.dto;
+
+import com.example.eventhubapi.event.participant.enums.EventRole;
+import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import lombok.Getter;
+
+/**
+ * One participant of an event as written by the admin participant export.
+ */
+@Getter
+public class ParticipantExportRow {
+    private final Long userId;
+    private final String login;
+    private final String name;
+    private final String status;
+    private final String eventRole;
+
+    public ParticipantExportRow(Long userId, String login, String name, ParticipantStatus status, EventRole eventRole) {
+        this.userId = userId;
+        this.login = login;
+        this.name = name;
+        this.status = status.getValue();
+        this.eventRole = eventRole.getValue();
+    }
+}
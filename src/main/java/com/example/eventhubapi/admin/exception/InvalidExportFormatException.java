@@ -0,0 +1,15 @@
+package com.example.eventhubapi.admin.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an export is requested in an unsupported format.
+ * Results in an HTTP 400 Bad Request status.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException(String message) {
+        super(message);
+    }
+}
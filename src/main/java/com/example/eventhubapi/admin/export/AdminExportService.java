@@ -0,0 +1,187 @@
+package com.example.eventhubapi.admin.export;
+
+import com.example.eventhubapi.admin.dto.AccountExportRow;
+import com.example.eventhubapi.admin.dto.EventExportRow;
+import com.example.eventhubapi.admin.dto.ParticipantExportRow;
+import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.event.exception.EventNotFoundException;
+import com.example.eventhubapi.event.participant.ParticipantRepository;
+import com.example.eventhubapi.user.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables for reporting as NDJSON (one JSON object per line) or CSV (RFC 4180, with a header row).
+ * <p>
+ * Rows are read through a forward-only {@code Stream} query with a JDBC fetch size inside one read-only transaction
+ * and written as they arrive, so memory use does not depend on the table size. The queries select DTO projections,
+ * which never enter the persistence context, so it does not grow during the export.
+ */
+@Service
+public class AdminExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<Column<EventExportRow>> EVENT_COLUMNS = List.of(
+            new Column<>("id", EventExportRow::getId),
+            new Column<>("name", EventExportRow::getName),
+            new Column<>("public", EventExportRow::isPublic),
+            new Column<>("startDate", EventExportRow::getStartDate),
+            new Column<>("endDate", EventExportRow::getEndDate),
+            new Column<>("maxParticipants", EventExportRow::getMaxParticipants),
+            new Column<>("attendingCount", EventExportRow::getAttendingCount),
+            new Column<>("organizerId", EventExportRow::getOrganizerId),
+            new Column<>("locationId", EventExportRow::getLocationId));
+
+    private static final List<Column<AccountExportRow>> ACCOUNT_COLUMNS = List.of(
+            new Column<>("id", AccountExportRow::getId),
+            new Column<>("login", AccountExportRow::getLogin),
+            new Column<>("name", AccountExportRow::getName),
+            new Column<>("role", AccountExportRow::getRole),
+            new Column<>("status", AccountExportRow::getStatus),
+            new Column<>("createdAt", AccountExportRow::getCreatedAt));
+
+    private static final List<Column<ParticipantExportRow>> PARTICIPANT_COLUMNS = List.of(
+            new Column<>("userId", ParticipantExportRow::getUserId),
+            new Column<>("login", ParticipantExportRow::getLogin),
+            new Column<>("name", ParticipantExportRow::getName),
+            new Column<>("status", ParticipantExportRow::getStatus),
+            new Column<>("eventRole", ParticipantExportRow::getEventRole));
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final ParticipantRepository participantRepository;
+    private final ObjectWriter jsonWriter;
+
+    /**
+     * One CSV column: its header and how to read its value from a row.
+     */
+    private record Column<T>(String header, Function<T, ?> value) {
+    }
+
+    /**
+     * Constructs an AdminExportService.
+     * @param eventRepository The repository events are streamed from.
+     * @param userRepository The repository accounts are streamed from.
+     * @param participantRepository The repository participants are streamed from.
+     * @param objectMapper The application's JSON mapper, used for NDJSON lines.
+     */
+    public AdminExportService(EventRepository eventRepository, UserRepository userRepository,
+                              ParticipantRepository participantRepository, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.participantRepository = participantRepository;
+        this.jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Writes every event, in id order.
+     * @param format The output format.
+     * @param out The stream to write to; it is not closed.
+     * @throws IOException If the output cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public void exportEvents(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<EventExportRow> rows = eventRepository.streamExportRows()) {
+            write(rows, EVENT_COLUMNS, format, out);
+        }
+    }
+
+    /**
+     * Writes every account, in id order.
+     * @param format The output format.
+     * @param out The stream to write to; it is not closed.
+     * @throws IOException If the output cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public void exportAccounts(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<AccountExportRow> rows = userRepository.streamExportRows()) {
+            write(rows, ACCOUNT_COLUMNS, format, out);
+        }
+    }
+
+    /**
+     * Checks that an event exists, so a missing event is reported before any output is written.
+     * @param eventId The ID of the event.
+     * @throws EventNotFoundException If the event does not exist.
+     */
+    public void requireEvent(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException("Event not found with id: " + eventId);
+        }
+    }
+
+    /**
+     * Writes every participant of an event, in user id order.
+     * @param eventId The ID of the event.
+     * @param format The output format.
+     * @param out The stream to write to; it is not closed.
+     * @throws IOException If the output cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public void exportParticipants(Long eventId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ParticipantExportRow> rows = participantRepository.streamExportRowsByEventId(eventId)) {
+            write(rows, PARTICIPANT_COLUMNS, format, out);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, List<Column<T>> columns, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, columns.stream().map(Column::header).toList());
+        }
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, columns.stream().map(column -> column.value().apply(row)).toList());
+            } else {
+                jsonWriter.writeValue(writer, row);
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(csvField(value));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        String text = value.toString();
+        // Free text that a spreadsheet would evaluate as a formula is prefixed so it is shown as typed.
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
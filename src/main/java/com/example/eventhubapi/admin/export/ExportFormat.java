@@ -0,0 +1,36 @@
+package com.example.eventhubapi.admin.export;
+
+import com.example.eventhubapi.admin.exception.InvalidExportFormatException;
+
+/**
+ * The formats the admin exports can be written in.
+ */
+public enum ExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String value;
+    private final String contentType;
+
+    ExportFormat(String value, String contentType) {
+        this.value = value;
+        this.contentType = contentType;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportFormat fromValue(String text) {
+        for (ExportFormat format : ExportFormat.values()) {
+            if (format.value.equalsIgnoreCase(text)) {
+                return format;
+            }
+        }
+        throw new InvalidExportFormatException("Unsupported export format '" + text + "'; use ndjson or csv.");
+    }
+}
@@ -1,7 +1,14 @@
 package com.example.eventhubapi.common.exception;
 
+import com.example.eventhubapi.admin.exception.InvalidExportFormatException;
 import com.example.eventhubapi.event.exception.EventNotFoundException;
+import com.example.eventhubapi.event.exception.InvalidDateRangeException;
+import com.example.eventhubapi.event.exception.InvalidGeoQueryException;
+import com.example.eventhubapi.event.exception.InvalidImportException;
+import com.example.eventhubapi.event.media.exception.InvalidUploadException;
 import com.example.eventhubapi.event.media.exception.MediaNotFoundException;
+import com.example.eventhubapi.event.media.exception.UploadOffsetMismatchException;
+import com.example.eventhubapi.event.media.exception.UploadSessionNotFoundException;
 import com.example.eventhubapi.event.participant.exception.AlreadyParticipantException;
 import com.example.eventhubapi.event.participant.exception.NotParticipantException;
 import com.example.eventhubapi.invitation.exception.InvitationNotFoundException;
@@ -41,13 +48,85 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles malformed pagination cursors.
+     * @param ex The caught InvalidCursorException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a 400 status and formatted error.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Invalid Cursor", ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles nearby-event queries with coordinates or a radius out of range.
+     * @param ex The caught InvalidGeoQueryException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a 400 status and formatted error.
+     */
+    @ExceptionHandler(InvalidGeoQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidGeoQueryException(InvalidGeoQueryException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Invalid Location Query", ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles calendar queries whose range does not start before it ends.
+     * @param ex The caught InvalidDateRangeException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a 400 status and formatted error.
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDateRangeException(InvalidDateRangeException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Invalid Date Range", ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles export requests in an unsupported format.
+     * @param ex The caught InvalidExportFormatException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a 400 status and formatted error.
+     */
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidExportFormatException(InvalidExportFormatException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Invalid Export Format", ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles bulk imports that cannot be read as a whole.
+     * @param ex The caught InvalidImportException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a 400 status and formatted error.
+     */
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidImportException(InvalidImportException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Invalid Import", ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles malformed resumable uploads.
+     * @param ex The caught InvalidUploadException.
+     * @param request The current web request.
+     * @return A ResponseEntity with a 400 status and formatted error.
+     */
+    @ExceptionHandler(InvalidUploadException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidUploadException(InvalidUploadException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Invalid Upload", ex.getMessage(), request.getDescription(false).replace("uri=", ""));
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles resource not found exceptions.
      * @param ex The caught RuntimeException.
      * @param request The current web request.
      * @return A ResponseEntity with a 404 status and formatted error.
      */
-    @ExceptionHandler({UserNotFoundException.class, EventNotFoundException.class, LocationNotFoundException.class, MediaNotFoundException.class, InvitationNotFoundException.class, NotParticipantException.class})
+    @ExceptionHandler({UserNotFoundException.class, EventNotFoundException.class, LocationNotFoundException.class, MediaNotFoundException.class, UploadSessionNotFoundException.class, InvitationNotFoundException.class, NotParticipantException.class})
     public ResponseEntity<ErrorResponse> handleNotFoundExceptions(RuntimeException ex, WebRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(Instant.now(), HttpStatus.NOT_FOUND.value(), "Resource Not Found", ex.getMessage(), request.getDescription(false).replace("uri=", ""));
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
@@ -59,7 +138,7 @@ public class GlobalExceptionHandler {
      * @param request The current web request.
      * @return A ResponseEntity with a 409 status and formatted error.
      */
-    @ExceptionHandler({AlreadyParticipantException.class, IllegalStateException.class})
+    @ExceptionHandler({AlreadyParticipantException.class, UploadOffsetMismatchException.class, IllegalStateException.class})
     public ResponseEntity<ErrorResponse> handleConflictExceptions(RuntimeException ex, WebRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(Instant.now(), HttpStatus.CONFLICT.value(), "Request Cannot Be Processed", ex.getMessage(), request.getDescription(false).replace("uri=", ""));
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
@@ -0,0 +1,20 @@
+package com.example.eventhubapi.common.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One slice of a cursor-paginated list.
+ * Unlike a Page it carries no total count; the next slice is requested by passing {@code nextCursor}
+ * as the {@code after} parameter.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorSlice<T> {
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+}
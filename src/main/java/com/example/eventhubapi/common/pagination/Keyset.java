@@ -0,0 +1,213 @@
+package com.example.eventhubapi.common.pagination;
+
+import com.example.eventhubapi.common.exception.InvalidCursorException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A keyset (seek) pagination request: a sort key, a direction and the position after which to continue.
+ * Instead of skipping rows with OFFSET, the next slice is selected with
+ * {@code key > :lastKey OR (key = :lastKey AND id > :lastId)} (mirrored for descending order), which an index
+ * on the sort key can serve at any depth. The position is exchanged with clients as an opaque cursor token.
+ * Sort keys must be non-null attributes of the paginated entity; the entity ID is always the tie-breaker.
+ */
+public final class Keyset {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    private static final String ID = "id";
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final int size;
+    private final String lastValue;
+    private final Long lastId;
+
+    private Keyset(String property, Sort.Direction direction, int size, String lastValue, Long lastId) {
+        this.property = property;
+        this.direction = direction;
+        this.size = size;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Creates a keyset request sorted by the first order of the given sort, or by ID if it is unsorted.
+     *
+     * @param after              The cursor returned with the previous slice, or null or blank for the first slice.
+     * @param size               The requested slice size, clamped to 1..{@value #MAX_SIZE}.
+     * @param sort               The requested sort; only its first order is used.
+     * @param sortableProperties The entity attributes clients may sort by in addition to the ID.
+     * @return The keyset request.
+     * @throws InvalidCursorException if the sort property is not allowed or the cursor is invalid.
+     */
+    public static Keyset of(String after, int size, Sort sort, Set<String> sortableProperties) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+        if (!ID.equals(order.getProperty()) && !sortableProperties.contains(order.getProperty())) {
+            throw new InvalidCursorException("Cursor pagination cannot sort by '" + order.getProperty() + "'.");
+        }
+        return create(after, size, order.getProperty(), order.getDirection());
+    }
+
+    /**
+     * Creates a keyset request ordered by ID only.
+     *
+     * @param after     The cursor returned with the previous slice, or null or blank for the first slice.
+     * @param size      The requested slice size, clamped to 1..{@value #MAX_SIZE}.
+     * @param direction The ID order.
+     * @return The keyset request.
+     */
+    public static Keyset byId(String after, int size, Sort.Direction direction) {
+        return create(after, size, ID, direction);
+    }
+
+    private static Keyset create(String after, int size, String property, Sort.Direction direction) {
+        int clampedSize = Math.max(1, Math.min(size, MAX_SIZE));
+        if (after == null || after.isBlank()) {
+            return new Keyset(property, direction, clampedSize, null, null);
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8).split("\n", 4);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("The cursor is malformed.");
+        }
+        if (parts.length != 4) {
+            throw new InvalidCursorException("The cursor is malformed.");
+        }
+        if (!parts[0].equals(property) || !parts[1].equals(direction.name())) {
+            throw new InvalidCursorException("The cursor does not match the requested sort order.");
+        }
+        try {
+            return new Keyset(property, direction, clampedSize, parts[3], Long.valueOf(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("The cursor is malformed.");
+        }
+    }
+
+    /**
+     * @return True if this is a request for the first slice.
+     */
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    /**
+     * @return The ID of the last row of the previous slice, or null for the first slice.
+     */
+    public Long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * @return The sort by the key, then by ID, in the requested direction.
+     */
+    public Sort getSort() {
+        Sort byId = Sort.by(direction, ID);
+        return ID.equals(property) ? byId : Sort.by(direction, property).and(byId);
+    }
+
+    /**
+     * @return A limit-only page request fetching one row more than the slice size, used to detect a next slice.
+     */
+    public Pageable getLimit() {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * @return The number of rows to fetch: one more than the slice size, used to detect a next slice.
+     */
+    public int getFetchSize() {
+        return size + 1;
+    }
+
+    /**
+     * Builds the seek predicate selecting rows after the cursor position.
+     *
+     * @param <T> The entity type.
+     * @return The specification, matching everything for the first slice.
+     */
+    public <T> Specification<T> seek() {
+        return (root, query, criteriaBuilder) -> {
+            if (isFirst()) {
+                return criteriaBuilder.conjunction();
+            }
+            Path<Long> id = root.get(ID);
+            Predicate afterId = after(criteriaBuilder, id, lastId);
+            if (ID.equals(property)) {
+                return afterId;
+            }
+            Path<Comparable<Object>> key = root.get(property);
+            Comparable<Object> value = parseValue(key.getJavaType());
+            return criteriaBuilder.or(
+                    after(criteriaBuilder, key, value),
+                    criteriaBuilder.and(criteriaBuilder.equal(key, value), afterId));
+        };
+    }
+
+    /**
+     * Trims the fetched rows to the slice size, maps them and computes the cursor of the next slice.
+     *
+     * @param rows   The rows fetched with {@link #getFetchSize()} and {@link #getSort()}.
+     * @param idOf   Extracts the ID from a row.
+     * @param mapper Maps a row to its DTO.
+     * @return The cursor slice.
+     */
+    public <E, D> CursorSlice<D> slice(List<E> rows, Function<E, Long> idOf, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encode(content.get(content.size() - 1), idOf) : null;
+        List<D> mapped = new ArrayList<>(content.size());
+        content.forEach(row -> mapped.add(mapper.apply(row)));
+        return new CursorSlice<>(mapped, size, hasNext, nextCursor);
+    }
+
+    private <E> String encode(E row, Function<E, Long> idOf) {
+        Long id = idOf.apply(row);
+        Object value = ID.equals(property) ? id : new BeanWrapperImpl(row).getPropertyValue(property);
+        String token = property + "\n" + direction.name() + "\n" + id + "\n" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder criteriaBuilder, Expression<? extends Y> key, Y value) {
+        return direction.isAscending() ? criteriaBuilder.greaterThan(key, value) : criteriaBuilder.lessThan(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> parseValue(Class<?> type) {
+        try {
+            if (type == String.class) {
+                return (Comparable<Object>) (Comparable<?>) lastValue;
+            }
+            if (type == Instant.class) {
+                return (Comparable<Object>) (Comparable<?>) Instant.parse(lastValue);
+            }
+            if (type == Long.class || type == long.class) {
+                return (Comparable<Object>) (Comparable<?>) Long.valueOf(lastValue);
+            }
+            if (type == Integer.class || type == int.class) {
+                return (Comparable<Object>) (Comparable<?>) Integer.valueOf(lastValue);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidCursorException("The cursor is malformed.");
+        }
+        throw new InvalidCursorException("Cursor pagination is not supported for '" + property + "'.");
+    }
+}
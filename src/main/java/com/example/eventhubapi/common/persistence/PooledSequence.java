@@ -0,0 +1,23 @@
+package com.example.eventhubapi.common.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates an entity's ID from a database sequence, handing out a block of IDs per sequence call.
+ * The block size and the optimizer are configured for all entities by {@link PooledSequenceGenerator}.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+    /**
+     * @return The name of the sequence the IDs are drawn from.
+     */
+    String value();
+}
@@ -0,0 +1,57 @@
+package com.example.eventhubapi.common.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The generator behind {@link PooledSequence}: a sequence-style generator whose block size and optimizer
+ * come from the Hibernate settings instead of each mapping, so every entity is tuned in one place.
+ * <ul>
+ *     <li>{@code eventhub.id.allocation_size} (default 50): IDs handed out per sequence call. It must equal the
+ *     sequence's {@code INCREMENT BY}; Hibernate refuses to start otherwise.</li>
+ *     <li>{@code eventhub.id.optimizer} (default {@code pooled-lo}): how a sequence value maps to a block.
+ *     {@code pooled-lo} treats it as the first ID of the block, {@code pooled} as the last.</li>
+ * </ul>
+ * Because IDs are known before the insert runs, Hibernate can defer inserts to the flush and send them in
+ * JDBC batches, which it cannot do for identity columns.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "eventhub.id.allocation_size";
+    public static final String OPTIMIZER_SETTING = "eventhub.id.optimizer";
+
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+    private static final String DEFAULT_OPTIMIZER = "pooled-lo";
+
+    private final String sequenceName;
+
+    /**
+     * Constructs a PooledSequenceGenerator for one ID attribute.
+     * @param config The annotation on the ID attribute.
+     * @param member The ID attribute.
+     * @param context The context the generator is created in.
+     */
+    public PooledSequenceGenerator(PooledSequence config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequenceName = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<String, Object> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(OptimizableGenerator.INCREMENT_PARAM,
+                String.valueOf(settings.getOrDefault(ALLOCATION_SIZE_SETTING, DEFAULT_ALLOCATION_SIZE)));
+        parameters.put(OptimizableGenerator.OPT_PARAM,
+                String.valueOf(settings.getOrDefault(OPTIMIZER_SETTING, DEFAULT_OPTIMIZER)));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.eventhubapi.event;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
 import com.example.eventhubapi.event.participant.Participant;
 import com.example.eventhubapi.location.Location;
 import com.example.eventhubapi.user.User;
@@ -24,7 +25,7 @@ import java.util.Set;
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("event_id_seq")
     @Column(name = "event_id")
     private Long id;
 
@@ -43,14 +44,19 @@ public class Event {
     @Column(name = "is_public", nullable = false)
     private boolean isPublic;
 
-    @Column(name = "max_participants")
+    // Changed only by a conditional UPDATE once the event exists, so it can never drop below attendingCount.
+    @Column(name = "max_participants", updatable = false)
     private Long maxParticipants;
 
+    // Maintained by conditional UPDATE queries only, so saving an edited event never writes back a stale count.
+    @Column(name = "attending_count", nullable = false, updatable = false)
+    private int attendingCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
     private User organizer;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id", referencedColumnName = "location_id")
     private Location location;
 
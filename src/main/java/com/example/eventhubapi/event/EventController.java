@@ -1,18 +1,32 @@
 package com.example.eventhubapi.event;
 
 import com.example.eventhubapi.common.dto.EventSummary;
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.event.bulk.EventImportFormat;
+import com.example.eventhubapi.event.bulk.EventImportService;
+import com.example.eventhubapi.event.calendar.EventCalendarService;
 import com.example.eventhubapi.event.dto.EventCreationRequest;
 import com.example.eventhubapi.event.dto.EventDto;
+import com.example.eventhubapi.event.dto.EventImportResult;
+import com.example.eventhubapi.event.dto.EventSearchResult;
+import com.example.eventhubapi.event.dto.NearbyEventResult;
+import com.example.eventhubapi.event.geo.EventGeoService;
+import com.example.eventhubapi.event.search.EventSearchService;
+import com.example.eventhubapi.security.CurrentAccount;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
+import java.util.List;
 
 
 /**
@@ -23,29 +37,57 @@ import java.time.Instant;
 public class EventController {
 
     private final EventService eventService;
+    private final EventSearchService eventSearchService;
+    private final EventGeoService eventGeoService;
+    private final EventCalendarService eventCalendarService;
+    private final EventImportService eventImportService;
 
     /**
      * Constructs an EventController with the necessary EventService.
      * @param eventService The service for event-related business logic.
+     * @param eventSearchService The service answering full-text event searches.
+     * @param eventGeoService The service answering nearby-event queries.
+     * @param eventCalendarService The service answering calendar range queries.
+     * @param eventImportService The service creating events in bulk.
      */
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, EventSearchService eventSearchService, EventGeoService eventGeoService, EventCalendarService eventCalendarService, EventImportService eventImportService) {
         this.eventService = eventService;
+        this.eventSearchService = eventSearchService;
+        this.eventGeoService = eventGeoService;
+        this.eventCalendarService = eventCalendarService;
+        this.eventImportService = eventImportService;
     }
 
     /**
      * Creates a new event.
      * Accessible by users with 'organizer' or 'admin' authority.
      * @param request The request body containing the details of the event to be created.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity containing the created EventDto and HTTP status 201 Created.
      */
     @PostMapping
     @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
-    public ResponseEntity<EventDto> createEvent(@Valid @RequestBody EventCreationRequest request, Authentication authentication) {
-        EventDto createdEvent = eventService.createEvent(request, authentication.getName());
+    public ResponseEntity<EventDto> createEvent(@Valid @RequestBody EventCreationRequest request, CurrentAccount currentAccount) {
+        EventDto createdEvent = eventService.createEvent(request, currentAccount.getId());
         return new ResponseEntity<>(createdEvent, HttpStatus.CREATED);
     }
 
+    /**
+     * Creates events in bulk from an NDJSON or CSV body, read as it arrives.
+     * Accessible by users with 'organizer' or 'admin' authority, who become the organizer of every created event.
+     * @param contentType The content type of the body, application/x-ndjson or text/csv.
+     * @param content The rows to import.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity containing the outcome of every row.
+     * @throws IOException If the body cannot be read.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
+    public ResponseEntity<EventImportResult> importEvents(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream content, CurrentAccount currentAccount) throws IOException {
+        EventImportFormat format = EventImportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(eventImportService.importEvents(format, content, currentAccount.getId()));
+    }
+
     /**
      * Retrieves a paginated list of public events, with optional filters.
      * @param pageable Pagination and sorting information.
@@ -64,6 +106,108 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Retrieves a slice of public events after a cursor, with optional filters.
+     * Cursor mode, selected by the presence of the {@code after} parameter (empty for the first slice).
+     * @param after The cursor returned with the previous slice.
+     * @param size The slice size.
+     * @param sort The sort order; one of id, name, startDate or endDate.
+     * @param name Optional filter for the event name.
+     * @param startDate Optional filter for the event start date.
+     * @param endDate Optional filter for the event end date.
+     * @return A ResponseEntity with a slice of EventSummary objects.
+     */
+    @GetMapping(value = "/public", params = "after")
+    public ResponseEntity<CursorSlice<EventSummary>> getPublicEventsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Instant startDate,
+            @RequestParam(required = false) Instant endDate) {
+        CursorSlice<EventSummary> events = eventService.getPublicEventsAfter(after, size, sort, name, startDate, endDate);
+        return ResponseEntity.ok(events);
+    }
+
+    /**
+     * Searches public events by name and description, best match first.
+     * @param q The search text; its last word also matches as a prefix.
+     * @param startDate Optional filter for the event start date.
+     * @param endDate Optional filter for the event end date.
+     * @param pageable Pagination information; results are always ordered by relevance.
+     * @return A ResponseEntity with a page of ranked EventSearchResult objects.
+     */
+    @GetMapping("/public/search")
+    public ResponseEntity<Page<EventSearchResult>> searchPublicEvents(
+            @RequestParam String q,
+            @RequestParam(required = false) Instant startDate,
+            @RequestParam(required = false) Instant endDate,
+            Pageable pageable) {
+        Page<EventSearchResult> results = eventSearchService.searchPublicEvents(q, startDate, endDate, pageable);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Finds public events within a radius of a point, nearest first.
+     * @param lat The latitude of the point in degrees.
+     * @param lon The longitude of the point in degrees.
+     * @param radiusKm The search radius in kilometres.
+     * @param startDate Optional filter for the event start date.
+     * @param endDate Optional filter for the event end date.
+     * @param pageable Pagination information; results are always ordered by distance.
+     * @return A ResponseEntity with a page of NearbyEventResult objects.
+     */
+    @GetMapping("/public/nearby")
+    public ResponseEntity<Page<NearbyEventResult>> findNearbyPublicEvents(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusKm,
+            @RequestParam(required = false) Instant startDate,
+            @RequestParam(required = false) Instant endDate,
+            Pageable pageable) {
+        Page<NearbyEventResult> results = eventGeoService.findNearbyPublicEvents(lat, lon, radiusKm, startDate, endDate, pageable);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Suggests completions for a partially typed search word.
+     * @param prefix The text typed so far.
+     * @param limit The maximum number of suggestions.
+     * @return A ResponseEntity with the suggested words.
+     */
+    @GetMapping("/public/suggest")
+    public ResponseEntity<List<String>> suggestSearchTerms(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(eventSearchService.suggest(prefix, limit));
+    }
+
+    /**
+     * Retrieves the public events overlapping a time range, earliest start first.
+     * An event overlaps the range if it starts before {@code to} and ends after {@code from}.
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @param pageable Pagination information; results are always ordered by start date.
+     * @return A ResponseEntity with a page of EventSummary objects.
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<Page<EventSummary>> getPublicCalendar(@RequestParam Instant from, @RequestParam Instant to, Pageable pageable) {
+        return ResponseEntity.ok(eventCalendarService.getPublicCalendar(from, to, pageable));
+    }
+
+    /**
+     * Retrieves the events the current user attends that overlap a time range, earliest start first.
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity with the list of EventSummary objects.
+     */
+    @GetMapping("/my-calendar")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<EventSummary>> getMyCalendar(@RequestParam Instant from, @RequestParam Instant to, CurrentAccount currentAccount) {
+        return ResponseEntity.ok(eventCalendarService.getUserCalendar(currentAccount.getId(), from, to));
+    }
+
     /**
      * Retrieves a paginated list of all events. (Admin only)
      * @param pageable Pagination and sorting information.
@@ -76,6 +220,20 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Retrieves a slice of all events after a cursor, ordered by ID. (Admin only)
+     * Cursor mode, selected by the presence of the {@code after} parameter (empty for the first slice).
+     * @param after The cursor returned with the previous slice.
+     * @param size The slice size.
+     * @return A ResponseEntity with a slice of EventSummary objects.
+     */
+    @GetMapping(value = "/all", params = "after")
+    @PreAuthorize("hasAuthority('admin')")
+    public ResponseEntity<CursorSlice<EventSummary>> getAllEventsAfter(@RequestParam String after, @RequestParam(defaultValue = "20") int size) {
+        CursorSlice<EventSummary> events = eventService.getAllEventsAfter(after, size);
+        return ResponseEntity.ok(events);
+    }
+
     /**
      * Retrieves a single event by its ID.
      * @param id The ID of the event to retrieve.
@@ -92,13 +250,13 @@ public class EventController {
      * Accessible by users with 'organizer' or 'admin' authority.
      * @param id The ID of the event to update.
      * @param request The request body containing the updated event details.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the updated EventDto.
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
-    public ResponseEntity<EventDto> updateEvent(@PathVariable Long id, @Valid @RequestBody EventCreationRequest request, Authentication authentication) {
-        EventDto updatedEvent = eventService.updateEvent(id, request, authentication.getName());
+    public ResponseEntity<EventDto> updateEvent(@PathVariable Long id, @Valid @RequestBody EventCreationRequest request, CurrentAccount currentAccount) {
+        EventDto updatedEvent = eventService.updateEvent(id, request, currentAccount);
         return ResponseEntity.ok(updatedEvent);
     }
 
@@ -106,39 +264,39 @@ public class EventController {
      * Deletes an event.
      * Accessible by users with 'organizer' or 'admin' authority.
      * @param id The ID of the event to delete.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with no content.
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
-    public ResponseEntity<Void> deleteEvent(@PathVariable Long id, Authentication authentication) {
-        eventService.deleteEvent(id, authentication.getName());
+    public ResponseEntity<Void> deleteEvent(@PathVariable Long id, CurrentAccount currentAccount) {
+        eventService.deleteEvent(id, currentAccount);
         return ResponseEntity.noContent().build();
     }
 
     /**
      * Retrieves a paginated list of events that the current authenticated user is participating in.
-     * @param authentication Authentication object containing current user details.
+     * @param currentAccount The account making the request.
      * @param pageable Pagination information.
      * @return ResponseEntity with a page of EventDto objects for participated events.
      */
     @GetMapping("/my-participated")
-    public ResponseEntity<Page<EventDto>> getMyParticipatedEvents(Authentication authentication, Pageable pageable) {
-        Page<EventDto> events = eventService.getMyParticipatedEvents(authentication.getName(), pageable);
+    public ResponseEntity<Page<EventDto>> getMyParticipatedEvents(CurrentAccount currentAccount, Pageable pageable) {
+        Page<EventDto> events = eventService.getMyParticipatedEvents(currentAccount.getId(), pageable);
         return ResponseEntity.ok(events);
     }
 
     /**
      * Retrieves a paginated list of events that the current authenticated user has created.
      * Accessible by users with 'organizer' or 'admin' authority.
-     * @param authentication Authentication object containing current user details.
+     * @param currentAccount The account making the request.
      * @param pageable Pagination information.
      * @return ResponseEntity with a page of EventDto objects for created events.
      */
     @GetMapping("/my-created")
     @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
-    public ResponseEntity<Page<EventDto>> getMyCreatedEvents(Authentication authentication, Pageable pageable) {
-        Page<EventDto> events = eventService.getMyCreatedEvents(authentication.getName(), pageable);
+    public ResponseEntity<Page<EventDto>> getMyCreatedEvents(CurrentAccount currentAccount, Pageable pageable) {
+        Page<EventDto> events = eventService.getMyCreatedEvents(currentAccount.getId(), pageable);
         return ResponseEntity.ok(events);
     }
 }
\ No newline at end of file
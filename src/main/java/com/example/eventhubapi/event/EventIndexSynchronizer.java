@@ -0,0 +1,149 @@
+package com.example.eventhubapi.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps an in-process index of events in step with the committed contents of the event table.
+ * <p>
+ * Writers call {@link #sync(Long)} for every event they create, change or delete. The IDs are collected per
+ * transaction and, once it commits, reloaded with one query in a new read-only transaction: the documents found are
+ * put into the index and the other IDs removed from it. A rolled-back transaction leaves the index untouched, and
+ * outside a transaction the events are reloaded at once. Each reload holds the locks of the events it covers, so
+ * two transactions committing changes to the same event cannot leave the older state in the index.
+ *
+ * @param <T> The type of the indexed documents.
+ */
+public class EventIndexSynchronizer<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(EventIndexSynchronizer.class);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int LOCK_STRIPES = 64;
+
+    private final String name;
+    private final TransactionTemplate readTransaction;
+    private final Function<Collection<Long>, List<T>> loader;
+    private final Function<T, Long> idOf;
+    private final Consumer<T> put;
+    private final Consumer<Long> remove;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    /**
+     * Constructs an EventIndexSynchronizer.
+     * @param name The name of the index, used in log messages.
+     * @param transactionTemplate A template whose transaction manager is used for the reloads.
+     * @param loader Loads the current documents of the given event IDs; events that are missing or must not be
+     *               indexed are left out.
+     * @param idOf Returns the event ID of a document.
+     * @param put Adds or replaces a document in the index.
+     * @param remove Removes an event from the index.
+     */
+    public EventIndexSynchronizer(String name, TransactionTemplate transactionTemplate,
+                                  Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf,
+                                  Consumer<T> put, Consumer<Long> remove) {
+        this.name = name;
+        this.readTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.loader = loader;
+        this.idOf = idOf;
+        this.put = put;
+        this.remove = remove;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Reloads every document, in id order in fixed-size batches, and puts it into the index.
+     * The caller clears the index first and runs this in a read-only transaction.
+     * @param batchLoader Loads the next batch of documents with an ID greater than the given one, in id order.
+     */
+    public void rebuild(BiFunction<Long, Pageable, List<T>> batchLoader) {
+        Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        long afterId = 0;
+        List<T> documents;
+        do {
+            documents = batchLoader.apply(afterId, batch);
+            documents.forEach(put);
+            if (!documents.isEmpty()) {
+                afterId = idOf.apply(documents.get(documents.size() - 1));
+            }
+        } while (documents.size() == REBUILD_BATCH_SIZE);
+    }
+
+    /**
+     * Brings an event's entry up to date once the current transaction commits.
+     * @param eventId The ID of the created, changed or deleted event.
+     */
+    public void sync(Long eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload(Set.of(eventId));
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingSync pending && pending.owner == this) {
+                pending.eventIds.add(eventId);
+                return;
+            }
+        }
+        PendingSync pending = new PendingSync(this);
+        pending.eventIds.add(eventId);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private void reload(Set<Long> eventIds) {
+        // Stripes are always locked in ascending order, so two reloads cannot deadlock.
+        Set<Integer> stripes = new TreeSet<>();
+        eventIds.forEach(eventId -> stripes.add(Math.floorMod(eventId.hashCode(), LOCK_STRIPES)));
+        stripes.forEach(stripe -> locks[stripe].lock());
+        try {
+            List<T> documents = readTransaction.execute(status -> loader.apply(eventIds));
+            Set<Long> missing = new HashSet<>(eventIds);
+            for (T document : documents) {
+                missing.remove(idOf.apply(document));
+                put.accept(document);
+            }
+            missing.forEach(remove);
+        } catch (RuntimeException e) {
+            log.warn("Could not update the {} index for events {}; it is corrected by the next change to them or a restart",
+                    name, eventIds, e);
+        } finally {
+            stripes.forEach(stripe -> locks[stripe].unlock());
+        }
+    }
+
+    /**
+     * The events a transaction changed, reloaded into the owner's index once it commits.
+     */
+    private static final class PendingSync implements TransactionSynchronization {
+
+        private final EventIndexSynchronizer<?> owner;
+        private final Set<Long> eventIds = new HashSet<>();
+
+        PendingSync(EventIndexSynchronizer<?> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void afterCommit() {
+            owner.reload(eventIds);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.eventhubapi.event;
+
+import com.example.eventhubapi.event.dto.EventAccess;
+import com.example.eventhubapi.event.exception.EventNotFoundException;
+import com.example.eventhubapi.event.participant.enums.EventRole;
+import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import com.example.eventhubapi.security.CurrentAccount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Answers "may this account act on this event" with a single id-only projection query,
+ * without loading the event or its organizer.
+ * <p>
+ * Results are memoized for the current request and cached briefly per (user, event).
+ * As with the account cache, lookups inside a transaction only reach the shared cache after commit.
+ * Callers that change participation must call {@link #evict(Long, Long)} or {@link #evictEvent(Long)}.
+ */
+@Service
+public class EventPermissionService {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = EventPermissionService.class.getName() + ".";
+
+    private final EventRepository eventRepository;
+    private final Cache<AccessKey, EventAccess> accessCache;
+
+    /**
+     * Constructs an EventPermissionService.
+     * @param eventRepository The repository used to load event access projections.
+     * @param maxSize The maximum number of cached (user, event) entries.
+     * @param ttlMs How long a cached entry may be served, in milliseconds.
+     */
+    public EventPermissionService(EventRepository eventRepository,
+                                  @Value("${event-permission.cache.max-size:10000}") long maxSize,
+                                  @Value("${event-permission.cache.ttl-ms:5000}") long ttlMs) {
+        this.eventRepository = eventRepository;
+        this.accessCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    /**
+     * Returns the account's relationship to the event.
+     * @param eventId The ID of the event.
+     * @param userId The ID of the account.
+     * @return The access projection.
+     * @throws EventNotFoundException if the event does not exist.
+     */
+    public EventAccess getAccess(Long eventId, Long userId) {
+        AccessKey key = new AccessKey(eventId, userId);
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        String attributeName = REQUEST_ATTRIBUTE_PREFIX + key;
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST) instanceof EventAccess memoized) {
+            return memoized;
+        }
+
+        EventAccess access = accessCache.getIfPresent(key);
+        if (access == null) {
+            access = eventRepository.findAccess(eventId, userId)
+                    .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
+            store(key, access);
+        }
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(attributeName, access, RequestAttributes.SCOPE_REQUEST);
+        }
+        return access;
+    }
+
+    /**
+     * Checks whether the account is the event's organizer or an administrator.
+     * @param eventId The ID of the event.
+     * @param account The account to check.
+     * @return True if the account is the organizer or an admin.
+     */
+    public boolean isOrganizerOrAdmin(Long eventId, CurrentAccount account) {
+        EventAccess access = getAccess(eventId, account.getId());
+        return account.isAdmin() || account.getId().equals(access.getOrganizerId());
+    }
+
+    /**
+     * Checks whether the account may moderate the event: its organizer, an administrator,
+     * or a participant holding the organizer or moderator event role who is not banned.
+     * @param eventId The ID of the event.
+     * @param account The account to check.
+     * @return True if the account may moderate the event.
+     */
+    public boolean canModerate(Long eventId, CurrentAccount account) {
+        if (isOrganizerOrAdmin(eventId, account)) {
+            return true;
+        }
+        EventAccess access = getAccess(eventId, account.getId());
+        boolean hasModeratorRole = access.getEventRole() == EventRole.MODERATOR
+                || access.getEventRole() == EventRole.ORGANIZER;
+        return hasModeratorRole && access.getParticipantStatus() != ParticipantStatus.BANNED;
+    }
+
+    /**
+     * Requires the account to be the event's organizer or an administrator.
+     * @param eventId The ID of the event.
+     * @param account The account to check.
+     * @param message The message of the exception thrown on denial.
+     * @throws AccessDeniedException if the check fails.
+     */
+    public void requireOrganizerOrAdmin(Long eventId, CurrentAccount account, String message) {
+        if (!isOrganizerOrAdmin(eventId, account)) {
+            throw new AccessDeniedException(message);
+        }
+    }
+
+    /**
+     * Requires the account to be allowed to moderate the event.
+     * @param eventId The ID of the event.
+     * @param account The account to check.
+     * @param message The message of the exception thrown on denial.
+     * @throws AccessDeniedException if the check fails.
+     */
+    public void requireModerator(Long eventId, CurrentAccount account, String message) {
+        if (!canModerate(eventId, account)) {
+            throw new AccessDeniedException(message);
+        }
+    }
+
+    /**
+     * Drops the cached access of one account to one event.
+     * @param eventId The ID of the event.
+     * @param userId The ID of the account.
+     */
+    public void evict(Long eventId, Long userId) {
+        AccessKey key = new AccessKey(eventId, userId);
+        accessCache.invalidate(key);
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.removeAttribute(REQUEST_ATTRIBUTE_PREFIX + key, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Drops every cached access entry for an event, e.g. after it has been deleted.
+     * @param eventId The ID of the event.
+     */
+    public void evictEvent(Long eventId) {
+        accessCache.asMap().keySet().removeIf(key -> key.eventId().equals(eventId));
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            String prefix = REQUEST_ATTRIBUTE_PREFIX + new AccessKey(eventId, null).eventPrefix();
+            for (String name : requestAttributes.getAttributeNames(RequestAttributes.SCOPE_REQUEST)) {
+                if (name.startsWith(prefix)) {
+                    requestAttributes.removeAttribute(name, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        }
+    }
+
+    private void store(AccessKey key, EventAccess access) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accessCache.put(key, access);
+                }
+            });
+        } else {
+            accessCache.put(key, access);
+        }
+    }
+
+    private record AccessKey(Long eventId, Long userId) {
+
+        String eventPrefix() {
+            return eventId + ":";
+        }
+
+        @Override
+        public String toString() {
+            return eventPrefix() + userId;
+        }
+    }
+}
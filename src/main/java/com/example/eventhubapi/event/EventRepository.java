@@ -1,17 +1,29 @@
 package com.example.eventhubapi.event;
 
+import com.example.eventhubapi.admin.dto.EventExportRow;
 import com.example.eventhubapi.common.dto.EventSummary;
-import jakarta.persistence.LockModeType;
+import com.example.eventhubapi.event.dto.EventAccess;
+import com.example.eventhubapi.event.dto.EventCapacity;
+import com.example.eventhubapi.event.dto.EventGeoDocument;
+import com.example.eventhubapi.event.dto.EventSearchDocument;
+import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the Event entity, with support for dynamic queries.
@@ -22,16 +34,125 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     @Query("SELECT new com.example.eventhubapi.common.dto.EventSummary(e.id, e.name, e.startDate, e.endDate) FROM Event e")
     Page<EventSummary> findAllSummary(Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE e.organizer.id = :organizerId")
-    Page<Event> findByOrganizerId(@Param("organizerId") Long organizerId, Pageable pageable);
+    @Query("SELECT new com.example.eventhubapi.common.dto.EventSummary(e.id, e.name, e.startDate, e.endDate) " +
+            "FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+    List<EventSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable limit);
 
-    @Query("SELECT p.event FROM Participant p WHERE p.user.id = :userId")
-    Page<Event> findEventsByParticipantId(@Param("userId") Long userId, Pageable pageable);
+    @Query("SELECT new com.example.eventhubapi.common.dto.EventSummary(e.id, e.name, e.startDate, e.endDate) " +
+            "FROM Event e WHERE e.isPublic = true AND e.id > :afterId ORDER BY e.id")
+    List<EventSummary> findPublicSummariesAfter(@Param("afterId") Long afterId, Pageable limit);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT e FROM Event e WHERE e.id = :eventId")
-    Optional<Event> findByIdWithPessimisticLock(@Param("eventId") Long eventId);
+    @Query("SELECT new com.example.eventhubapi.common.dto.EventSummary(e.id, e.name, e.startDate, e.endDate) " +
+            "FROM Event e WHERE e.isPublic = true AND e.id IN :ids")
+    List<EventSummary> findPublicSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.eventhubapi.common.dto.EventSummary(e.id, e.name, e.startDate, e.endDate) " +
+            "FROM Event e WHERE e.id = :id")
+    Optional<EventSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.eventhubapi.common.dto.EventSummary(e.id, e.name, e.startDate, e.endDate) " +
+            "FROM Participant p JOIN p.event e WHERE p.user.id = :userId AND p.status = :status")
+    List<EventSummary> findSummariesByParticipantIdAndStatus(@Param("userId") Long userId, @Param("status") ParticipantStatus status);
+
+    @Query("SELECT new com.example.eventhubapi.event.dto.EventSearchDocument(e.id, e.name, e.description, e.isPublic, e.startDate, e.endDate) " +
+            "FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+    List<EventSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("SELECT new com.example.eventhubapi.event.dto.EventSearchDocument(e.id, e.name, e.description, e.isPublic, e.startDate, e.endDate) " +
+            "FROM Event e WHERE e.id IN :ids")
+    List<EventSearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.eventhubapi.event.dto.EventGeoDocument(e.id, e.name, e.isPublic, e.startDate, e.endDate, m.latitude, m.longitude) " +
+            "FROM Event e JOIN e.location l JOIN l.mapLocation m " +
+            "WHERE e.id > :afterId AND m.latitude IS NOT NULL AND m.longitude IS NOT NULL ORDER BY e.id")
+    List<EventGeoDocument> findGeoDocumentsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("SELECT new com.example.eventhubapi.event.dto.EventGeoDocument(e.id, e.name, e.isPublic, e.startDate, e.endDate, m.latitude, m.longitude) " +
+            "FROM Event e JOIN e.location l JOIN l.mapLocation m " +
+            "WHERE e.id IN :ids AND m.latitude IS NOT NULL AND m.longitude IS NOT NULL")
+    List<EventGeoDocument> findGeoDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT e.id FROM Event e WHERE e.organizer.id = :organizerId",
+            countQuery = "SELECT COUNT(e) FROM Event e WHERE e.organizer.id = :organizerId")
+    Page<Long> findIdsByOrganizerId(@Param("organizerId") Long organizerId, Pageable pageable);
+
+    @Query(value = "SELECT p.event.id FROM Participant p WHERE p.user.id = :userId",
+            countQuery = "SELECT COUNT(p) FROM Participant p WHERE p.user.id = :userId")
+    Page<Long> findEventIdsByParticipantId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Loads the given events together with their full location graph in a single statement.
+     * Intended to be used after paging over IDs, so that the fetch joins are not paginated in memory.
+     */
+    @EntityGraph(attributePaths = {
+            "location",
+            "location.mapLocation",
+            "location.postalCode",
+            "location.postalCode.cities",
+            "location.postalCode.cities.region",
+            "location.postalCode.cities.region.country"
+    })
+    @Query("SELECT e FROM Event e WHERE e.id IN :ids")
+    List<Event> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.participants WHERE e.id = :eventId")
     Optional<Event> findByIdWithParticipants(@Param("eventId") Long eventId);
-}
\ No newline at end of file
+
+    /**
+     * Loads the organizer ID of an event together with the given user's participation, if any,
+     * without fetching the event or user entities.
+     */
+    @Query("SELECT new com.example.eventhubapi.event.dto.EventAccess(e.organizer.id, p.eventRole, p.status) " +
+            "FROM Event e LEFT JOIN Participant p ON p.event = e AND p.user.id = :userId " +
+            "WHERE e.id = :eventId")
+    Optional<EventAccess> findAccess(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Query("SELECT new com.example.eventhubapi.event.dto.EventCapacity(e.attendingCount, e.maxParticipants) " +
+            "FROM Event e WHERE e.id = :eventId")
+    Optional<EventCapacity> findCapacity(@Param("eventId") Long eventId);
+
+    /**
+     * Takes the given number of attending seats if the event has room for all of them.
+     * The capacity check and the increment happen in one statement, so concurrent joins never overbook.
+     *
+     * @return 1 if the seats were taken, 0 if the event lacks room or does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.attendingCount = e.attendingCount + :seats WHERE e.id = :eventId " +
+            "AND (e.maxParticipants IS NULL OR e.attendingCount + :seats <= e.maxParticipants)")
+    int addAttendingSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    /**
+     * Changes an event's participant limit unless the attending seats already taken exceed the new limit.
+     * A null limit removes it.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.maxParticipants = :maxParticipants WHERE e.id = :eventId " +
+            "AND (:maxParticipants IS NULL OR e.attendingCount <= :maxParticipants)")
+    int updateMaxParticipants(@Param("eventId") Long eventId, @Param("maxParticipants") Long maxParticipants);
+
+    /**
+     * Releases one attending seat.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.attendingCount = e.attendingCount - 1 WHERE e.id = :eventId AND e.attendingCount > 0")
+    int decrementAttendingCount(@Param("eventId") Long eventId);
+
+    /**
+     * Releases the seats held by a user in every event they attend, e.g. before the user is deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.attendingCount = e.attendingCount - 1 WHERE e.attendingCount > 0 AND e.id IN " +
+            "(SELECT p.event.id FROM Participant p WHERE p.user.id = :userId AND p.status = :status)")
+    int decrementAttendingCountsForUser(@Param("userId") Long userId, @Param("status") ParticipantStatus status);
+
+    /**
+     * Streams an export row for every event in id order. The rows are fetched from the database in
+     * batches as the stream is consumed, which must happen inside a transaction; close the stream when done.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.eventhubapi.admin.dto.EventExportRow(e.id, e.name, e.isPublic, e.startDate, e.endDate, " +
+            "e.maxParticipants, e.attendingCount, e.organizer.id, l.id) " +
+            "FROM Event e LEFT JOIN e.location l ORDER BY e.id")
+    Stream<EventExportRow> streamExportRows();
+}
@@ -1,22 +1,29 @@
 package com.example.eventhubapi.event;
 
 import com.example.eventhubapi.common.dto.EventSummary;
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.common.pagination.Keyset;
+import com.example.eventhubapi.event.calendar.EventCalendarService;
 import com.example.eventhubapi.event.dto.EventCreationRequest;
 import com.example.eventhubapi.event.dto.EventDto;
 import com.example.eventhubapi.event.exception.EventNotFoundException;
+import com.example.eventhubapi.event.geo.EventGeoService;
 import com.example.eventhubapi.event.mapper.EventMapper;
 import com.example.eventhubapi.event.participant.Participant;
+import com.example.eventhubapi.event.participant.ParticipantAdmissionService;
 import com.example.eventhubapi.event.participant.ParticipantRepository;
 import com.example.eventhubapi.event.participant.enums.EventRole;
 import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import com.example.eventhubapi.event.search.EventSearchService;
+import com.example.eventhubapi.security.CurrentAccount;
 import com.example.eventhubapi.user.User;
 import com.example.eventhubapi.user.UserRepository;
-import com.example.eventhubapi.user.exception.UserNotFoundException;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import com.example.eventhubapi.location.Location;
 import com.example.eventhubapi.location.LocationService;
@@ -27,6 +34,11 @@ import com.example.eventhubapi.location.exception.LocationNotFoundException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import jakarta.persistence.criteria.Predicate;
 
 /**
@@ -35,12 +47,19 @@ import jakarta.persistence.criteria.Predicate;
 @Service
 public class EventService {
 
+    private static final Set<String> EVENT_CURSOR_PROPERTIES = Set.of("name", "startDate", "endDate");
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final ParticipantRepository participantRepository;
     private final EventMapper eventMapper;
     private final LocationService locationService;
     private final LocationRepository locationRepository;
+    private final EventPermissionService eventPermissionService;
+    private final EventSearchService eventSearchService;
+    private final EventGeoService eventGeoService;
+    private final EventCalendarService eventCalendarService;
+    private final ParticipantAdmissionService admissionService;
 
     /**
      * Constructs an EventService with the necessary dependencies.
@@ -51,36 +70,36 @@ public class EventService {
      * @param eventMapper           The mapper for converting between Event entities and DTOs.
      * @param locationService       The service for location-related business logic.
      * @param locationRepository    The repository for location data access.
+     * @param eventPermissionService The service for event permission checks.
+     * @param eventSearchService    The service maintaining the event search index.
+     * @param eventGeoService       The service maintaining the event geo index.
+     * @param eventCalendarService  The service maintaining the event calendars.
+     * @param admissionService      The service that applies participant limit changes and fills new seats from the waitlist.
      */
-    public EventService(EventRepository eventRepository, UserRepository userRepository, ParticipantRepository participantRepository, EventMapper eventMapper, LocationService locationService, LocationRepository locationRepository) {
+    public EventService(EventRepository eventRepository, UserRepository userRepository, ParticipantRepository participantRepository, EventMapper eventMapper, LocationService locationService, LocationRepository locationRepository, EventPermissionService eventPermissionService, EventSearchService eventSearchService, EventGeoService eventGeoService, EventCalendarService eventCalendarService, ParticipantAdmissionService admissionService) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.participantRepository = participantRepository;
         this.eventMapper = eventMapper;
         this.locationService = locationService;
         this.locationRepository = locationRepository;
-    }
-
-    private void authorizeOrganizerOrAdmin(Event event, User user) {
-        boolean isOrganizer = event.getOrganizer().getId().equals(user.getId());
-        boolean isAdmin = user.getAuthorities().stream()
-                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("admin"));
-        if (!isOrganizer && !isAdmin) {
-            throw new AccessDeniedException("Access Denied");
-        }
+        this.eventPermissionService = eventPermissionService;
+        this.eventSearchService = eventSearchService;
+        this.eventGeoService = eventGeoService;
+        this.eventCalendarService = eventCalendarService;
+        this.admissionService = admissionService;
     }
 
     /**
      * Creates a new event and sets the organizer as the first participant.
      *
-     * @param request        The request object containing event creation data.
-     * @param organizerLogin The login of the user creating the event.
+     * @param request     The request object containing event creation data.
+     * @param organizerId The ID of the user creating the event.
      * @return An EventDto representing the newly created event.
      */
     @Transactional
-    public EventDto createEvent(EventCreationRequest request, String organizerLogin) {
-        User organizer = userRepository.findByLogin(organizerLogin)
-                .orElseThrow(() -> new UserNotFoundException("Organizer not found with login: " + organizerLogin));
+    public EventDto createEvent(EventCreationRequest request, Long organizerId) {
+        User organizer = userRepository.getReferenceById(organizerId);
 
         Event newEvent = eventMapper.toEntity(request, organizer);
 
@@ -94,6 +113,7 @@ public class EventService {
             newEvent.setLocation(newLocation);
         }
 
+        newEvent.setAttendingCount(1);
         Event savedEvent = eventRepository.save(newEvent);
 
         Participant organizerParticipant = new Participant();
@@ -104,6 +124,10 @@ public class EventService {
 
         participantRepository.save(organizerParticipant);
         savedEvent.getParticipants().add(organizerParticipant);
+        eventSearchService.index(savedEvent);
+        eventGeoService.index(savedEvent);
+        eventCalendarService.index(savedEvent);
+        eventCalendarService.evictUser(organizerId);
 
         return eventMapper.toDto(savedEvent);
     }
@@ -119,7 +143,32 @@ public class EventService {
      */
     @Transactional(readOnly = true)
     public Page<EventSummary> getPublicEvents(Pageable pageable, String name, Instant startDate, Instant endDate) {
-        Specification<Event> spec = (root, query, criteriaBuilder) -> {
+        return eventRepository.findAll(publicEventsSpecification(name, startDate, endDate), pageable)
+                .map(this::toSummary);
+    }
+
+    /**
+     * Retrieves a slice of public events after a cursor, optionally filtered by name and date range.
+     * Uses keyset pagination and does not count the matching events.
+     *
+     * @param after     The cursor of the previous slice, or blank for the first slice.
+     * @param size      The slice size.
+     * @param sort      The sort order; one of id, name, startDate or endDate.
+     * @param name      Optional filter for event name (case-insensitive, contains).
+     * @param startDate Optional filter for events starting on or after this date.
+     * @param endDate   Optional filter for events ending on or before this date.
+     * @return A CursorSlice of EventSummary objects.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<EventSummary> getPublicEventsAfter(String after, int size, Sort sort, String name, Instant startDate, Instant endDate) {
+        Keyset keyset = Keyset.of(after, size, sort, EVENT_CURSOR_PROPERTIES);
+        Specification<Event> spec = publicEventsSpecification(name, startDate, endDate).and(keyset.seek());
+        List<Event> events = eventRepository.findBy(spec, query -> query.sortBy(keyset.getSort()).limit(keyset.getFetchSize()).all());
+        return keyset.slice(events, Event::getId, this::toSummary);
+    }
+
+    private Specification<Event> publicEventsSpecification(String name, Instant startDate, Instant endDate) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             predicates.add(criteriaBuilder.isTrue(root.get("isPublic")));
@@ -136,9 +185,10 @@ public class EventService {
 
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
+    }
 
-        return eventRepository.findAll(spec, pageable)
-                .map(event -> new EventSummary(event.getId(), event.getName(), event.getStartDate(), event.getEndDate()));
+    private EventSummary toSummary(Event event) {
+        return new EventSummary(event.getId(), event.getName(), event.getStartDate(), event.getEndDate());
     }
 
     /**
@@ -152,6 +202,20 @@ public class EventService {
         return eventRepository.findAllSummary(pageable);
     }
 
+    /**
+     * Retrieves a slice of all events as summaries after a cursor, ordered by ID. (Admin only)
+     *
+     * @param after The cursor of the previous slice, or blank for the first slice.
+     * @param size  The slice size.
+     * @return A CursorSlice of EventSummary objects.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<EventSummary> getAllEventsAfter(String after, int size) {
+        Keyset keyset = Keyset.byId(after, size, Sort.Direction.ASC);
+        Long lastId = keyset.isFirst() ? 0L : keyset.getLastId();
+        return keyset.slice(eventRepository.findSummariesAfter(lastId, keyset.getLimit()), EventSummary::getId, Function.identity());
+    }
+
     /**
      * Retrieves a single event by its ID.
      *
@@ -168,77 +232,91 @@ public class EventService {
     /**
      * Updates an existing event.
      *
-     * @param eventId    The ID of the event to update.
-     * @param request    The request object containing the updated event data.
-     * @param userLogin  The login of the user performing the update.
+     * @param eventId        The ID of the event to update.
+     * @param request        The request object containing the updated event data.
+     * @param currentAccount The account performing the update.
      * @return An EventDto representing the updated event.
      */
     @Transactional
-    public EventDto updateEvent(Long eventId, EventCreationRequest request, String userLogin) {
-        User user = userRepository.findByLogin(userLogin)
-                .orElseThrow(() -> new UserNotFoundException("User not found with login: " + userLogin));
+    public EventDto updateEvent(Long eventId, EventCreationRequest request, CurrentAccount currentAccount) {
+        eventPermissionService.requireOrganizerOrAdmin(eventId, currentAccount, "Access Denied");
+        admissionService.changeMaxParticipants(eventId, request.getMaxParticipants());
         Event eventToUpdate = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
 
-        authorizeOrganizerOrAdmin(eventToUpdate, user);
-
         eventToUpdate.setName(request.getName());
         eventToUpdate.setDescription(request.getDescription());
         eventToUpdate.setStartDate(request.getStartDate());
         eventToUpdate.setEndDate(request.getEndDate());
         eventToUpdate.setPublic(request.getIsPublic());
-        eventToUpdate.setMaxParticipants(request.getMaxParticipants());
 
         Event savedEvent = eventRepository.save(eventToUpdate);
+        eventSearchService.index(savedEvent);
+        eventGeoService.index(savedEvent);
+        eventCalendarService.index(savedEvent);
         return eventMapper.toDto(savedEvent);
     }
 
     /**
      * Deletes an event.
      *
-     * @param eventId   The ID of the event to delete.
-     * @param userLogin The login of the user performing the deletion.
+     * @param eventId        The ID of the event to delete.
+     * @param currentAccount The account performing the deletion.
      */
     @Transactional
-    public void deleteEvent(Long eventId, String userLogin) {
-        User user = userRepository.findByLogin(userLogin)
-                .orElseThrow(() -> new UserNotFoundException("User not found with login: " + userLogin));
-
+    public void deleteEvent(Long eventId, CurrentAccount currentAccount) {
+        eventPermissionService.requireOrganizerOrAdmin(eventId, currentAccount, "Access Denied");
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
 
-        authorizeOrganizerOrAdmin(event, user);
-
         eventRepository.delete(event);
+        eventPermissionService.evictEvent(eventId);
+        eventSearchService.remove(eventId);
+        eventGeoService.remove(eventId);
+        eventCalendarService.remove(eventId);
     }
 
     /**
      * Retrieves a paginated list of events that the current authenticated user is participating in.
      *
-     * @param userLogin The login of the current user.
+     * @param userId The ID of the current user.
      * @param pageable Pagination information.
      * @return A Page of EventDto objects for participated events.
      */
     @Transactional(readOnly = true)
-    public Page<EventDto> getMyParticipatedEvents(String userLogin, Pageable pageable) {
-        User user = userRepository.findByLogin(userLogin)
-                .orElseThrow(() -> new UserNotFoundException("User not found with login: " + userLogin));
-        return eventRepository.findEventsByParticipantId(user.getId(), pageable)
-                .map(eventMapper::toDto);
+    public Page<EventDto> getMyParticipatedEvents(Long userId, Pageable pageable) {
+        return toDtoPage(eventRepository.findEventIdsByParticipantId(userId, pageable));
     }
 
     /**
      * Retrieves a paginated list of events that the current authenticated user has created.
      *
-     * @param userLogin The login of the current user.
+     * @param userId The ID of the current user.
      * @param pageable Pagination information.
      * @return A Page of EventDto objects for created events.
      */
     @Transactional(readOnly = true)
-    public Page<EventDto> getMyCreatedEvents(String userLogin, Pageable pageable) {
-        User user = userRepository.findByLogin(userLogin)
-                .orElseThrow(() -> new UserNotFoundException("User not found with login: " + userLogin));
-        return eventRepository.findByOrganizerId(user.getId(), pageable)
-                .map(eventMapper::toDto);
+    public Page<EventDto> getMyCreatedEvents(Long userId, Pageable pageable) {
+        return toDtoPage(eventRepository.findIdsByOrganizerId(userId, pageable));
+    }
+
+    /**
+     * Turns a page of event IDs into a page of DTOs using a constant number of queries,
+     * keeping the order of the ID page.
+     *
+     * @param idPage The page of event IDs.
+     * @return A Page of EventDto objects in the same order.
+     */
+    private Page<EventDto> toDtoPage(Page<Long> idPage) {
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), idPage.getPageable(), idPage.getTotalElements());
+        }
+        Map<Long, Event> eventsById = eventRepository.findAllWithDetailsByIdIn(idPage.getContent()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Event> ordered = idPage.getContent().stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(eventMapper.toDtos(ordered), idPage.getPageable(), idPage.getTotalElements());
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.eventhubapi.event.bulk;
+
+import com.example.eventhubapi.event.exception.InvalidImportException;
+import org.springframework.http.MediaType;
+
+/**
+ * The formats a bulk event import can be sent in, identified by the request's content type.
+ */
+public enum EventImportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    EventImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static EventImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType requested = MediaType.parseMediaType(contentType);
+                for (EventImportFormat format : EventImportFormat.values()) {
+                    if (format.mediaType.equalsTypeAndSubtype(requested)) {
+                        return format;
+                    }
+                }
+            } catch (IllegalArgumentException ignored) {
+                // Reported below like any other unsupported content type.
+            }
+        }
+        throw new InvalidImportException("Unsupported content type '" + contentType + "'; use application/x-ndjson or text/csv.");
+    }
+}
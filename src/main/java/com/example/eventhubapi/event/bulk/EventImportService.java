@@ -0,0 +1,469 @@
+package com.example.eventhubapi.event.bulk;
+
+import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.event.calendar.EventCalendarService;
+import com.example.eventhubapi.event.dto.EventCreationRequest;
+import com.example.eventhubapi.event.dto.EventImportResult;
+import com.example.eventhubapi.event.dto.EventImportRowResult;
+import com.example.eventhubapi.event.exception.InvalidImportException;
+import com.example.eventhubapi.event.geo.EventGeoService;
+import com.example.eventhubapi.event.participant.enums.EventRole;
+import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import com.example.eventhubapi.event.search.EventSearchService;
+import com.example.eventhubapi.location.Location;
+import com.example.eventhubapi.location.LocationRepository;
+import com.example.eventhubapi.location.LocationService;
+import com.example.eventhubapi.location.dto.LocationCreationRequest;
+import com.example.eventhubapi.location.mapper.LocationMapper;
+import com.example.eventhubapi.user.User;
+import com.example.eventhubapi.user.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates events in bulk from NDJSON (one {@link EventCreationRequest} per line) or CSV (one column per request
+ * field, with the fields of a new location as columns of their own).
+ * <p>
+ * The input is read as a stream and handled in chunks of {@code event.import.chunk-size} rows, each in a transaction
+ * of its own. Every row is validated like a single {@code POST /api/events}; valid rows of a chunk are then written
+ * with JDBC batches of {@code event.import.batch-size} statements (locations, coordinates, events and organizer
+ * participants) without building entities. Their IDs are reserved from the same sequences as the entities', in blocks
+ * of {@code eventhub.id.allocation_size} per {@code nextval} just as the pooled ID generator does, so a sequence call
+ * covers a whole block of rows instead of one row each. The country, region, city and
+ * postal code of an address are resolved once per import and reused by every row with the same address. If a chunk
+ * cannot be saved, its rows are reported as failed and the following chunks are still imported.
+ */
+@Service
+public class EventImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventImportService.class);
+
+    private static final Set<String> EVENT_COLUMNS = Set.of(
+            "name", "description", "startDate", "endDate", "isPublic", "maxParticipants", "locationId");
+    private static final Set<String> LOCATION_COLUMNS = Set.of(
+            "streetName", "streetNumber", "apartment", "postalCode", "city", "region", "countryIsoCode", "latitude", "longitude");
+
+    private static final String INSERT_LOCATION =
+            "INSERT INTO location (location_id, street_name, street_number, apartment, postal_code_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_MAP_LOCATION =
+            "INSERT INTO map_location (location_id, latitude, longitude) VALUES (?, ?, ?)";
+    private static final String INSERT_EVENT =
+            "INSERT INTO event (event_id, name, description, start_date, end_date, is_public, max_participants, attending_count, account_id, location_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 1, ?, ?)";
+    private static final String INSERT_PARTICIPANT =
+            "INSERT INTO participant (account_id, event_id, status, event_role) VALUES (?, ?, ?, ?)";
+    private static final String NEXT_BLOCKS = "SELECT nextval(?) FROM generate_series(1, ?)";
+    private static final String LOCATION_SEQUENCE = "location_id_seq";
+    private static final String EVENT_SEQUENCE = "event_id_seq";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LocationService locationService;
+    private final LocationRepository locationRepository;
+    private final LocationMapper locationMapper;
+    private final UserRepository userRepository;
+    private final EventSearchService eventSearchService;
+    private final EventGeoService eventGeoService;
+    private final EventCalendarService eventCalendarService;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int idBlockSize;
+    private final boolean idBlockEndsAtValue;
+
+    /**
+     * A row read from the input: either a parsed request or the reason it could not be parsed.
+     */
+    private record ImportRow(int number, EventCreationRequest request, String error) {
+    }
+
+    /**
+     * A valid row on its way into the database.
+     */
+    private static final class PendingEvent {
+        final int index;
+        final int number;
+        final EventCreationRequest request;
+        Location location;
+        Long postalCodeId;
+        Long eventId;
+
+        PendingEvent(int index, ImportRow row) {
+            this.index = index;
+            this.number = row.number();
+            this.request = row.request();
+        }
+    }
+
+    /**
+     * Supplies the rows of the input one at a time.
+     */
+    private interface RowSource {
+        ImportRow next() throws IOException;
+    }
+
+    /**
+     * Constructs an EventImportService.
+     * @param objectMapper The application's JSON mapper, used to read rows into requests.
+     * @param validator The validator applied to every row.
+     * @param jdbcTemplate The template used for the batched inserts.
+     * @param transactionTemplate The template demarcating one transaction per chunk.
+     * @param locationService The service resolving the address hierarchy of new locations.
+     * @param locationRepository The repository used to look up referenced locations.
+     * @param locationMapper The mapper building location entities from requests.
+     * @param userRepository The repository for user data access.
+     * @param eventSearchService The service maintaining the event search index.
+     * @param eventGeoService The service maintaining the event geo index.
+     * @param eventCalendarService The service maintaining the event calendars.
+     * @param chunkSize The number of rows imported per transaction.
+     * @param batchSize The number of statements sent per JDBC batch.
+     * @param idBlockSize The number of IDs one sequence value stands for; equal to the sequences' INCREMENT BY.
+     * @param idOptimizer The pooled generator's optimizer, which decides whether a sequence value starts or ends its block.
+     */
+    public EventImportService(ObjectMapper objectMapper,
+                              Validator validator,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              LocationService locationService,
+                              LocationRepository locationRepository,
+                              LocationMapper locationMapper,
+                              UserRepository userRepository,
+                              EventSearchService eventSearchService,
+                              EventGeoService eventGeoService,
+                              EventCalendarService eventCalendarService,
+                              @Value("${event.import.chunk-size:500}") int chunkSize,
+                              @Value("${event.import.batch-size:100}") int batchSize,
+                              @Value("${spring.jpa.properties.eventhub.id.allocation_size:50}") int idBlockSize,
+                              @Value("${spring.jpa.properties.eventhub.id.optimizer:pooled-lo}") String idOptimizer) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.locationService = locationService;
+        this.locationRepository = locationRepository;
+        this.locationMapper = locationMapper;
+        this.userRepository = userRepository;
+        this.eventSearchService = eventSearchService;
+        this.eventGeoService = eventGeoService;
+        this.eventCalendarService = eventCalendarService;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.idBlockSize = idBlockSize;
+        this.idBlockEndsAtValue = "pooled".equals(idOptimizer);
+    }
+
+    /**
+     * Imports every row of the input as an event organized by the given user.
+     * @param format The format of the input.
+     * @param content The input, encoded as UTF-8; it is not closed.
+     * @param organizerId The ID of the user organizing the imported events.
+     * @return The number of created and rejected rows, and the outcome of each row.
+     * @throws IOException If the input cannot be read.
+     * @throws InvalidImportException If the input cannot be read as the given format at all.
+     */
+    public EventImportResult importEvents(EventImportFormat format, InputStream content, Long organizerId) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+        RowSource rows = format == EventImportFormat.CSV ? new CsvRows(reader) : new NdjsonRows(reader);
+
+        List<EventImportRowResult> results = new ArrayList<>();
+        Map<String, Long> postalCodeIds = new HashMap<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        while ((row = rows.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                results.addAll(importChunk(chunk, organizerId, postalCodeIds));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk, organizerId, postalCodeIds));
+        }
+
+        int created = (int) results.stream().filter(result -> result.getEventId() != null).count();
+        return new EventImportResult(created, results.size() - created, results);
+    }
+
+    private List<EventImportRowResult> importChunk(List<ImportRow> chunk, Long organizerId, Map<String, Long> postalCodeIds) {
+        EventImportRowResult[] results = new EventImportRowResult[chunk.size()];
+        List<PendingEvent> pending = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow row = chunk.get(i);
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                results[i] = EventImportRowResult.failed(row.number(), error);
+            } else {
+                pending.add(new PendingEvent(i, row));
+            }
+        }
+        if (pending.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(pending, organizerId, postalCodeIds, results));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Bulk import of rows {} to {} failed", chunk.get(0).number(), chunk.get(chunk.size() - 1).number(), e);
+            // Address rows created by the rolled-back transaction no longer exist.
+            postalCodeIds.clear();
+            for (PendingEvent event : pending) {
+                if (results[event.index] == null || results[event.index].getEventId() != null) {
+                    results[event.index] = EventImportRowResult.failed(event.number, "The chunk containing this row could not be saved.");
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void insert(List<PendingEvent> pending, Long organizerId, Map<String, Long> postalCodeIds, EventImportRowResult[] results) {
+        Set<Long> referencedIds = pending.stream()
+                .map(event -> event.request.getLocationId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Location> referencedLocations = referencedIds.isEmpty() ? Map.of() : locationRepository.findByIdIn(referencedIds).stream()
+                .collect(Collectors.toMap(Location::getId, Function.identity()));
+
+        List<PendingEvent> events = new ArrayList<>(pending.size());
+        List<PendingEvent> newLocations = new ArrayList<>();
+        for (PendingEvent event : pending) {
+            Long locationId = event.request.getLocationId();
+            LocationCreationRequest address = event.request.getLocation();
+            if (locationId != null) {
+                event.location = referencedLocations.get(locationId);
+                if (event.location == null) {
+                    results[event.index] = EventImportRowResult.failed(event.number, "Location not found with id: " + locationId);
+                    continue;
+                }
+            } else if (address != null) {
+                event.location = locationMapper.toEntity(address);
+                event.postalCodeId = postalCodeIds.computeIfAbsent(addressKey(address),
+                        key -> locationService.resolvePostalCode(address).getId());
+                newLocations.add(event);
+            }
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        // Address rows created through JPA must reach the database before the JDBC inserts refer to them.
+        locationRepository.flush();
+
+        List<Long> locationIds = reserveIds(LOCATION_SEQUENCE, newLocations.size());
+        for (int i = 0; i < newLocations.size(); i++) {
+            newLocations.get(i).location.setId(locationIds.get(i));
+        }
+        jdbcTemplate.batchUpdate(INSERT_LOCATION, newLocations, batchSize, (ps, event) -> {
+            ps.setLong(1, event.location.getId());
+            ps.setString(2, event.location.getStreetName());
+            ps.setString(3, event.location.getStreetNumber());
+            ps.setString(4, event.location.getApartment());
+            ps.setLong(5, event.postalCodeId);
+        });
+        List<PendingEvent> coordinates = newLocations.stream().filter(event -> event.location.getMapLocation() != null).toList();
+        jdbcTemplate.batchUpdate(INSERT_MAP_LOCATION, coordinates, batchSize, (ps, event) -> {
+            ps.setLong(1, event.location.getId());
+            ps.setDouble(2, event.location.getMapLocation().getLatitude());
+            ps.setDouble(3, event.location.getMapLocation().getLongitude());
+        });
+
+        List<Long> eventIds = reserveIds(EVENT_SEQUENCE, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).eventId = eventIds.get(i);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, batchSize, (ps, event) -> {
+            EventCreationRequest request = event.request;
+            ps.setLong(1, event.eventId);
+            ps.setString(2, request.getName());
+            ps.setString(3, request.getDescription());
+            ps.setObject(4, request.getStartDate().atOffset(ZoneOffset.UTC));
+            ps.setObject(5, request.getEndDate().atOffset(ZoneOffset.UTC));
+            ps.setBoolean(6, request.getIsPublic());
+            ps.setObject(7, request.getMaxParticipants(), Types.BIGINT);
+            ps.setLong(8, organizerId);
+            ps.setObject(9, event.location == null ? null : event.location.getId(), Types.BIGINT);
+        });
+        jdbcTemplate.batchUpdate(INSERT_PARTICIPANT, events, batchSize, (ps, event) -> {
+            ps.setLong(1, organizerId);
+            ps.setLong(2, event.eventId);
+            ps.setString(3, ParticipantStatus.ATTENDING.getValue());
+            ps.setString(4, EventRole.ORGANIZER.getValue());
+        });
+
+        User organizer = userRepository.getReferenceById(organizerId);
+        for (PendingEvent event : events) {
+            Event saved = toEvent(event, organizer);
+            eventSearchService.index(saved);
+            eventGeoService.index(saved);
+            eventCalendarService.index(saved);
+            results[event.index] = EventImportRowResult.created(event.number, event.eventId);
+        }
+        eventCalendarService.evictUser(organizerId);
+    }
+
+    /**
+     * Reserves IDs for the given number of rows, in row order. Each sequence value stands for a block of
+     * {@code idBlockSize} IDs, as it does for the pooled generator, so the blocks never overlap the generator's.
+     * IDs left over in the last block are not used.
+     */
+    private List<Long> reserveIds(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        if (count == 0) {
+            return ids;
+        }
+        int blocks = (count + idBlockSize - 1) / idBlockSize;
+        for (Long value : jdbcTemplate.queryForList(NEXT_BLOCKS, Long.class, sequence, blocks)) {
+            long first = idBlockEndsAtValue ? value - idBlockSize + 1 : value;
+            for (long id = first; id < first + idBlockSize && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private Event toEvent(PendingEvent pending, User organizer) {
+        EventCreationRequest request = pending.request;
+        Event event = new Event();
+        event.setId(pending.eventId);
+        event.setName(request.getName());
+        event.setDescription(request.getDescription());
+        event.setStartDate(request.getStartDate());
+        event.setEndDate(request.getEndDate());
+        event.setPublic(request.getIsPublic());
+        event.setMaxParticipants(request.getMaxParticipants());
+        event.setAttendingCount(1);
+        event.setOrganizer(organizer);
+        event.setLocation(pending.location);
+        return event;
+    }
+
+    private String validate(EventCreationRequest request) {
+        Set<ConstraintViolation<EventCreationRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath().toString().isEmpty()
+                        ? violation.getMessage()
+                        : violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String addressKey(LocationCreationRequest address) {
+        return String.join("\u0000", address.getCountryIsoCode(), address.getRegion(), address.getCity(), address.getPostalCode());
+    }
+
+    private static String describe(JsonProcessingException e) {
+        return "Malformed row: " + e.getOriginalMessage();
+    }
+
+    /**
+     * Reads one JSON object per non-blank line.
+     */
+    private final class NdjsonRows implements RowSource {
+        private final BufferedReader reader;
+        private int number;
+
+        NdjsonRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            number++;
+            try {
+                return new ImportRow(number, objectMapper.readValue(line, EventCreationRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(number, null, describe(e));
+            }
+        }
+    }
+
+    /**
+     * Reads CSV records against the header in the first record; empty cells are left unset.
+     */
+    private final class CsvRows implements RowSource {
+        private final CsvRecordReader records;
+        private final List<String> header;
+        private int number;
+
+        CsvRows(BufferedReader reader) throws IOException {
+            this.records = new CsvRecordReader(reader);
+            List<String> columns = records.next();
+            this.header = columns == null ? List.of() : columns.stream().map(column -> column.replace("\uFEFF", "").trim()).toList();
+            for (String column : header) {
+                if (!EVENT_COLUMNS.contains(column) && !LOCATION_COLUMNS.contains(column)) {
+                    throw new InvalidImportException("Unknown CSV column '" + column + "'.");
+                }
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            List<String> fields;
+            do {
+                fields = records.next();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.stream().allMatch(String::isBlank));
+            number++;
+            if (fields.size() > header.size()) {
+                return new ImportRow(number, null, "The row has " + fields.size() + " fields but the header has " + header.size() + ".");
+            }
+
+            ObjectNode row = objectMapper.createObjectNode();
+            ObjectNode location = objectMapper.createObjectNode();
+            for (int i = 0; i < fields.size(); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    String column = header.get(i);
+                    (LOCATION_COLUMNS.contains(column) ? location : row).put(column, fields.get(i));
+                }
+            }
+            if (!location.isEmpty()) {
+                row.set("location", location);
+            }
+            try {
+                return new ImportRow(number, objectMapper.treeToValue(row, EventCreationRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(number, null, describe(e));
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.eventhubapi.event.calendar;
+
+import com.example.eventhubapi.common.dto.EventSummary;
+import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.event.EventIndexSynchronizer;
+import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.event.exception.InvalidDateRangeException;
+import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers "which events overlap this time window" from in-process {@link IntervalTree}s.
+ * <p>
+ * Public events live in one tree, rebuilt from the database once the application is ready. Writers call
+ * {@link #index(Event)} or {@link #remove(Long)}, and the event is re-read into the tree once their transaction
+ * commits (see {@link EventIndexSynchronizer}). Each user's attended events are loaded into a tree of their own on
+ * first use and cached; these trees are never modified once built, so they are read without locking. The cache
+ * records which calendars hold each event, so a committed change to an event drops just those calendars. Writers
+ * drop a user's tree with {@link #evictUser(Long)} when their participation changes, and again once the transaction
+ * completes so a tree built from uncommitted or rolled-back data is not kept.
+ */
+@Service
+public class EventCalendarService {
+
+    private final EventRepository eventRepository;
+    private final IntervalTree<EventSummary> publicEvents = new IntervalTree<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Cache<Long, IntervalTree<EventSummary>> userCalendars;
+    private final Map<Long, Map<IntervalTree<EventSummary>, Long>> calendarsByEvent = new ConcurrentHashMap<>();
+    private final EventIndexSynchronizer<EventSummary> synchronizer;
+
+    /**
+     * Constructs an EventCalendarService.
+     * @param eventRepository The repository the calendars are built from.
+     * @param transactionTemplate The template whose transaction manager is used to re-read committed events.
+     * @param userCacheSize The maximum number of per-user calendars kept in memory.
+     */
+    public EventCalendarService(EventRepository eventRepository, TransactionTemplate transactionTemplate,
+                                @Value("${event.calendar.user-cache.max-size:10000}") long userCacheSize) {
+        this.eventRepository = eventRepository;
+        this.userCalendars = Caffeine.newBuilder()
+                .maximumSize(userCacheSize)
+                .executor(Runnable::run)
+                .<Long, IntervalTree<EventSummary>>removalListener((userId, calendar, cause) -> forget(calendar))
+                .build();
+        this.synchronizer = new EventIndexSynchronizer<>("calendar", transactionTemplate,
+                eventRepository::findPublicSummariesByIdIn, EventSummary::getId, this::put, this::removePublic);
+    }
+
+    /**
+     * Rebuilds the public calendar from every stored public event.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            publicEvents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        synchronizer.rebuild(eventRepository::findPublicSummariesAfter);
+        userCalendars.invalidateAll();
+    }
+
+    /**
+     * Adds, moves or re-indexes an event once the current transaction has committed its creation or update, and
+     * drops the cached calendars that contain it. An event that is no longer public is removed from the public calendar.
+     * @param event The saved event.
+     */
+    public void index(Event event) {
+        synchronizer.sync(event.getId());
+    }
+
+    /**
+     * Removes an event from the public calendar once the current transaction has committed its deletion, and drops
+     * the cached calendars that contain it.
+     * @param eventId The ID of the deleted event.
+     */
+    public void remove(Long eventId) {
+        synchronizer.sync(eventId);
+    }
+
+    /**
+     * Drops a user's cached calendar after their participation in an event changed.
+     * @param userId The ID of the user.
+     */
+    public void evictUser(Long userId) {
+        userCalendars.invalidate(userId);
+        afterCompletion(() -> userCalendars.invalidate(userId));
+    }
+
+    /**
+     * Lists the public events overlapping a time window, earliest start first.
+     * @param from The start of the window.
+     * @param to The end of the window.
+     * @param pageable The page of events to return; its sort is ignored.
+     * @return A Page of events.
+     */
+    public Page<EventSummary> getPublicCalendar(Instant from, Instant to, Pageable pageable) {
+        requireRange(from, to);
+        List<EventSummary> events;
+        lock.readLock().lock();
+        try {
+            events = publicEvents.overlapping(from.toEpochMilli(), to.toEpochMilli());
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<EventSummary> content = events.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, events.size());
+    }
+
+    /**
+     * Lists the events a user attends that overlap a time window, earliest start first.
+     * @param userId The ID of the user.
+     * @param from The start of the window.
+     * @param to The end of the window.
+     * @return The overlapping events.
+     */
+    public List<EventSummary> getUserCalendar(Long userId, Instant from, Instant to) {
+        requireRange(from, to);
+        return userCalendar(userId).overlapping(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * Finds the other events a user attends that overlap an event's time.
+     * @param userId The ID of the user.
+     * @param eventId The ID of the event.
+     * @return The overlapping events, earliest start first; empty if the event does not exist.
+     */
+    public List<EventSummary> findConflicts(Long userId, Long eventId) {
+        return eventRepository.findSummaryById(eventId)
+                .map(event -> userCalendar(userId).overlapping(event.getStartDate().toEpochMilli(), event.getEndDate().toEpochMilli())
+                        .stream()
+                        .filter(summary -> !summary.getId().equals(eventId))
+                        .toList())
+                .orElse(List.of());
+    }
+
+    private IntervalTree<EventSummary> userCalendar(Long userId) {
+        return userCalendars.get(userId, id -> {
+            IntervalTree<EventSummary> calendar = new IntervalTree<>();
+            eventRepository.findSummariesByParticipantIdAndStatus(id, ParticipantStatus.ATTENDING)
+                    .forEach(summary -> calendar.put(summary.getId(), summary.getStartDate().toEpochMilli(),
+                            summary.getEndDate().toEpochMilli(), summary));
+            // Registered while the cache still computes the entry, so an eviction that finds it here waits for it.
+            for (Long eventId : calendar.ids()) {
+                calendarsByEvent.compute(eventId, (key, calendars) -> {
+                    Map<IntervalTree<EventSummary>, Long> holders = calendars != null ? calendars : new ConcurrentHashMap<>();
+                    holders.put(calendar, id);
+                    return holders;
+                });
+            }
+            return calendar;
+        });
+    }
+
+    private void put(EventSummary summary) {
+        lock.writeLock().lock();
+        try {
+            publicEvents.put(summary.getId(), summary.getStartDate().toEpochMilli(), summary.getEndDate().toEpochMilli(), summary);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        evictCalendarsContaining(summary.getId());
+    }
+
+    private void removePublic(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            publicEvents.remove(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        evictCalendarsContaining(eventId);
+    }
+
+    private void evictCalendarsContaining(Long eventId) {
+        Map<IntervalTree<EventSummary>, Long> calendars = calendarsByEvent.get(eventId);
+        if (calendars != null) {
+            // Removes only the calendar found here; a newer one built for the same user is left in place.
+            calendars.forEach((calendar, userId) -> userCalendars.asMap().remove(userId, calendar));
+        }
+    }
+
+    private void forget(IntervalTree<EventSummary> calendar) {
+        if (calendar == null) {
+            return;
+        }
+        for (Long eventId : calendar.ids()) {
+            calendarsByEvent.computeIfPresent(eventId, (key, calendars) -> {
+                calendars.remove(calendar);
+                return calendars.isEmpty() ? null : calendars;
+            });
+        }
+    }
+
+    private static void requireRange(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidDateRangeException("The start of the range must be before its end.");
+        }
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
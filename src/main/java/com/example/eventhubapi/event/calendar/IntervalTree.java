@@ -0,0 +1,208 @@
+package com.example.eventhubapi.event.calendar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A dynamic interval tree: a treap ordered by interval start (ties broken by ID) in which every node
+ * also records the latest end in its subtree. An overlap query skips every subtree that ends before the
+ * window and every right subtree that starts after it, so it runs in O(log n + k) expected time for k results.
+ * Results come back in start order. Intervals are half-open, so one ending exactly when another starts
+ * does not overlap it. Not thread-safe.
+ * @param <T> The type of the value stored with each interval.
+ */
+public class IntervalTree<T> {
+
+    private Node<T> root;
+    private final Map<Long, Node<T>> nodes = new HashMap<>();
+
+    private static final class Node<T> {
+        final long id;
+        final long start;
+        final long end;
+        final T value;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        long maxEnd;
+        Node<T> left;
+        Node<T> right;
+
+        Node(long id, long start, long end, T value) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * Adds an interval, replacing any interval stored under the same ID.
+     * @param id The ID of the interval.
+     * @param start The inclusive start, in epoch milliseconds.
+     * @param end The exclusive end, in epoch milliseconds.
+     * @param value The value stored with the interval.
+     * @return The value previously stored under the ID, or null.
+     */
+    public T put(long id, long start, long end, T value) {
+        T previous = remove(id);
+        Node<T> node = new Node<>(id, start, end, value);
+        root = insert(root, node);
+        nodes.put(id, node);
+        return previous;
+    }
+
+    /**
+     * Removes an interval.
+     * @param id The ID of the interval.
+     * @return The value stored under the ID, or null.
+     */
+    public T remove(long id) {
+        Node<T> node = nodes.remove(id);
+        if (node == null) {
+            return null;
+        }
+        root = delete(root, node);
+        return node.value;
+    }
+
+    /**
+     * @param id The ID of an interval.
+     * @return Whether an interval is stored under the ID.
+     */
+    public boolean contains(long id) {
+        return nodes.containsKey(id);
+    }
+
+    /**
+     * @return The IDs of the stored intervals, as a read-only view.
+     */
+    public Set<Long> ids() {
+        return Collections.unmodifiableSet(nodes.keySet());
+    }
+
+    /**
+     * @return The number of stored intervals.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Removes all intervals.
+     */
+    public void clear() {
+        root = null;
+        nodes.clear();
+    }
+
+    /**
+     * Finds the intervals overlapping a window.
+     * @param from The inclusive start of the window, in epoch milliseconds.
+     * @param to The exclusive end of the window, in epoch milliseconds.
+     * @return The values of the overlapping intervals, ordered by start.
+     */
+    public List<T> overlapping(long from, long to) {
+        List<T> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private static <T> void collect(Node<T> node, long from, long to, List<T> result) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            result.add(node.value);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static <T> Node<T> insert(Node<T> subtree, Node<T> node) {
+        if (subtree == null) {
+            return node;
+        }
+        if (compare(node, subtree) < 0) {
+            subtree.left = insert(subtree.left, node);
+            if (subtree.left.priority > subtree.priority) {
+                subtree = rotateRight(subtree);
+            }
+        } else {
+            subtree.right = insert(subtree.right, node);
+            if (subtree.right.priority > subtree.priority) {
+                subtree = rotateLeft(subtree);
+            }
+        }
+        update(subtree);
+        return subtree;
+    }
+
+    private static <T> Node<T> delete(Node<T> subtree, Node<T> node) {
+        if (subtree == null) {
+            return null;
+        }
+        if (subtree == node) {
+            if (subtree.left == null) {
+                return subtree.right;
+            }
+            if (subtree.right == null) {
+                return subtree.left;
+            }
+            if (subtree.left.priority > subtree.right.priority) {
+                subtree = rotateRight(subtree);
+                subtree.right = delete(subtree.right, node);
+            } else {
+                subtree = rotateLeft(subtree);
+                subtree.left = delete(subtree.left, node);
+            }
+        } else if (compare(node, subtree) < 0) {
+            subtree.left = delete(subtree.left, node);
+        } else {
+            subtree.right = delete(subtree.right, node);
+        }
+        update(subtree);
+        return subtree;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> void update(Node<T> node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(Node<?> a, Node<?> b) {
+        int byStart = Long.compare(a.start, b.start);
+        return byStart != 0 ? byStart : Long.compare(a.id, b.id);
+    }
+}
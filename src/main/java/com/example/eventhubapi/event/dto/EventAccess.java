@@ -0,0 +1,26 @@
+package com.example.eventhubapi.event.dto;
+
+import com.example.eventhubapi.event.participant.enums.EventRole;
+import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An id-only projection describing one user's relationship to one event:
+ * the event's organizer ID and, if the user participates, their event role and status.
+ */
+@Getter
+@AllArgsConstructor
+public class EventAccess {
+    private final Long organizerId;
+    private final EventRole eventRole;
+    private final ParticipantStatus participantStatus;
+
+    /**
+     * Checks whether the user is a participant of the event with any status.
+     * @return True if a participant row exists for the user.
+     */
+    public boolean isParticipant() {
+        return eventRole != null;
+    }
+}
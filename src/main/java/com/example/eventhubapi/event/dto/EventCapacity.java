@@ -0,0 +1,25 @@
+package com.example.eventhubapi.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A projection of an event's attending counter and its optional participant limit.
+ */
+@Getter
+@AllArgsConstructor
+public class EventCapacity {
+    private final int attendingCount;
+    private final Integer maxParticipants;
+
+    /**
+     * Computes how many attending seats are still free.
+     * @return The number of free seats, or Integer.MAX_VALUE if the event has no limit.
+     */
+    public int getFreeSeats() {
+        if (maxParticipants == null) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(0, maxParticipants - attendingCount);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.eventhubapi.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * A projection of the event attributes held by the geo index.
+ */
+@Getter
+@AllArgsConstructor
+public class EventGeoDocument {
+    private final Long id;
+    private final String name;
+    private final boolean isPublic;
+    private final Instant startDate;
+    private final Instant endDate;
+    private final double latitude;
+    private final double longitude;
+}
@@ -0,0 +1,17 @@
+package com.example.eventhubapi.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk event import, with the outcome of every row in input order.
+ */
+@Getter
+@AllArgsConstructor
+public class EventImportResult {
+    private final int created;
+    private final int failed;
+    private final List<EventImportRowResult> rows;
+}
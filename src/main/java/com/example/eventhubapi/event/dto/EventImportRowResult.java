@@ -0,0 +1,25 @@
+package com.example.eventhubapi.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * DTO describing the outcome of one row of a bulk event import.
+ * Rows are numbered from 1 in input order, not counting a CSV header. A created row carries the ID of
+ * the new event, a rejected row the reason it was rejected.
+ */
+@Getter
+@AllArgsConstructor
+public class EventImportRowResult {
+    private final int row;
+    private final Long eventId;
+    private final String error;
+
+    public static EventImportRowResult created(int row, Long eventId) {
+        return new EventImportRowResult(row, eventId, null);
+    }
+
+    public static EventImportRowResult failed(int row, String error) {
+        return new EventImportRowResult(row, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.eventhubapi.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * A projection of the event attributes held by the search index.
+ */
+@Getter
+@AllArgsConstructor
+public class EventSearchDocument {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final boolean isPublic;
+    private final Instant startDate;
+    private final Instant endDate;
+}
@@ -0,0 +1,19 @@
+package com.example.eventhubapi.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * DTO for one ranked event search hit.
+ */
+@Getter
+@AllArgsConstructor
+public class EventSearchResult {
+    private final Long id;
+    private final String name;
+    private final Instant startDate;
+    private final Instant endDate;
+    private final double score;
+}
@@ -0,0 +1,21 @@
+package com.example.eventhubapi.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * DTO for one event found near a point, with its great-circle distance from that point.
+ */
+@Getter
+@AllArgsConstructor
+public class NearbyEventResult {
+    private final Long id;
+    private final String name;
+    private final Instant startDate;
+    private final Instant endDate;
+    private final double latitude;
+    private final double longitude;
+    private final double distanceKm;
+}
@@ -0,0 +1,15 @@
+package com.example.eventhubapi.event.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a nearby-events query has coordinates or a radius out of range.
+ * Results in an HTTP 400 Bad Request status.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidGeoQueryException extends RuntimeException {
+    public InvalidGeoQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.eventhubapi.event.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a bulk import cannot be read as a whole, e.g. because of an unsupported
+ * content type or an unknown CSV column. Problems with single rows are reported per row instead.
+ * Results in an HTTP 400 Bad Request status.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
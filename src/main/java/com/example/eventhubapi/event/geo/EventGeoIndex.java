@@ -0,0 +1,256 @@
+package com.example.eventhubapi.event.geo;
+
+import com.example.eventhubapi.event.dto.EventGeoDocument;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory spatial index over event coordinates.
+ * Events are bucketed into a fixed grid of latitude/longitude cells. A radius query visits only the cells
+ * overlapping the bounding box of the search circle, wrapping across the antimeridian and widening to
+ * every longitude near a pole, and then checks the exact great-circle distance of each candidate.
+ * When the box covers more cells than are occupied, the occupied cells are scanned instead.
+ * Only the requested page is kept sorted, in a bounded heap. Thread-safe.
+ */
+public class EventGeoIndex {
+
+    static final double DEFAULT_CELL_DEGREES = 0.1;
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final Comparator<Hit> NEAREST_FIRST = Comparator.comparingDouble(Hit::distanceKm)
+            .thenComparing(hit -> hit.document().getId());
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, List<EventGeoDocument>> cells = new HashMap<>();
+    private final Map<Long, IndexedEvent> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * A filter applied to events inside the radius.
+     * @param publicOnly Whether only public events match.
+     * @param startDate If set, only events starting on or after this instant match.
+     * @param endDate If set, only events ending on or before this instant match.
+     */
+    public record Filter(boolean publicOnly, Instant startDate, Instant endDate) {
+
+        boolean matches(EventGeoDocument event) {
+            return (!publicOnly || event.isPublic())
+                    && (startDate == null || !event.getStartDate().isBefore(startDate))
+                    && (endDate == null || !event.getEndDate().isAfter(endDate));
+        }
+    }
+
+    /**
+     * One event inside the radius.
+     * @param document The indexed event.
+     * @param distanceKm The great-circle distance from the query point.
+     */
+    public record Hit(EventGeoDocument document, double distanceKm) {
+    }
+
+    /**
+     * The nearest matching events, and how many matched in total.
+     * @param hits Up to the requested number of hits, nearest first.
+     * @param total The number of matching events inside the radius.
+     */
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    private record IndexedEvent(EventGeoDocument document, long cell) {
+    }
+
+    /**
+     * Creates an index with cells of {@value #DEFAULT_CELL_DEGREES} degrees, about 11 km at the equator.
+     */
+    public EventGeoIndex() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    /**
+     * Creates an index with the given cell size.
+     * @param cellDegrees The side of a grid cell in degrees; smaller cells suit smaller radii.
+     */
+    public EventGeoIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Adds or moves an event.
+     * @param document The event attributes and coordinates.
+     * @return The previously indexed attributes, or null.
+     */
+    public EventGeoDocument put(EventGeoDocument document) {
+        long cell = cellOf(document.getLatitude(), document.getLongitude());
+        lock.writeLock().lock();
+        try {
+            IndexedEvent previous = removeLocked(document.getId());
+            documents.put(document.getId(), new IndexedEvent(document, cell));
+            cells.computeIfAbsent(cell, c -> new ArrayList<>()).add(document);
+            return previous == null ? null : previous.document();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an event.
+     * @param eventId The ID of the event.
+     * @return The previously indexed attributes, or null.
+     */
+    public EventGeoDocument remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            IndexedEvent previous = removeLocked(eventId);
+            return previous == null ? null : previous.document();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all events.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of indexed events.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the events within a radius of a point, nearest first.
+     * @param latitude The latitude of the point in degrees.
+     * @param longitude The longitude of the point in degrees.
+     * @param radiusKm The radius in kilometres.
+     * @param filter The filter the events must pass.
+     * @param limit The number of nearest hits to return.
+     * @return The nearest hits and the total number of matches.
+     */
+    public Result nearby(double latitude, double longitude, double radiusKm, Filter filter, int limit) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double latitudeDelta = Math.toDegrees(angularRadius);
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+        boolean allLongitudes = minLatitude <= -90 || maxLatitude >= 90;
+        double longitudeDelta = 180;
+        if (!allLongitudes) {
+            double ratio = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+            allLongitudes = ratio >= 1;
+            if (!allLongitudes) {
+                longitudeDelta = Math.toDegrees(Math.asin(ratio));
+            }
+        }
+        int fromRow = row(Math.max(minLatitude, -90));
+        int toRow = row(Math.min(maxLatitude, 90));
+        int fromColumn = allLongitudes ? 0 : (int) Math.floor((longitude - longitudeDelta + 180) / cellDegrees);
+        int toColumn = allLongitudes ? columns - 1 : (int) Math.floor((longitude + longitudeDelta + 180) / cellDegrees);
+        int spannedColumns = Math.min(toColumn - fromColumn + 1, columns);
+
+        PriorityQueue<Hit> nearest = new PriorityQueue<>(NEAREST_FIRST.reversed());
+        int[] total = new int[1];
+        lock.readLock().lock();
+        try {
+            if ((long) (toRow - fromRow + 1) * spannedColumns > cells.size()) {
+                cells.values().forEach(cell -> collect(cell, latitude, longitude, radiusKm, filter, limit, nearest, total));
+            } else {
+                for (int row = fromRow; row <= toRow; row++) {
+                    for (int column = fromColumn; column < fromColumn + spannedColumns; column++) {
+                        List<EventGeoDocument> cell = cells.get((long) row * columns + Math.floorMod(column, columns));
+                        if (cell != null) {
+                            collect(cell, latitude, longitude, radiusKm, filter, limit, nearest, total);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(nearest);
+        hits.sort(NEAREST_FIRST);
+        return new Result(hits, total[0]);
+    }
+
+    /**
+     * Computes the great-circle distance between two points with the haversine formula.
+     * @return The distance in kilometres.
+     */
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        double sinHalfPhi = Math.sin((phi2 - phi1) / 2);
+        double sinHalfLambda = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinHalfPhi * sinHalfPhi + Math.cos(phi1) * Math.cos(phi2) * sinHalfLambda * sinHalfLambda;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static void collect(Collection<EventGeoDocument> cell, double latitude, double longitude, double radiusKm,
+                                Filter filter, int limit, PriorityQueue<Hit> nearest, int[] total) {
+        for (EventGeoDocument document : cell) {
+            if (!filter.matches(document)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, document.getLatitude(), document.getLongitude());
+            if (distance > radiusKm) {
+                continue;
+            }
+            total[0]++;
+            Hit hit = new Hit(document, distance);
+            if (nearest.size() < limit) {
+                nearest.add(hit);
+            } else if (limit > 0 && NEAREST_FIRST.compare(hit, nearest.peek()) < 0) {
+                nearest.poll();
+                nearest.add(hit);
+            }
+        }
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        int column = Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+        return (long) row(latitude) * columns + column;
+    }
+
+    private int row(double latitude) {
+        return Math.min(Math.max((int) Math.floor((latitude + 90) / cellDegrees), 0), rows - 1);
+    }
+
+    private IndexedEvent removeLocked(Long eventId) {
+        IndexedEvent previous = documents.remove(eventId);
+        if (previous != null) {
+            List<EventGeoDocument> cell = cells.get(previous.cell());
+            cell.removeIf(document -> document.getId().equals(eventId));
+            if (cell.isEmpty()) {
+                cells.remove(previous.cell());
+            }
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.eventhubapi.event.geo;
+
+import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.event.EventIndexSynchronizer;
+import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.event.dto.EventGeoDocument;
+import com.example.eventhubapi.event.dto.NearbyEventResult;
+import com.example.eventhubapi.event.exception.InvalidGeoQueryException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps the in-process {@link EventGeoIndex} in step with event locations and answers radius queries.
+ * <p>
+ * The index is rebuilt from the database once the application is ready. Writers call {@link #index(Event)}
+ * or {@link #remove(Long)}, and the event is re-read into the index once their transaction commits
+ * (see {@link EventIndexSynchronizer}). Events without map coordinates are not indexed.
+ */
+@Service
+public class EventGeoService {
+
+    private static final double MAX_RADIUS_KM = Math.PI * EventGeoIndex.EARTH_RADIUS_KM;
+
+    private final EventRepository eventRepository;
+    private final EventGeoIndex index = new EventGeoIndex();
+    private final EventIndexSynchronizer<EventGeoDocument> synchronizer;
+
+    /**
+     * Constructs an EventGeoService.
+     * @param eventRepository The repository the index is built from.
+     * @param transactionTemplate The template whose transaction manager is used to re-read committed events.
+     */
+    public EventGeoService(EventRepository eventRepository, TransactionTemplate transactionTemplate) {
+        this.eventRepository = eventRepository;
+        this.synchronizer = new EventIndexSynchronizer<>("geo", transactionTemplate,
+                eventRepository::findGeoDocumentsByIdIn, EventGeoDocument::getId, index::put, index::remove);
+    }
+
+    /**
+     * Rebuilds the index from every stored event with coordinates.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        index.clear();
+        synchronizer.rebuild(eventRepository::findGeoDocumentsAfter);
+    }
+
+    /**
+     * Adds, moves or re-indexes an event once the current transaction has committed its creation or update.
+     * An event whose location has no coordinates is removed from the index.
+     * @param event The saved event.
+     */
+    public void index(Event event) {
+        synchronizer.sync(event.getId());
+    }
+
+    /**
+     * Removes an event from the index once the current transaction has committed its deletion.
+     * @param eventId The ID of the deleted event.
+     */
+    public void remove(Long eventId) {
+        synchronizer.sync(eventId);
+    }
+
+    /**
+     * Finds public events within a radius of a point, nearest first.
+     * @param latitude The latitude of the point in degrees.
+     * @param longitude The longitude of the point in degrees.
+     * @param radiusKm The radius in kilometres.
+     * @param startDate If set, only events starting on or after this instant are returned.
+     * @param endDate If set, only events ending on or before this instant are returned.
+     * @param pageable The page of results to return; its sort is ignored.
+     * @return A Page of results ordered by distance.
+     */
+    public Page<NearbyEventResult> findNearbyPublicEvents(double latitude, double longitude, double radiusKm,
+                                                          Instant startDate, Instant endDate, Pageable pageable) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidGeoQueryException("Latitude must be within [-90, 90] and longitude within [-180, 180].");
+        }
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new InvalidGeoQueryException("Radius must be greater than 0 and at most " + Math.round(MAX_RADIUS_KM) + " km.");
+        }
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        EventGeoIndex.Result result = index.nearby(latitude, longitude, radiusKm,
+                new EventGeoIndex.Filter(true, startDate, endDate), limit);
+        List<NearbyEventResult> content = result.hits().stream()
+                .skip(pageable.getOffset())
+                .map(hit -> new NearbyEventResult(hit.document().getId(), hit.document().getName(),
+                        hit.document().getStartDate(), hit.document().getEndDate(),
+                        hit.document().getLatitude(), hit.document().getLongitude(), hit.distanceKm()))
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
+    }
+}
@@ -1,33 +1,78 @@
 package com.example.eventhubapi.event.mapper;
 
+import com.example.eventhubapi.common.dto.UserSummary;
 import com.example.eventhubapi.event.Event;
 import com.example.eventhubapi.event.dto.EventCreationRequest;
 import com.example.eventhubapi.event.dto.EventDto;
-import com.example.eventhubapi.event.participant.ParticipantRepository;
-import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
 import com.example.eventhubapi.user.User;
+import com.example.eventhubapi.user.UserRepository;
+import com.example.eventhubapi.user.dto.ProfileSummary;
 import com.example.eventhubapi.user.mapper.UserMapper;
 import org.springframework.stereotype.Service;
 import com.example.eventhubapi.location.mapper.LocationMapper;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Service class for mapping between Event entities and their DTOs.
+ * Lists of events are mapped in bulk: organizer summaries are fetched with one query for the
+ * whole list and attending counts come from the event row, so the statement count does not grow with its size.
  */
 @Service
 public class EventMapper {
 
     private final LocationMapper locationMapper;
     private final UserMapper userMapper;
-    private final ParticipantRepository participantRepository;
+    private final UserRepository userRepository;
 
-    public EventMapper(LocationMapper locationMapper, UserMapper userMapper, ParticipantRepository participantRepository) {
+    public EventMapper(LocationMapper locationMapper, UserMapper userMapper, UserRepository userRepository) {
         this.locationMapper = locationMapper;
         this.userMapper = userMapper;
-        this.participantRepository = participantRepository;
+        this.userRepository = userRepository;
     }
+
     public EventDto toDto(Event event) {
         if (event == null) return null;
+        return toDtos(Collections.singletonList(event)).get(0);
+    }
+
+    /**
+     * Maps a list of events to DTOs, preserving their order.
+     * Locations should already be loaded (e.g. with an entity graph) to avoid lazy loading per event.
+     * @param events The events to map.
+     * @return The DTOs, in the same order as the events.
+     */
+    public List<EventDto> toDtos(List<Event> events) {
+        if (events.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> organizerIds = new LinkedHashSet<>();
+        for (Event event : events) {
+            if (event.getOrganizer() != null) {
+                organizerIds.add(event.getOrganizer().getId());
+            }
+        }
+
+        Map<Long, UserSummary> organizers = organizerIds.isEmpty() ? Collections.emptyMap() : userRepository
+                .findProfileSummariesByIdIn(organizerIds).stream()
+                .collect(Collectors.toMap(ProfileSummary::getUserId, userMapper::toUserSummary));
+
+        List<EventDto> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            dtos.add(toDto(event, organizers::get));
+        }
+        return dtos;
+    }
 
+    private EventDto toDto(Event event, Function<Long, UserSummary> organizers) {
         EventDto dto = new EventDto();
         dto.setId(event.getId());
         dto.setName(event.getName());
@@ -38,11 +83,10 @@ public class EventMapper {
         dto.setMaxParticipants(event.getMaxParticipants());
 
         if (event.getOrganizer() != null) {
-            dto.setOrganizer(userMapper.toUserSummary(event.getOrganizer()));
+            dto.setOrganizer(organizers.apply(event.getOrganizer().getId()));
         }
 
-        long attendingCount = participantRepository.countByEventIdAndStatus(event.getId(), ParticipantStatus.ATTENDING);
-        dto.setParticipantsCount((int) attendingCount);
+        dto.setParticipantsCount(event.getAttendingCount());
 
         if (event.getLocation() != null) {
             dto.setLocation(locationMapper.toDto(event.getLocation()));
@@ -65,4 +109,4 @@ public class EventMapper {
 
         return event;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.eventhubapi.event.media;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
 import com.example.eventhubapi.event.Event;
 import com.example.eventhubapi.event.media.enums.MediaType;
 import com.example.eventhubapi.event.media.enums.MediaUsage;
@@ -13,7 +14,7 @@ import java.time.Instant;
 
 /**
  * Represents a media file associated with an event, such as a gallery image,
- * a schedule document, or a logo.
+ * a schedule document, or a logo. The row holds metadata only; the bytes live in the media storage.
  */
 @Entity
 @Table(name = "media")
@@ -23,12 +24,19 @@ import java.time.Instant;
 public class Media {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("media_id_seq")
     @Column(name = "media_id")
     private Long id;
 
-    @Column(name = "media_file", nullable = false, columnDefinition = "bytea")
-    private byte[] mediaFile;
+    /**
+     * SHA-256 of the content held by the {@link com.example.eventhubapi.event.media.storage.MediaStorage}.
+     * Null only for rows whose content still sits in the legacy {@code media_file} column.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
 
     @Column(name = "media_type", nullable = false)
     private MediaType mediaType;
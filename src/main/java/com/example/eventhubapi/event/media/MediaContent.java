@@ -0,0 +1,251 @@
+package com.example.eventhubapi.event.media;
+
+import com.example.eventhubapi.event.media.dto.StoredContent;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Body of a media download: a whole resource or some byte ranges of it, written by
+ * {@link MediaContentHttpMessageConverter}.
+ * {@link #response} turns a download request into a 200, 206, 304 or 416 response, honouring {@code Range}, {@code If-Range},
+ * {@code If-None-Match} and {@code If-Modified-Since}. A 304 is answered from the validators alone, without opening the content.
+ */
+@Getter
+public final class MediaContent {
+
+    private final Resource resource;
+    private final long resourceLength;
+    private final List<ResourceRegion> regions;
+    private final MediaType contentType;
+    private final String boundary;
+    private final long contentLength;
+
+    private MediaContent(Resource resource, long resourceLength, List<ResourceRegion> regions, MediaType contentType, String boundary) {
+        this.resource = resource;
+        this.resourceLength = resourceLength;
+        this.regions = regions;
+        this.contentType = contentType;
+        this.boundary = boundary;
+        this.contentLength = computeContentLength();
+    }
+
+    /**
+     * Builds the response for a download of stored content, using its content hash as a strong entity tag.
+     * @param content The content.
+     * @param lastModified When the content last changed, or null if unknown.
+     * @param cacheControl The caching policy of the URL the content is served from.
+     * @param requestHeaders The headers of the download request.
+     * @return 304 if the client's copy is current, otherwise the full content, the requested ranges,
+     *         or 416 if none of the ranges can be satisfied.
+     * @throws IOException If the content's length cannot be determined.
+     */
+    public static ResponseEntity<MediaContent> response(StoredContent content, Instant lastModified, CacheControl cacheControl,
+                                                        HttpHeaders requestHeaders) throws IOException {
+        String etag = content.getContentHash() != null ? "\"" + content.getContentHash() + "\"" : null;
+        return response(content.getContent(), MediaType.parseMediaType(content.getContentType()), etag, lastModified,
+                cacheControl, requestHeaders);
+    }
+
+    /**
+     * Builds the response for a download of a resource.
+     * @param resource Opens the content; not called when the response is a 304.
+     * @param contentType The content's media type.
+     * @param etag The strong entity tag of the content, or null if unknown.
+     * @param lastModified When the content last changed, or null if unknown.
+     * @param cacheControl The caching policy of the URL the content is served from.
+     * @param requestHeaders The headers of the download request.
+     * @return 304 if the client's copy is current, otherwise the full content, the requested ranges,
+     *         or 416 if none of the ranges can be satisfied.
+     * @throws IOException If the content's length cannot be determined.
+     */
+    public static ResponseEntity<MediaContent> response(Supplier<Resource> resource, MediaType contentType, String etag, Instant lastModified,
+                                                        CacheControl cacheControl, HttpHeaders requestHeaders) throws IOException {
+        if (isNotModified(requestHeaders, etag, lastModified)) {
+            return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified, cacheControl).build();
+        }
+
+        Resource content = resource.get();
+        long length = content.contentLength();
+        List<HttpRange> ranges = requestedRanges(requestHeaders, etag, lastModified);
+
+        if (ranges.isEmpty()) {
+            return validators(ResponseEntity.ok(), etag, lastModified, cacheControl)
+                    .contentType(contentType)
+                    .body(new MediaContent(content, length, List.of(), contentType, null));
+        }
+
+        List<ResourceRegion> regions;
+        try {
+            regions = HttpRange.toResourceRegions(ranges, content);
+        } catch (IllegalArgumentException e) {
+            return validators(ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE), etag, lastModified, cacheControl)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder partial = validators(ResponseEntity.status(HttpStatus.PARTIAL_CONTENT), etag, lastModified, cacheControl);
+        if (regions.size() == 1) {
+            ResourceRegion region = regions.get(0);
+            return partial
+                    .contentType(contentType)
+                    .header(HttpHeaders.CONTENT_RANGE, contentRange(region, length))
+                    .body(new MediaContent(content, length, regions, contentType, null));
+        }
+        String boundary = new String(MimeTypeUtils.generateMultipartBoundary(), StandardCharsets.US_ASCII);
+        return partial
+                .contentType(new MediaType("multipart", "byteranges", Map.of("boundary", boundary)))
+                .body(new MediaContent(content, length, regions, contentType, boundary));
+    }
+
+    /**
+     * The caching policy of a URL whose content never changes, such as a media ID or a content hash.
+     * @return A year-long max-age marked immutable, so browsers do not revalidate on reload.
+     */
+    public static CacheControl immutable() {
+        return CacheControl.maxAge(Duration.ofDays(365)).immutable();
+    }
+
+    /**
+     * The caching policy of a URL whose content may change: cached, but revalidated with the validators on every use.
+     * @return A no-cache policy.
+     */
+    public static CacheControl revalidated() {
+        return CacheControl.noCache();
+    }
+
+    /**
+     * @return True if the body is several ranges separated by {@link #getBoundary()}.
+     */
+    public boolean isMultipart() {
+        return boundary != null;
+    }
+
+    /**
+     * The MIME part header preceding a range of a multipart body, including the leading delimiter.
+     * @param region The range.
+     * @return The header.
+     */
+    String partHeader(ResourceRegion region) {
+        return "\r\n--" + boundary + "\r\n"
+                + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region, resourceLength) + "\r\n\r\n";
+    }
+
+    /**
+     * @return The closing delimiter of a multipart body.
+     */
+    String closingDelimiter() {
+        return "\r\n--" + boundary + "--";
+    }
+
+    private long computeContentLength() {
+        if (regions.isEmpty()) {
+            return resourceLength;
+        }
+        if (!isMultipart()) {
+            return regions.get(0).getCount();
+        }
+        long length = closingDelimiter().length();
+        for (ResourceRegion region : regions) {
+            length += partHeader(region).length() + region.getCount();
+        }
+        return length;
+    }
+
+    /**
+     * Evaluates {@code If-None-Match}, or {@code If-Modified-Since} when it is absent, as RFC 9110 prescribes for GET.
+     */
+    private static boolean isNotModified(HttpHeaders requestHeaders, String etag, Instant lastModified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            if (etag == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch) {
+                // If-None-Match uses the weak comparison: a W/ prefix does not prevent a match.
+                if (candidate.equals("*") || stripWeakPrefix(candidate).equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = requestHeaders.getIfModifiedSince();
+            return ifModifiedSince != -1 && lastModified.truncatedTo(ChronoUnit.SECONDS).toEpochMilli() <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String stripWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static List<HttpRange> requestedRanges(HttpHeaders requestHeaders, String etag, Instant lastModified) {
+        if (requestHeaders.getFirst(HttpHeaders.RANGE) == null || !ifRangeMatches(requestHeaders, etag, lastModified)) {
+            return List.of();
+        }
+        try {
+            return requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored and the whole content is sent.
+            return List.of();
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpHeaders requestHeaders, String etag, Instant lastModified) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Only a strong entity tag can validate a range.
+            return ifRange.equals(etag);
+        }
+        try {
+            return lastModified != null
+                    && requestHeaders.getFirstDate(HttpHeaders.IF_RANGE) == lastModified.truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder builder, String etag, Instant lastModified,
+                                                         CacheControl cacheControl) {
+        builder.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
+                .cacheControl(cacheControl);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    private static String contentRange(ResourceRegion region, long length) {
+        long start = region.getPosition();
+        return "bytes " + start + "-" + (start + region.getCount() - 1) + "/" + length;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.eventhubapi.event.media;
+
+import com.example.eventhubapi.event.media.storage.ByteBufferResource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes {@link MediaContent} bodies without buffering them.
+ * File-backed content is handed to the container's sendfile support when it offers it (Tomcat NIO does)
+ * and the body is one range of at least {@value #SENDFILE_MIN_BYTES} bytes; otherwise it is copied with
+ * {@link FileChannel#transferTo}. Content cached off-heap is handed to the response stream as a
+ * {@link ByteBuffer} when the stream has a public {@code write(ByteBuffer)} method (Tomcat's does, as does any
+ * Servlet 6.1 stream), so it is not copied through the heap; other streams get it through a channel.
+ * Other resources are streamed.
+ */
+@Component
+public class MediaContentHttpMessageConverter extends AbstractHttpMessageConverter<MediaContent> {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    // Looked up on the stream actually handed to the converter, so a filter that replaces the stream is respected.
+    private static final ClassValue<MethodHandle> BUFFER_WRITERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup().findVirtual(type, "write", MethodType.methodType(void.class, ByteBuffer.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            }
+        }
+    };
+
+    private final Counter servedBytes;
+
+    /**
+     * Constructs a MediaContentHttpMessageConverter writing any media type.
+     * @param meterRegistry The registry to publish the bytes served from the content cache to.
+     */
+    public MediaContentHttpMessageConverter(MeterRegistry meterRegistry) {
+        super(MediaType.ALL);
+        this.servedBytes = Counter.builder("media.content.cache.served")
+                .description("Bytes of media content served from the off-heap cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MediaContent.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected MediaContent readInternal(Class<? extends MediaContent> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Media content cannot be read from a request", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(MediaContent content, MediaType contentType) {
+        return content.getContentLength();
+    }
+
+    @Override
+    protected void writeInternal(MediaContent content, HttpOutputMessage outputMessage) throws IOException {
+        Resource resource = content.getResource();
+        if (content.getRegions().isEmpty()) {
+            writeSingle(resource, 0, content.getResourceLength(), outputMessage);
+        } else if (!content.isMultipart()) {
+            ResourceRegion region = content.getRegions().get(0);
+            writeSingle(resource, region.getPosition(), region.getCount(), outputMessage);
+        } else {
+            OutputStream out = outputMessage.getBody();
+            for (ResourceRegion region : content.getRegions()) {
+                out.write(content.partHeader(region).getBytes(StandardCharsets.US_ASCII));
+                copy(resource, region.getPosition(), region.getCount(), out);
+            }
+            out.write(content.closingDelimiter().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private void writeSingle(Resource resource, long position, long count, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = currentRequest();
+        if (resource.isFile() && count >= SENDFILE_MIN_BYTES
+                && request != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The container sends the file once the response is committed; nothing is written here.
+            request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+        copy(resource, position, count, outputMessage.getBody());
+    }
+
+    private void copy(Resource resource, long position, long count, OutputStream out) throws IOException {
+        if (resource instanceof ByteBufferResource cached) {
+            write(cached.getBuffer().position((int) position).limit((int) (position + count)), out);
+            servedBytes.increment(count);
+            return;
+        }
+        if (!resource.isFile()) {
+            try (InputStream in = resource.getInputStream()) {
+                StreamUtils.copyRange(in, out, position, position + count - 1);
+            }
+            return;
+        }
+        Path path = resource.getFile().toPath();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Not closed: closing would close the response stream.
+            WritableByteChannel target = Channels.newChannel(out);
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    throw new EOFException("Media content ended early: " + path);
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    private static void write(ByteBuffer buffer, OutputStream out) throws IOException {
+        MethodHandle bufferWriter = BUFFER_WRITERS.get(out.getClass());
+        if (bufferWriter == null) {
+            // Not closed: closing would close the response stream.
+            WritableByteChannel target = Channels.newChannel(out);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            return;
+        }
+        try {
+            while (buffer.hasRemaining()) {
+                bufferWriter.invoke(out, buffer);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
@@ -1,18 +1,28 @@
 package com.example.eventhubapi.event.media;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.event.media.archive.GalleryArchiveService;
+import com.example.eventhubapi.event.media.dto.MediaDescriptor;
 import com.example.eventhubapi.event.media.dto.MediaDto;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import com.example.eventhubapi.event.media.dto.StoredContent;
+import com.example.eventhubapi.event.media.dto.UploadSessionCreateRequest;
+import com.example.eventhubapi.event.media.dto.UploadSessionDto;
+import com.example.eventhubapi.event.media.upload.UploadSessionService;
+import com.example.eventhubapi.security.CurrentAccount;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
 
 /**
  * REST controller for handling media uploads, downloads, and deletions.
@@ -22,27 +32,33 @@ import java.io.IOException;
 public class MediaController {
 
     private final MediaService mediaService;
+    private final UploadSessionService uploadSessionService;
+    private final GalleryArchiveService galleryArchiveService;
 
     /**
-     * Constructs a MediaController with the necessary MediaService.
+     * Constructs a MediaController with the necessary services.
      * @param mediaService The service for media-related business logic.
+     * @param uploadSessionService The service for resumable uploads.
+     * @param galleryArchiveService The service writing gallery archives.
      */
-    public MediaController(MediaService mediaService) {
+    public MediaController(MediaService mediaService, UploadSessionService uploadSessionService, GalleryArchiveService galleryArchiveService) {
         this.mediaService = mediaService;
+        this.uploadSessionService = uploadSessionService;
+        this.galleryArchiveService = galleryArchiveService;
     }
 
     /**
      * Uploads a gallery image for a specific event.
      * @param id The ID of the event.
      * @param file The image file to upload.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the created MediaDto and HTTP status 201.
      * @throws IOException if an I/O error occurs.
      */
     @PostMapping("/events/{id}/media/gallery")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<MediaDto> uploadGalleryImage(@PathVariable Long id, @RequestParam("file") MultipartFile file, Authentication authentication) throws IOException {
-        MediaDto mediaDto = mediaService.uploadGalleryImage(id, file, authentication);
+    public ResponseEntity<MediaDto> uploadGalleryImage(@PathVariable Long id, @RequestParam("file") MultipartFile file, CurrentAccount currentAccount) throws IOException {
+        MediaDto mediaDto = mediaService.uploadGalleryImage(id, file, currentAccount);
         return new ResponseEntity<>(mediaDto, HttpStatus.CREATED);
     }
 
@@ -50,14 +66,14 @@ public class MediaController {
      * Uploads a logo for a specific event.
      * @param id The ID of the event.
      * @param file The logo file to upload.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the created MediaDto and HTTP status 201.
      * @throws IOException if an I/O error occurs.
      */
     @PostMapping("/events/{id}/media/logo")
     @PreAuthorize("hasAuthority('organizer')")
-    public ResponseEntity<MediaDto> uploadLogo(@PathVariable Long id, @RequestParam("file") MultipartFile file, Authentication authentication) throws IOException {
-        MediaDto mediaDto = mediaService.uploadLogo(id, file, authentication);
+    public ResponseEntity<MediaDto> uploadLogo(@PathVariable Long id, @RequestParam("file") MultipartFile file, CurrentAccount currentAccount) throws IOException {
+        MediaDto mediaDto = mediaService.uploadLogo(id, file, currentAccount);
         return new ResponseEntity<>(mediaDto, HttpStatus.CREATED);
     }
 
@@ -65,71 +81,183 @@ public class MediaController {
      * Uploads a schedule for a specific event.
      * @param id The ID of the event.
      * @param file The schedule file to upload.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the created MediaDto and HTTP status 201.
      * @throws IOException if an I/O error occurs.
      */
     @PostMapping("/events/{id}/media/schedule")
     @PreAuthorize("hasAuthority('organizer')")
-    public ResponseEntity<MediaDto> uploadSchedule(@PathVariable Long id, @RequestParam("file") MultipartFile file, Authentication authentication) throws IOException {
-        MediaDto mediaDto = mediaService.uploadSchedule(id, file, authentication);
+    public ResponseEntity<MediaDto> uploadSchedule(@PathVariable Long id, @RequestParam("file") MultipartFile file, CurrentAccount currentAccount) throws IOException {
+        MediaDto mediaDto = mediaService.uploadSchedule(id, file, currentAccount);
         return new ResponseEntity<>(mediaDto, HttpStatus.CREATED);
     }
 
     /**
-     * Downloads a gallery media file.
+     * Starts a resumable upload for a specific event.
+     * @param id The ID of the event.
+     * @param request The usage, type and size of the upload.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity with the created UploadSessionDto and HTTP status 201.
+     */
+    @PostMapping("/events/{id}/media/uploads")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UploadSessionDto> createUploadSession(@PathVariable Long id, @Valid @RequestBody UploadSessionCreateRequest request, CurrentAccount currentAccount) {
+        UploadSessionDto session = uploadSessionService.createSession(id, request, currentAccount);
+        return new ResponseEntity<>(session, HttpStatus.CREATED);
+    }
+
+    /**
+     * Retrieves the progress of a resumable upload.
+     * @param uploadId The ID of the upload session.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity with the UploadSessionDto.
+     */
+    @GetMapping("/media/uploads/{uploadId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UploadSessionDto> getUploadSession(@PathVariable String uploadId, CurrentAccount currentAccount) {
+        return ResponseEntity.ok(uploadSessionService.getSession(uploadId, currentAccount));
+    }
+
+    /**
+     * Appends a chunk, sent as the raw request body, to a resumable upload.
+     * @param uploadId The ID of the upload session.
+     * @param offset The position of the chunk; must equal the bytes received so far.
+     * @param content The chunk.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity with the updated UploadSessionDto.
+     * @throws IOException if the chunk cannot be read or spooled.
+     */
+    @PutMapping("/media/uploads/{uploadId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UploadSessionDto> appendUploadChunk(@PathVariable String uploadId, @RequestParam long offset, InputStream content, CurrentAccount currentAccount) throws IOException {
+        return ResponseEntity.ok(uploadSessionService.appendChunk(uploadId, offset, content, currentAccount));
+    }
+
+    /**
+     * Completes a resumable upload, creating the media.
+     * @param uploadId The ID of the upload session.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity with the created MediaDto and HTTP status 201.
+     * @throws IOException if the uploaded content cannot be stored.
+     */
+    @PostMapping("/media/uploads/{uploadId}/complete")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<MediaDto> completeUploadSession(@PathVariable String uploadId, CurrentAccount currentAccount) throws IOException {
+        MediaDto mediaDto = uploadSessionService.completeSession(uploadId, currentAccount);
+        return new ResponseEntity<>(mediaDto, HttpStatus.CREATED);
+    }
+
+    /**
+     * Abandons a resumable upload.
+     * @param uploadId The ID of the upload session.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity with no content.
+     */
+    @DeleteMapping("/media/uploads/{uploadId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> abortUploadSession(@PathVariable String uploadId, CurrentAccount currentAccount) {
+        uploadSessionService.abortSession(uploadId, currentAccount);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves a slice of an event's media metadata after a cursor, newest first.
+     * @param id The ID of the event.
+     * @param usage Optional usage filter: "gallery", "logo" or "schedule".
+     * @param type Optional type filter: a MIME type such as "image/png" or a top-level type such as "video".
+     * @param after The cursor returned with the previous slice, or omitted for the first slice.
+     * @param size The slice size.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity with a slice of MediaDto objects.
+     */
+    @GetMapping("/events/{id}/media")
+    public ResponseEntity<CursorSlice<MediaDto>> getEventMedia(@PathVariable Long id,
+                                                               @RequestParam(required = false) String usage,
+                                                               @RequestParam(required = false) String type,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               CurrentAccount currentAccount) {
+        return ResponseEntity.ok(mediaService.getEventMedia(id, usage, type, after, size, currentAccount));
+    }
+
+    /**
+     * Downloads an event's whole gallery as a ZIP archive, streamed entry by entry as it is written.
+     * @param id The ID of the event.
+     * @param currentAccount The account making the request.
+     * @param response The response the archive is written to.
+     * @throws IOException if content cannot be read or written.
+     */
+    @GetMapping("/events/{id}/media/archive")
+    @PreAuthorize("isAuthenticated()")
+    public void downloadGalleryArchive(@PathVariable Long id, CurrentAccount currentAccount, HttpServletResponse response) throws IOException {
+        galleryArchiveService.requireArchivePermission(id, currentAccount);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("event-" + id + "-gallery.zip").build().toString());
+        galleryArchiveService.writeArchive(id, response.getOutputStream());
+    }
+
+    /**
+     * Downloads a gallery media file, or the byte ranges requested with {@code Range}.
+     * A media ID always serves the same content, so the response is cacheable as immutable, unless a size was
+     * requested and the original is served until its rendition is ready.
      * @param fileId The ID of the file to download.
-     * @return A ResponseEntity containing the media resource.
+     * @param size Optional longer-side size in pixels; the smallest ready rendition at least this large is served,
+     *             or the original if there is none.
+     * @param requestHeaders The request headers, consulted for ranges and conditional requests.
+     * @return A ResponseEntity containing the media content.
+     * @throws IOException if the content length cannot be determined.
      */
     @GetMapping("/media/gallery/{fileId}")
-    public ResponseEntity<Resource> downloadGalleryMedia(@PathVariable Long fileId) {
-        Media media = mediaService.getMediaFile(fileId);
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(media.getMediaType().getValue()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
-                .body(new ByteArrayResource(media.getMediaFile()));
+    public ResponseEntity<MediaContent> downloadGalleryMedia(@PathVariable Long fileId, @RequestParam(required = false) Integer size,
+                                                             @RequestHeader HttpHeaders requestHeaders) throws IOException {
+        MediaDescriptor media = mediaService.getMediaFile(fileId);
+        StoredContent content = mediaService.getContent(media, size);
+        boolean pendingRendition = size != null && Objects.equals(content.getContentHash(), media.getContentHash());
+        CacheControl cacheControl = pendingRendition ? MediaContent.revalidated() : MediaContent.immutable();
+        return MediaContent.response(content, media.getUploadedAt(), cacheControl.cachePublic(), requestHeaders);
     }
 
     /**
-     * Downloads a schedule file.
+     * Downloads a schedule file, or the byte ranges requested with {@code Range}.
      * @param fileId The ID of the schedule file to download.
-     * @param authentication The authentication object of the current user.
-     * @return A ResponseEntity containing the schedule resource.
+     * @param currentAccount The account making the request.
+     * @param requestHeaders The request headers, consulted for ranges and conditional requests.
+     * @return A ResponseEntity containing the schedule content.
+     * @throws IOException if the content length cannot be determined.
      */
     @GetMapping("/media/schedule/{fileId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Resource> downloadScheduleMedia(@PathVariable Long fileId, Authentication authentication) {
-        Media media = mediaService.getScheduleFile(fileId, authentication);
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(media.getMediaType().getValue()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
-                .body(new ByteArrayResource(media.getMediaFile()));
+    public ResponseEntity<MediaContent> downloadScheduleMedia(@PathVariable Long fileId, CurrentAccount currentAccount, @RequestHeader HttpHeaders requestHeaders) throws IOException {
+        MediaDescriptor media = mediaService.getScheduleFile(fileId, currentAccount);
+        return MediaContent.response(mediaService.getContent(media, null), media.getUploadedAt(),
+                MediaContent.immutable().cachePrivate(), requestHeaders);
     }
 
     /**
      * Deletes a user's own gallery media file.
      * @param fileId The ID of the media file to delete.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with no content.
      */
     @DeleteMapping("/media/gallery/{fileId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Void> deleteOwnGalleryMedia(@PathVariable Long fileId, Authentication authentication) {
-        mediaService.deleteOwnGalleryMedia(fileId, authentication);
+    public ResponseEntity<Void> deleteOwnGalleryMedia(@PathVariable Long fileId, CurrentAccount currentAccount) {
+        mediaService.deleteOwnGalleryMedia(fileId, currentAccount);
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * Allows an organizer to delete a gallery media file from their event.
+     * Allows an organizer, moderator or admin of an event to delete a gallery media file from it.
      * @param id The ID of the event.
      * @param fileId The ID of the media file to delete.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with no content.
      */
     @DeleteMapping("/events/{id}/media/gallery/{fileId}")
-    @PreAuthorize("hasAuthority('organizer')")
-    public ResponseEntity<Void> organizerDeleteGalleryMedia(@PathVariable Long id, @PathVariable Long fileId, Authentication authentication) {
-        mediaService.organizerDeleteGalleryMedia(id, fileId, authentication);
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> organizerDeleteGalleryMedia(@PathVariable Long id, @PathVariable Long fileId, CurrentAccount currentAccount) {
+        mediaService.organizerDeleteGalleryMedia(id, fileId, currentAccount);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
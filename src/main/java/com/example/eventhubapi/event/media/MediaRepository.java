@@ -1,9 +1,16 @@
 package com.example.eventhubapi.event.media;
 
+import com.example.eventhubapi.event.media.dto.MediaDescriptor;
+import com.example.eventhubapi.event.media.enums.MediaType;
 import com.example.eventhubapi.event.media.enums.MediaUsage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +22,37 @@ public interface MediaRepository extends JpaRepository<Media, Long> {
     List<Media> findByEventIdAndUsage(Long eventId, MediaUsage usage);
     Optional<Media> findOneByEventIdAndUsage(Long eventId, MediaUsage usage);
     List<Media> findByEventId(Long eventId);
+
+    @Query("SELECT new com.example.eventhubapi.event.media.dto.MediaDescriptor(m.id, m.event.id, u.id, m.mediaType, m.usage, m.contentHash, m.uploadedAt, m.sizeBytes) " +
+            "FROM Media m LEFT JOIN m.uploader u WHERE m.id = :mediaId")
+    Optional<MediaDescriptor> findDescriptorById(@Param("mediaId") Long mediaId);
+
+    /**
+     * Lists an event's media newest first, continuing below the given ID, without selecting any content.
+     * @param limit A limit-only page request; its sort is ignored in favour of the ID order.
+     */
+    @Query("SELECT new com.example.eventhubapi.event.media.dto.MediaDescriptor(m.id, m.event.id, u.id, m.mediaType, m.usage, m.contentHash, m.uploadedAt, m.sizeBytes) " +
+            "FROM Media m LEFT JOIN m.uploader u " +
+            "WHERE m.event.id = :eventId AND m.usage IN :usages AND m.mediaType IN :mediaTypes AND m.id < :lastId " +
+            "ORDER BY m.id DESC")
+    List<MediaDescriptor> findDescriptorsByEventIdBefore(@Param("eventId") Long eventId,
+                                                         @Param("usages") Collection<MediaUsage> usages,
+                                                         @Param("mediaTypes") Collection<MediaType> mediaTypes,
+                                                         @Param("lastId") Long lastId,
+                                                         Pageable limit);
+
+    /**
+     * Deletes a media row by ID without loading it first.
+     * @return The number of rows deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Media m WHERE m.id = :mediaId")
+    int deleteMediaById(@Param("mediaId") Long mediaId);
+
+    @Query("SELECT m.contentHash FROM Media m WHERE m.event.id = :eventId AND m.usage = :usage AND m.contentHash IS NOT NULL")
+    List<String> findContentHashesByEventIdAndUsage(@Param("eventId") Long eventId, @Param("usage") MediaUsage usage);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Media m WHERE m.event.id = :eventId AND m.usage = :usage")
+    int deleteByEventIdAndUsage(@Param("eventId") Long eventId, @Param("usage") MediaUsage usage);
 }
\ No newline at end of file
@@ -1,24 +1,45 @@
 package com.example.eventhubapi.event.media;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.common.pagination.Keyset;
 import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.event.EventPermissionService;
 import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.event.dto.EventAccess;
 import com.example.eventhubapi.event.exception.EventNotFoundException;
+import com.example.eventhubapi.event.media.dto.MediaDescriptor;
 import com.example.eventhubapi.event.media.dto.MediaDto;
+import com.example.eventhubapi.event.media.dto.StoredContent;
 import com.example.eventhubapi.event.media.enums.MediaType;
 import com.example.eventhubapi.event.media.enums.MediaUsage;
 import com.example.eventhubapi.event.media.exception.MediaNotFoundException;
 import com.example.eventhubapi.event.media.mapper.MediaMapper;
-import com.example.eventhubapi.event.participant.ParticipantRepository;
+import com.example.eventhubapi.event.media.rendition.ImageRendition;
+import com.example.eventhubapi.event.media.rendition.ImageRenditionService;
+import com.example.eventhubapi.event.media.storage.MediaContentCache;
+import com.example.eventhubapi.event.media.storage.MediaStorage;
+import com.example.eventhubapi.event.media.storage.StoredBlob;
+import com.example.eventhubapi.security.CurrentAccount;
 import com.example.eventhubapi.user.User;
+import com.example.eventhubapi.user.UserRepository;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service class for handling media-related business logic.
@@ -26,132 +47,235 @@ import java.util.Objects;
 @Service
 public class MediaService {
 
+    private static final String ORGANIZER_OR_ADMIN_REQUIRED = "You must be the event organizer or an admin to perform this action.";
+
     private final MediaRepository mediaRepository;
     private final EventRepository eventRepository;
-    private final ParticipantRepository participantRepository;
     private final MediaMapper mediaMapper;
+    private final UserRepository userRepository;
+    private final EventPermissionService eventPermissionService;
+    private final MediaStorage mediaStorage;
+    private final MediaContentCache mediaContentCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageRenditionService imageRenditionService;
 
     /**
      * Constructs a MediaService with the necessary dependencies.
      *
      * @param mediaRepository       The repository for media data access.
      * @param eventRepository       The repository for event data access.
-     * @param participantRepository The repository for participant data access.
      * @param mediaMapper           The mapper for converting between Media entities and DTOs.
+     * @param userRepository        The repository for user data access.
+     * @param eventPermissionService The service for event permission checks.
+     * @param mediaStorage          The storage holding media content.
+     * @param mediaContentCache     The off-heap cache media content is served through.
+     * @param jdbcTemplate          The template used to read content not yet migrated out of the media table.
+     * @param imageRenditionService The service generating and looking up downscaled image renditions.
      */
-    public MediaService(MediaRepository mediaRepository, EventRepository eventRepository, ParticipantRepository participantRepository, MediaMapper mediaMapper) {
+    public MediaService(MediaRepository mediaRepository, EventRepository eventRepository, MediaMapper mediaMapper, UserRepository userRepository, EventPermissionService eventPermissionService, MediaStorage mediaStorage, MediaContentCache mediaContentCache, JdbcTemplate jdbcTemplate, ImageRenditionService imageRenditionService) {
         this.mediaRepository = mediaRepository;
         this.eventRepository = eventRepository;
-        this.participantRepository = participantRepository;
         this.mediaMapper = mediaMapper;
-    }
-
-    private void authorizeOrganizerOrAdmin(Event event, User user) {
-        boolean isOrganizer = event.getOrganizer().getId().equals(user.getId());
-        boolean isAdmin = user.getAuthorities().stream()
-                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("admin"));
-        if (!isOrganizer && !isAdmin) {
-            throw new AccessDeniedException("You must be the event organizer or an admin to perform this action.");
-        }
+        this.userRepository = userRepository;
+        this.eventPermissionService = eventPermissionService;
+        this.mediaStorage = mediaStorage;
+        this.mediaContentCache = mediaContentCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.imageRenditionService = imageRenditionService;
     }
 
     /**
      * Uploads a gallery image for an event.
      * @param eventId The ID of the event.
      * @param file The image file to upload.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A DTO of the created media.
      * @throws IOException If an I/O error occurs.
      */
     @Transactional
-    public MediaDto uploadGalleryImage(Long eventId, MultipartFile file, Authentication authentication) throws IOException {
-        User currentUser = (User) authentication.getPrincipal();
-        Event event = findEventById(eventId);
-
-        boolean isOrganizer = event.getOrganizer().getId().equals(currentUser.getId());
-        boolean isParticipant = participantRepository.findByEventIdAndUserId(eventId, currentUser.getId()).isPresent();
-
-        if (!isParticipant && !isOrganizer) {
-            throw new AccessDeniedException("You must be a participant or the event organizer to upload gallery images.");
-        }
+    public MediaDto uploadGalleryImage(Long eventId, MultipartFile file, CurrentAccount currentAccount) throws IOException {
+        requireUploadPermission(eventId, MediaUsage.GALLERY, currentAccount);
 
-        return storeAndMap(file, event, MediaUsage.GALLERY, currentUser);
+        return storeAndMap(file, eventRepository.getReferenceById(eventId), MediaUsage.GALLERY, currentAccount);
     }
 
     /**
      * Uploads a logo for an event.
      * @param eventId The ID of the event.
      * @param file The logo file to upload.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A DTO of the created media.
      * @throws IOException If an I/O error occurs.
      */
     @Transactional
-    public MediaDto uploadLogo(Long eventId, MultipartFile file, Authentication authentication) throws IOException {
-        User currentUser = (User) authentication.getPrincipal();
-        Event event = findEventById(eventId);
-        authorizeOrganizerOrAdmin(event, currentUser);
+    public MediaDto uploadLogo(Long eventId, MultipartFile file, CurrentAccount currentAccount) throws IOException {
+        requireUploadPermission(eventId, MediaUsage.LOGO, currentAccount);
 
-        mediaRepository.findOneByEventIdAndUsage(eventId, MediaUsage.LOGO).ifPresent(mediaRepository::delete);
-        return storeAndMap(file, event, MediaUsage.LOGO, currentUser);
+        removeLogo(eventId);
+        return storeAndMap(file, eventRepository.getReferenceById(eventId), MediaUsage.LOGO, currentAccount);
     }
 
     /**
      * Uploads a schedule for an event.
      * @param eventId The ID of the event.
      * @param file The schedule file to upload.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A DTO of the created media.
      * @throws IOException If an I/O error occurs.
      */
     @Transactional
-    public MediaDto uploadSchedule(Long eventId, MultipartFile file, Authentication authentication) throws IOException {
-        User currentUser = (User) authentication.getPrincipal();
-        Event event = findEventById(eventId);
-        authorizeOrganizerOrAdmin(event, currentUser);
+    public MediaDto uploadSchedule(Long eventId, MultipartFile file, CurrentAccount currentAccount) throws IOException {
+        requireUploadPermission(eventId, MediaUsage.SCHEDULE, currentAccount);
+
+        return storeAndMap(file, eventRepository.getReferenceById(eventId), MediaUsage.SCHEDULE, currentAccount);
+    }
+
+    /**
+     * Checks that an account may upload media with the given usage to an event: gallery media may be uploaded
+     * by participants and the organizer, logos and schedules by the organizer and administrators.
+     * @param eventId The ID of the event.
+     * @param usage The usage of the media to upload.
+     * @param currentAccount The account making the request.
+     * @throws AccessDeniedException if the account may not upload the media.
+     */
+    public void requireUploadPermission(Long eventId, MediaUsage usage, CurrentAccount currentAccount) {
+        if (usage != MediaUsage.GALLERY) {
+            eventPermissionService.requireOrganizerOrAdmin(eventId, currentAccount, ORGANIZER_OR_ADMIN_REQUIRED);
+            return;
+        }
+        EventAccess access = eventPermissionService.getAccess(eventId, currentAccount.getId());
+        boolean isOrganizer = currentAccount.getId().equals(access.getOrganizerId());
+
+        if (!access.isParticipant() && !isOrganizer) {
+            throw new AccessDeniedException("You must be a participant or the event organizer to upload gallery images.");
+        }
+    }
 
-        return storeAndMap(file, event, MediaUsage.SCHEDULE, currentUser);
+    /**
+     * Creates the media row for content already in the media storage, replacing the event's logo if it is one.
+     * Permissions must have been checked with {@link #requireUploadPermission}.
+     * @param eventId The ID of the event.
+     * @param blob The stored content.
+     * @param mediaType The MIME type of the content.
+     * @param usage The usage of the media.
+     * @param uploader The account that uploaded the content.
+     * @return A DTO of the created media.
+     */
+    @Transactional
+    public MediaDto createMedia(Long eventId, StoredBlob blob, MediaType mediaType, MediaUsage usage, CurrentAccount uploader) {
+        if (usage == MediaUsage.LOGO) {
+            removeLogo(eventId);
+        }
+        return saveMedia(eventRepository.getReferenceById(eventId), blob, mediaType, usage, uploader);
     }
 
     /**
      * Uploads a gallery image for an event as an administrator.
      * @param eventId The ID of the event.
      * @param file The image file to upload.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A DTO of the created media.
      * @throws IOException If an I/O error occurs.
      */
     @Transactional
-    public MediaDto adminUploadGalleryImage(Long eventId, MultipartFile file, Authentication authentication) throws IOException {
-        User currentUser = (User) authentication.getPrincipal();
+    public MediaDto adminUploadGalleryImage(Long eventId, MultipartFile file, CurrentAccount currentAccount) throws IOException {
         Event event = findEventById(eventId);
-        return storeAndMap(file, event, MediaUsage.GALLERY, currentUser);
+        return storeAndMap(file, event, MediaUsage.GALLERY, currentAccount);
     }
 
     /**
-     * Retrieves a media file by its ID.
+     * Retrieves the metadata of a media file by its ID, without loading the media entity.
      * @param mediaId The ID of the media file.
-     * @return The Media entity.
+     * @return The media metadata.
      */
     @Transactional(readOnly = true)
-    public Media getMediaFile(Long mediaId) {
-        return mediaRepository.findById(mediaId)
+    public MediaDescriptor getMediaFile(Long mediaId) {
+        return mediaRepository.findDescriptorById(mediaId)
                 .orElseThrow(() -> new MediaNotFoundException("Media not found with id: " + mediaId));
     }
 
+    /**
+     * Resolves the content of a media file, or of its smallest ready rendition at least the requested size.
+     * Only metadata is read here; the payload is opened when the returned supplier is called.
+     * Rows not yet migrated out of the legacy inline column are served from it.
+     * @param media The media metadata.
+     * @param size The requested longer-side size in pixels, or null for the original.
+     * @return The content to serve.
+     */
+    public StoredContent getContent(MediaDescriptor media, Integer size) {
+        String hash = media.getContentHash();
+        if (hash == null) {
+            return new StoredContent(null, media.getMediaType().getValue(), () -> {
+                byte[] inlineContent = jdbcTemplate.query("SELECT media_file FROM media WHERE media_id = ?",
+                        resultSet -> resultSet.next() ? resultSet.getBytes(1) : null, media.getId());
+                if (inlineContent == null) {
+                    throw new MediaNotFoundException("Media content not found for id: " + media.getId());
+                }
+                return new ByteArrayResource(inlineContent);
+            });
+        }
+        if (size != null) {
+            Optional<ImageRendition> rendition = imageRenditionService.findRendition(hash, size);
+            if (rendition.isPresent()) {
+                String renditionHash = rendition.get().getContentHash();
+                return new StoredContent(renditionHash, rendition.get().getContentType(), () -> mediaContentCache.load(renditionHash));
+            }
+        }
+        return new StoredContent(hash, media.getMediaType().getValue(), () -> mediaContentCache.load(hash));
+    }
+
+    /**
+     * Lists an event's media, newest first, without loading any content.
+     * Schedules are only listed for participants, the event organizer and administrators.
+     * @param eventId The ID of the event.
+     * @param usage Optional usage filter, e.g. "gallery".
+     * @param type Optional type filter: a full MIME type such as "image/png" or a top-level type such as "image".
+     * @param after The cursor of the previous slice, or blank for the first slice.
+     * @param size The slice size.
+     * @param currentAccount The account making the request.
+     * @return A CursorSlice of MediaDto objects.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<MediaDto> getEventMedia(Long eventId, String usage, String type, String after, int size, CurrentAccount currentAccount) {
+        EventAccess access = eventPermissionService.getAccess(eventId, currentAccount.getId());
+        boolean maySeeSchedules = access.isParticipant() || eventPermissionService.isOrganizerOrAdmin(eventId, currentAccount);
+
+        Set<MediaUsage> usages;
+        if (usage == null || usage.isBlank()) {
+            usages = maySeeSchedules ? EnumSet.allOf(MediaUsage.class) : EnumSet.complementOf(EnumSet.of(MediaUsage.SCHEDULE));
+        } else {
+            usages = EnumSet.of(MediaUsage.fromValue(usage));
+            if (usages.contains(MediaUsage.SCHEDULE) && !maySeeSchedules) {
+                throw new AccessDeniedException("You must be a participant to list the schedules.");
+            }
+        }
+        List<MediaType> mediaTypes = Arrays.stream(MediaType.values())
+                .filter(mediaType -> type == null || type.isBlank()
+                        || mediaType.getValue().equalsIgnoreCase(type)
+                        || mediaType.getValue().startsWith(type.toLowerCase() + "/"))
+                .toList();
+        if (mediaTypes.isEmpty()) {
+            throw new IllegalArgumentException("Unexpected value '" + type + "'");
+        }
+
+        Keyset keyset = Keyset.byId(after, size, Sort.Direction.DESC);
+        Long lastId = keyset.isFirst() ? Long.MAX_VALUE : keyset.getLastId();
+        List<MediaDescriptor> rows = mediaRepository.findDescriptorsByEventIdBefore(eventId, usages, mediaTypes, lastId, keyset.getLimit());
+        CursorSlice<MediaDescriptor> slice = keyset.slice(rows, MediaDescriptor::getId, Function.identity());
+        return new CursorSlice<>(mediaMapper.toDtos(slice.getContent()), slice.getSize(), slice.isHasNext(), slice.getNextCursor());
+    }
+
     /**
      * Retrieves a schedule file by its ID, ensuring the user is a participant.
      * @param mediaId The ID of the schedule file.
-     * @param authentication The authentication object of the current user.
-     * @return The Media entity.
+     * @param currentAccount The account making the request.
+     * @return The media metadata.
      */
     @Transactional(readOnly = true)
-    public Media getScheduleFile(Long mediaId, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
-        Media media = getMediaFile(mediaId);
-        Event event = media.getEvent();
+    public MediaDescriptor getScheduleFile(Long mediaId, CurrentAccount currentAccount) {
+        MediaDescriptor media = getMediaFile(mediaId);
 
-        boolean isParticipant = participantRepository.findByEventIdAndUserId(event.getId(), currentUser.getId()).isPresent();
+        boolean isParticipant = eventPermissionService.getAccess(media.getEventId(), currentAccount.getId()).isParticipant();
         if (!isParticipant) {
             throw new AccessDeniedException("You must be a participant to download the schedule.");
         }
@@ -161,36 +285,36 @@ public class MediaService {
     /**
      * Deletes a user's own gallery media.
      * @param mediaId The ID of the media file to delete.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      */
     @Transactional
-    public void deleteOwnGalleryMedia(Long mediaId, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
-        Media media = getMediaFile(mediaId);
+    public void deleteOwnGalleryMedia(Long mediaId, CurrentAccount currentAccount) {
+        MediaDescriptor media = getMediaFile(mediaId);
 
-        if (media.getUploader() == null || !media.getUploader().getId().equals(currentUser.getId())) {
+        if (!currentAccount.getId().equals(media.getUploaderId())) {
             throw new AccessDeniedException("You can only delete your own media.");
         }
-        mediaRepository.delete(media);
+        mediaRepository.deleteMediaById(mediaId);
+        evictContent(media.getContentHash());
     }
 
     /**
-     * Allows an organizer to delete any gallery media from their event.
+     * Allows an organizer, moderator or admin to delete any gallery media from an event.
      * @param eventId The ID of the event.
      * @param mediaId The ID of the media file to delete.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      */
     @Transactional
-    public void organizerDeleteGalleryMedia(Long eventId, Long mediaId, Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
-        Event event = findEventById(eventId);
-        authorizeOrganizerOrAdmin(event, currentUser);
+    public void organizerDeleteGalleryMedia(Long eventId, Long mediaId, CurrentAccount currentAccount) {
+        eventPermissionService.requireModerator(eventId, currentAccount,
+                "You must be an organizer, moderator or admin of this event to perform this action.");
 
-        Media media = getMediaFile(mediaId);
-        if(!Objects.equals(media.getEvent().getId(), eventId)) {
+        MediaDescriptor media = getMediaFile(mediaId);
+        if(!Objects.equals(media.getEventId(), eventId)) {
             throw new AccessDeniedException("Media does not belong to this event.");
         }
-        mediaRepository.delete(media);
+        mediaRepository.deleteMediaById(mediaId);
+        evictContent(media.getContentHash());
     }
 
     /**
@@ -199,27 +323,52 @@ public class MediaService {
      */
     @Transactional
     public void adminDeleteMedia(Long mediaId) {
-        if (!mediaRepository.existsById(mediaId)) {
-            throw new MediaNotFoundException("Media not found with id: " + mediaId);
-        }
-        mediaRepository.deleteById(mediaId);
+        MediaDescriptor media = getMediaFile(mediaId);
+        mediaRepository.deleteMediaById(mediaId);
+        evictContent(media.getContentHash());
     }
 
 
+    /**
+     * Frees the cache memory of deleted content early. Other media may share the content; they reload it on demand.
+     */
+    private void evictContent(String contentHash) {
+        if (contentHash != null) {
+            mediaContentCache.evict(contentHash);
+        }
+    }
+
     private Event findEventById(Long eventId) {
         return eventRepository.findById(eventId)
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
     }
 
-    private MediaDto storeAndMap(MultipartFile file, Event event, MediaUsage usage, User uploader) throws IOException {
+    private void removeLogo(Long eventId) {
+        mediaRepository.findContentHashesByEventIdAndUsage(eventId, MediaUsage.LOGO).forEach(this::evictContent);
+        mediaRepository.deleteByEventIdAndUsage(eventId, MediaUsage.LOGO);
+    }
+
+    private MediaDto storeAndMap(MultipartFile file, Event event, MediaUsage usage, CurrentAccount uploader) throws IOException {
+        MediaType mediaType = MediaType.fromValue(file.getContentType());
+        StoredBlob blob;
+        try (InputStream content = file.getInputStream()) {
+            blob = mediaStorage.store(content);
+        }
+        return saveMedia(event, blob, mediaType, usage, uploader);
+    }
+
+    private MediaDto saveMedia(Event event, StoredBlob blob, MediaType mediaType, MediaUsage usage, CurrentAccount uploader) {
+        User uploaderRef = userRepository.getReferenceById(uploader.getId());
         Media media = new Media();
         media.setEvent(event);
-        media.setUploader(uploader);
-        media.setMediaFile(file.getBytes());
-        media.setMediaType(MediaType.fromValue(file.getContentType()));
+        media.setUploader(uploaderRef);
+        media.setContentHash(blob.getHash());
+        media.setSizeBytes(blob.getSize());
+        media.setMediaType(mediaType);
         media.setUsage(usage);
         media.setUploadedAt(Instant.now());
         Media savedMedia = mediaRepository.save(media);
+        imageRenditionService.requestRenditions(blob.getHash(), mediaType.getValue());
         return mediaMapper.toDto(savedMedia);
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.example.eventhubapi.event.media.archive;
+
+import com.example.eventhubapi.event.EventPermissionService;
+import com.example.eventhubapi.event.dto.EventAccess;
+import com.example.eventhubapi.event.media.MediaRepository;
+import com.example.eventhubapi.event.media.MediaService;
+import com.example.eventhubapi.event.media.dto.MediaDescriptor;
+import com.example.eventhubapi.event.media.enums.MediaType;
+import com.example.eventhubapi.event.media.enums.MediaUsage;
+import com.example.eventhubapi.event.media.exception.MediaNotFoundException;
+import com.example.eventhubapi.event.media.storage.MediaStorage;
+import com.example.eventhubapi.security.CurrentAccount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes an event's gallery as a ZIP archive straight to an output stream.
+ * <p>
+ * Media rows are read in keyset pages and each entry's content is streamed from the media storage,
+ * so memory use does not depend on the size or number of items. Formats that are already compressed
+ * are written as STORED entries; their CRC is computed with a first pass over the content, as ZIP requires
+ * it before the data of a stored entry. Other formats are deflated.
+ */
+@Service
+public class GalleryArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(GalleryArchiveService.class);
+    private static final int PAGE_SIZE = 100;
+    private static final Set<MediaType> COMPRESSED_TYPES = EnumSet.of(MediaType.IMAGE_JPEG, MediaType.IMAGE_PNG,
+            MediaType.IMAGE_GIF, MediaType.IMAGE_WEBP, MediaType.VIDEO_MP4, MediaType.VIDEO_WEBM, MediaType.VIDEO_OGG);
+
+    private final MediaRepository mediaRepository;
+    private final MediaService mediaService;
+    private final MediaStorage mediaStorage;
+    private final EventPermissionService eventPermissionService;
+
+    /**
+     * Constructs a GalleryArchiveService.
+     * @param mediaRepository The repository the gallery is listed from.
+     * @param mediaService The service resolving content not yet migrated out of the media table.
+     * @param mediaStorage The storage the content is streamed from.
+     * @param eventPermissionService The service for event permission checks.
+     */
+    public GalleryArchiveService(MediaRepository mediaRepository, MediaService mediaService, MediaStorage mediaStorage,
+                                 EventPermissionService eventPermissionService) {
+        this.mediaRepository = mediaRepository;
+        this.mediaService = mediaService;
+        this.mediaStorage = mediaStorage;
+        this.eventPermissionService = eventPermissionService;
+    }
+
+    /**
+     * Requires the account to be a participant, the organizer or an administrator of the event.
+     * @param eventId The ID of the event.
+     * @param currentAccount The account making the request.
+     * @throws AccessDeniedException if the check fails.
+     */
+    public void requireArchivePermission(Long eventId, CurrentAccount currentAccount) {
+        EventAccess access = eventPermissionService.getAccess(eventId, currentAccount.getId());
+        if (!access.isParticipant() && !eventPermissionService.isOrganizerOrAdmin(eventId, currentAccount)) {
+            throw new AccessDeniedException("You must be a participant or the event organizer to download the gallery.");
+        }
+    }
+
+    /**
+     * Writes every gallery item of an event, newest first, as one archive entry named after its media ID.
+     * Items whose content is missing from the storage are skipped.
+     * @param eventId The ID of the event.
+     * @param out The stream to write the archive to; it is not closed.
+     * @throws IOException If content cannot be read or the archive cannot be written.
+     */
+    public void writeArchive(Long eventId, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Set<MediaUsage> usages = EnumSet.of(MediaUsage.GALLERY);
+        List<MediaType> mediaTypes = List.of(MediaType.values());
+        long lastId = Long.MAX_VALUE;
+        List<MediaDescriptor> page;
+        do {
+            page = mediaRepository.findDescriptorsByEventIdBefore(eventId, usages, mediaTypes, lastId, PageRequest.of(0, PAGE_SIZE));
+            for (MediaDescriptor media : page) {
+                writeEntry(zip, media);
+                lastId = media.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        zip.finish();
+    }
+
+    private void writeEntry(ZipOutputStream zip, MediaDescriptor media) throws IOException {
+        Resource content;
+        try {
+            content = media.getContentHash() != null
+                    ? mediaStorage.load(media.getContentHash())
+                    : mediaService.getContent(media, null).getContent().get();
+        } catch (MediaNotFoundException e) {
+            log.warn("Skipping media {} in the gallery archive: {}", media.getId(), e.getMessage());
+            return;
+        }
+
+        ZipEntry entry = new ZipEntry(media.getId() + "." + extensionOf(media.getMediaType()));
+        entry.setTime(media.getUploadedAt().toEpochMilli());
+        if (COMPRESSED_TYPES.contains(media.getMediaType())) {
+            long size = content.contentLength();
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crcOf(content));
+        }
+        zip.putNextEntry(entry);
+        try (InputStream in = content.getInputStream()) {
+            in.transferTo(zip);
+        }
+        zip.closeEntry();
+    }
+
+    private static long crcOf(Resource content) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = content.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static String extensionOf(MediaType mediaType) {
+        return switch (mediaType) {
+            case IMAGE_JPEG -> "jpg";
+            case IMAGE_SVG_XML -> "svg";
+            case VIDEO_OGG -> "ogv";
+            case APPLICATION_PDF -> "pdf";
+            default -> mediaType.getValue().substring(mediaType.getValue().indexOf('/') + 1);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.eventhubapi.event.media.dto;
+
+import com.example.eventhubapi.event.media.enums.MediaType;
+import com.example.eventhubapi.event.media.enums.MediaUsage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * An id-only projection of a media row: enough to authorize, locate and describe the content
+ * without loading the media entity, its event or its uploader.
+ */
+@Getter
+@AllArgsConstructor
+public class MediaDescriptor {
+    private final Long id;
+    private final Long eventId;
+    private final Long uploaderId;
+    private final MediaType mediaType;
+    private final MediaUsage usage;
+    private final String contentHash;
+    private final Instant uploadedAt;
+    private final Long sizeBytes;
+}
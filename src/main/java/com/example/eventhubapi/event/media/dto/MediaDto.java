@@ -16,6 +16,8 @@ public class MediaDto {
     private String mediaType;
     private String usage;
     private Instant uploadedAt;
+    private Long sizeBytes;
     private UserSummary uploader;
     private String downloadUrl;
+    private String thumbnailUrl;
 }
\ No newline at end of file
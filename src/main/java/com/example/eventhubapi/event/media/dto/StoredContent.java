@@ -0,0 +1,19 @@
+package com.example.eventhubapi.event.media.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+import java.util.function.Supplier;
+
+/**
+ * Content ready to be served: its SHA-256 content hash, its MIME type and a supplier of the readable resource.
+ * The resource is only opened once a conditional request has been found to need a body.
+ */
+@Getter
+@AllArgsConstructor
+public class StoredContent {
+    private final String contentHash;
+    private final String contentType;
+    private final Supplier<Resource> content;
+}
@@ -0,0 +1,23 @@
+package com.example.eventhubapi.event.media.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO for starting a resumable upload: what will be uploaded and how large it is.
+ */
+@Getter
+@Setter
+public class UploadSessionCreateRequest {
+    /** The media usage, e.g. "gallery". */
+    @NotEmpty
+    private String usage;
+    /** The MIME type of the file, e.g. "video/mp4". */
+    @NotEmpty
+    private String mediaType;
+    @NotNull @Positive
+    private Long totalBytes;
+}
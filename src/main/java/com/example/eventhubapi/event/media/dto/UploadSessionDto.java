@@ -0,0 +1,22 @@
+package com.example.eventhubapi.event.media.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * DTO for exposing the progress of a resumable upload to the client.
+ * The next chunk must be sent with {@code offset} equal to {@code receivedBytes}.
+ */
+@Getter
+@Setter
+public class UploadSessionDto {
+    private String id;
+    private Long eventId;
+    private String usage;
+    private String mediaType;
+    private long totalBytes;
+    private long receivedBytes;
+    private Instant expiresAt;
+}
@@ -0,0 +1,16 @@
+package com.example.eventhubapi.event.media.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an upload is malformed: an unknown usage or type, a size over the limit,
+ * a chunk past the declared size, or completion before all bytes arrived.
+ * Results in an HTTP 400 Bad Request status.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidUploadException extends RuntimeException {
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.eventhubapi.event.media.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a chunk is sent for an offset other than the number of bytes received so far,
+ * e.g. after a retried or lost chunk. The client should query the session and resume from its offset.
+ * Results in an HTTP 409 Conflict status.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UploadOffsetMismatchException extends RuntimeException {
+    public UploadOffsetMismatchException(long expectedOffset) {
+        super("The upload continues at offset " + expectedOffset + ".");
+    }
+}
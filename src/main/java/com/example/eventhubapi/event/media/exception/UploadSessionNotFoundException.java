@@ -0,0 +1,15 @@
+package com.example.eventhubapi.event.media.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an upload session does not exist, has expired, or belongs to another account.
+ * Results in an HTTP 404 Not Found status.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UploadSessionNotFoundException extends RuntimeException {
+    public UploadSessionNotFoundException(String message) {
+        super(message);
+    }
+}
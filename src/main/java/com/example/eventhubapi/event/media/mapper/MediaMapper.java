@@ -2,18 +2,40 @@ package com.example.eventhubapi.event.media.mapper;
 
 import com.example.eventhubapi.common.dto.UserSummary;
 import com.example.eventhubapi.event.media.Media;
+import com.example.eventhubapi.event.media.dto.MediaDescriptor;
 import com.example.eventhubapi.event.media.dto.MediaDto;
+import com.example.eventhubapi.event.media.enums.MediaType;
+import com.example.eventhubapi.event.media.enums.MediaUsage;
+import com.example.eventhubapi.user.UserRepository;
+import com.example.eventhubapi.user.dto.ProfileSummary;
 import com.example.eventhubapi.user.mapper.UserMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * Service class for mapping media to DTOs.
+ * Lists of media projections are mapped in bulk: uploader summaries are fetched with one query for the whole list.
+ */
 @Service
 public class MediaMapper {
+    /** Longer-side size, in pixels, of the rendition linked as a gallery thumbnail. */
+    private static final int THUMBNAIL_SIZE = 128;
+
     private final UserMapper userMapper;
+    private final UserRepository userRepository;
 
-    public MediaMapper(UserMapper userMapper) {
+    public MediaMapper(UserMapper userMapper, UserRepository userRepository) {
         this.userMapper = userMapper;
+        this.userRepository = userRepository;
     }
 
     public MediaDto toDto(Media media) {
@@ -24,25 +46,71 @@ public class MediaMapper {
         dto.setMediaType(media.getMediaType().name());
         dto.setUsage(media.getUsage().name());
         dto.setUploadedAt(media.getUploadedAt());
+        dto.setSizeBytes(media.getSizeBytes());
 
         if (media.getUploader() != null) {
             dto.setUploader(userMapper.toUserSummary(media.getUploader()));
         }
 
-        dto.setDownloadUrl(buildDownloadUrl(media));
+        setUrls(dto, media.getId(), media.getUsage(), media.getMediaType());
+        return dto;
+    }
 
+    /**
+     * Maps a list of media projections to DTOs, preserving their order.
+     * @param media The media projections to map.
+     * @return The DTOs, in the same order as the projections.
+     */
+    public List<MediaDto> toDtos(List<MediaDescriptor> media) {
+        if (media.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        return dto;
+        Set<Long> uploaderIds = new LinkedHashSet<>();
+        for (MediaDescriptor descriptor : media) {
+            if (descriptor.getUploaderId() != null) {
+                uploaderIds.add(descriptor.getUploaderId());
+            }
+        }
+
+        Map<Long, UserSummary> uploaders = uploaderIds.isEmpty() ? Collections.emptyMap() : userRepository
+                .findProfileSummariesByIdIn(uploaderIds).stream()
+                .collect(Collectors.toMap(ProfileSummary::getUserId, userMapper::toUserSummary));
+
+        List<MediaDto> dtos = new ArrayList<>(media.size());
+        for (MediaDescriptor descriptor : media) {
+            MediaDto dto = new MediaDto();
+            dto.setId(descriptor.getId());
+            dto.setMediaType(descriptor.getMediaType().name());
+            dto.setUsage(descriptor.getUsage().name());
+            dto.setUploadedAt(descriptor.getUploadedAt());
+            dto.setSizeBytes(descriptor.getSizeBytes());
+            if (descriptor.getUploaderId() != null) {
+                dto.setUploader(uploaders.get(descriptor.getUploaderId()));
+            }
+            setUrls(dto, descriptor.getId(), descriptor.getUsage(), descriptor.getMediaType());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private void setUrls(MediaDto dto, Long id, MediaUsage usage, MediaType mediaType) {
+        dto.setDownloadUrl(buildDownloadUrl(id, usage));
+        if (dto.getDownloadUrl() != null && usage == MediaUsage.GALLERY && mediaType.getValue().startsWith("image/")) {
+            dto.setThumbnailUrl(UriComponentsBuilder.fromUriString(dto.getDownloadUrl())
+                    .queryParam("size", THUMBNAIL_SIZE)
+                    .toUriString());
+        }
     }
 
-    private String buildDownloadUrl(Media media) {
-        if (media.getId() == null) {
+    private String buildDownloadUrl(Long mediaId, MediaUsage usage) {
+        if (mediaId == null) {
             return null;
         }
 
         String basePath = "/api/media/";
-        String usagePath = media.getUsage().getValue(); // "gallery", "schedule", "logo"
-        String id = media.getId().toString();
+        String usagePath = usage.getValue(); // "gallery", "schedule", "logo"
+        String id = mediaId.toString();
 
         return ServletUriComponentsBuilder
                 .fromCurrentContextPath()
@@ -52,4 +120,4 @@ public class MediaMapper {
                 .path(id)
                 .toUriString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.example.eventhubapi.event.media.rendition;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A downscaled copy of an uploaded image, fitting within {@code maxSize} pixels on its longer side.
+ * Renditions are keyed by the content hash of the original, so identical uploads share them.
+ */
+@Entity
+@Table(name = "image_rendition")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImageRendition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "image_rendition_id")
+    private Long id;
+
+    @Column(name = "source_hash", nullable = false, length = 64)
+    private String sourceHash;
+
+    @Column(name = "max_size", nullable = false)
+    private int maxSize;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type", nullable = false, length = 50)
+    private String contentType;
+}
@@ -0,0 +1,35 @@
+package com.example.eventhubapi.event.media.rendition;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the ImageRendition entity.
+ */
+@Repository
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+
+    /**
+     * Finds the smallest rendition of an image that is at least the requested size.
+     */
+    Optional<ImageRendition> findFirstBySourceHashAndMaxSizeGreaterThanEqualOrderByMaxSizeAsc(String sourceHash, int maxSize);
+
+    boolean existsBySourceHash(String sourceHash);
+
+    /**
+     * Records a rendition unless one of that size already exists for the image, e.g. from a concurrent run.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO image_rendition (source_hash, max_size, content_hash, content_type) " +
+            "VALUES (:sourceHash, :maxSize, :contentHash, :contentType) " +
+            "ON CONFLICT (source_hash, max_size) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("sourceHash") String sourceHash, @Param("maxSize") int maxSize,
+                       @Param("contentHash") String contentHash, @Param("contentType") String contentType);
+}
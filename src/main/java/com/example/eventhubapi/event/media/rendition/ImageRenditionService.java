@@ -0,0 +1,232 @@
+package com.example.eventhubapi.event.media.rendition;
+
+import com.example.eventhubapi.event.media.storage.MediaStorage;
+import com.example.eventhubapi.event.media.storage.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates downscaled renditions of uploaded images in the background.
+ * <p>
+ * Uploads call {@link #requestRenditions(String, String)}; once the upload's transaction commits, the image is
+ * decoded with ImageIO on a bounded worker pool and one rendition per configured size is stored in the media
+ * storage. Images already smaller than a size get no rendition for it, and when the queue is full a request is
+ * dropped: in both cases downloads simply fall back to the original.
+ * <p>
+ * The dimensions are read from the image header before decoding. Images with more than
+ * {@code media.renditions.max-source-pixels} pixels are not decoded at all, and large ones are decoded with
+ * subsampling, to about twice the largest rendition size, so a small file declaring huge dimensions cannot
+ * exhaust the heap.
+ */
+@Service
+public class ImageRenditionService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageRenditionService.class);
+    private static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/png", "image/gif");
+
+    private final MediaStorage mediaStorage;
+    private final ImageRenditionRepository imageRenditionRepository;
+    private final List<Integer> sizes;
+    private final long maxSourcePixels;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructs an ImageRenditionService.
+     * @param mediaStorage The storage the originals are read from and the renditions written to.
+     * @param imageRenditionRepository The repository recording generated renditions.
+     * @param sizes The longer-side pixel sizes to generate.
+     * @param threads The number of worker threads.
+     * @param queueCapacity The maximum number of images waiting for a worker.
+     * @param maxSourcePixels The largest width times height of an original that is decoded.
+     */
+    public ImageRenditionService(MediaStorage mediaStorage,
+                                 ImageRenditionRepository imageRenditionRepository,
+                                 @Value("${media.renditions.sizes:128,512,1024}") List<Integer> sizes,
+                                 @Value("${media.renditions.threads:2}") int threads,
+                                 @Value("${media.renditions.queue-capacity:200}") int queueCapacity,
+                                 @Value("${media.renditions.max-source-pixels:64000000}") long maxSourcePixels) {
+        this.mediaStorage = mediaStorage;
+        this.imageRenditionRepository = imageRenditionRepository;
+        this.sizes = sizes.stream().sorted().toList();
+        this.maxSourcePixels = maxSourcePixels;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-rendition-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Schedules rendition generation for an uploaded image, after the current transaction commits.
+     * Content that is not a supported image type is ignored.
+     * @param sourceHash The content hash of the original.
+     * @param contentType The MIME type of the original.
+     */
+    public void requestRenditions(String sourceHash, String contentType) {
+        if (!SUPPORTED_TYPES.contains(contentType)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(sourceHash);
+                }
+            });
+        } else {
+            submit(sourceHash);
+        }
+    }
+
+    /**
+     * Finds the smallest generated rendition that is at least the requested size.
+     * @param sourceHash The content hash of the original.
+     * @param size The requested longer-side size in pixels.
+     * @return The rendition, or empty if none is ready and the original should be served.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ImageRendition> findRendition(String sourceHash, int size) {
+        return imageRenditionRepository.findFirstBySourceHashAndMaxSizeGreaterThanEqualOrderByMaxSizeAsc(sourceHash, size);
+    }
+
+    /**
+     * Generates and records every missing rendition of an image on the calling thread.
+     * @param sourceHash The content hash of the original.
+     * @throws IOException If the original cannot be read or a rendition cannot be stored.
+     */
+    public void generateRenditions(String sourceHash) throws IOException {
+        if (sizes.isEmpty() || imageRenditionRepository.existsBySourceHash(sourceHash)) {
+            return;
+        }
+        SourceImage source;
+        try (InputStream in = mediaStorage.load(sourceHash).getInputStream();
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            source = decode(sourceHash, imageIn);
+        }
+        if (source == null) {
+            return;
+        }
+        BufferedImage original = source.image();
+        boolean alpha = original.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpeg";
+        for (int size : sizes) {
+            if (source.longerSide() <= size) {
+                break;
+            }
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            ImageIO.write(scale(original, size, alpha), format, encoded);
+            StoredBlob blob = mediaStorage.store(new ByteArrayInputStream(encoded.toByteArray()));
+            imageRenditionRepository.insertIfAbsent(sourceHash, size, blob.getHash(), "image/" + format);
+        }
+    }
+
+    /**
+     * Decodes an image after checking its declared dimensions, subsampling sources much larger than needed.
+     * @return The decoded image, or null if it is not a decodable image or exceeds the pixel budget.
+     */
+    private SourceImage decode(String sourceHash, ImageInputStream imageIn) throws IOException {
+        Iterator<ImageReader> readers = imageIn == null ? null : ImageIO.getImageReaders(imageIn);
+        if (readers == null || !readers.hasNext()) {
+            log.debug("Content {} is not a decodable image; no renditions generated", sourceHash);
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(imageIn, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > maxSourcePixels) {
+                log.warn("Image {} is {}x{} pixels, over the limit of {}; no renditions generated",
+                        sourceHash, width, height, maxSourcePixels);
+                return null;
+            }
+            int longerSide = Math.max(width, height);
+            ImageReadParam param = reader.getDefaultReadParam();
+            int subsampling = Math.max(1, longerSide / (2 * sizes.get(sizes.size() - 1)));
+            if (subsampling > 1) {
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            }
+            return new SourceImage(reader.read(0, param), longerSide);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void submit(String sourceHash) {
+        try {
+            executor.execute(() -> {
+                try {
+                    generateRenditions(sourceHash);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not generate renditions for {}", sourceHash, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Rendition queue is full; {} will be served at its original size", sourceHash);
+        }
+    }
+
+    /**
+     * A decoded original, possibly subsampled, with the longer side of its full-size dimensions.
+     */
+    private record SourceImage(BufferedImage image, int longerSide) {
+    }
+
+    /**
+     * Downscales in steps of at most one half, which keeps bilinear filtering from skipping source pixels.
+     */
+    private static BufferedImage scale(BufferedImage source, int maxSize, boolean alpha) {
+        double ratio = (double) maxSize / Math.max(source.getWidth(), source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+}
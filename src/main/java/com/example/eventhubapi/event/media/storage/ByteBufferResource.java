@@ -0,0 +1,82 @@
+package com.example.eventhubapi.event.media.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only resource over a (typically direct) byte buffer, as handed out by {@link MediaContentCache}.
+ * Writers that can take a buffer should use {@link #getBuffer()}; {@link #getInputStream()} copies through the heap.
+ */
+public class ByteBufferResource extends AbstractResource {
+
+    private final String description;
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a ByteBufferResource.
+     * @param description A description of the content, such as its hash.
+     * @param buffer The content between its position and limit; it is not modified.
+     */
+    public ByteBufferResource(String description, ByteBuffer buffer) {
+        this.description = description;
+        this.buffer = buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return A new read-only view of the content, positioned at its start.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.duplicate();
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        ByteBuffer view = getBuffer();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return view.hasRemaining() ? view.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (length == 0) {
+                    return 0;
+                }
+                if (!view.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(length, view.remaining());
+                view.get(bytes, offset, count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return view.remaining();
+            }
+        };
+    }
+
+    @Override
+    public String getDescription() {
+        return "Cached media content [" + description + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof ByteBufferResource that && buffer.equals(that.buffer));
+    }
+
+    @Override
+    public int hashCode() {
+        return buffer.hashCode();
+    }
+}
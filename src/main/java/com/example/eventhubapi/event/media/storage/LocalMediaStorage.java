@@ -0,0 +1,132 @@
+package com.example.eventhubapi.event.media.storage;
+
+import com.example.eventhubapi.event.media.exception.MediaNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stores media content on the local filesystem as {@code <root>/<ab>/<cd>/<sha256>}.
+ * Uploads are copied to a temporary file in fixed-size chunks while being hashed, then renamed into place,
+ * so memory use does not depend on the upload size and readers never see a partial file.
+ * Re-storing existing content only refreshes its modification time.
+ */
+@Component
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalMediaStorage implements MediaStorage {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String TEMP_DIRECTORY = "tmp";
+
+    private final Path root;
+    private final Path tempDirectory;
+
+    /**
+     * Constructs a LocalMediaStorage.
+     * @param root The directory holding the stored content; created if missing.
+     * @throws IOException If the directories cannot be created.
+     */
+    public LocalMediaStorage(@Value("${media.storage.local.root:media-store}") Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tempDirectory = this.root.resolve(TEMP_DIRECTORY);
+        Files.createDirectories(tempDirectory);
+    }
+
+    @Override
+    public StoredBlob store(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+            if (Files.exists(target)) {
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+            }
+            return new StoredBlob(hash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource load(String hash) {
+        if (!exists(hash)) {
+            throw new MediaNotFoundException("Media content not found: " + hash);
+        }
+        return new FileSystemResource(pathOf(hash));
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return Files.isRegularFile(pathOf(hash));
+    }
+
+    @Override
+    public void delete(String hash) throws IOException {
+        Files.deleteIfExists(pathOf(hash));
+    }
+
+    @Override
+    public Stream<String> hashesStoredBefore(Instant cutoff) throws IOException {
+        return Files.find(root, 3, (path, attributes) -> attributes.isRegularFile()
+                        && HASH.matcher(path.getFileName().toString()).matches()
+                        && attributes.lastModifiedTime().toInstant().isBefore(cutoff))
+                .map(path -> path.getFileName().toString());
+    }
+
+    private Path pathOf(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 content hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // An identical upload finished first; its copy is the same content.
+            }
+        } catch (FileAlreadyExistsException ignored) {
+            // An identical upload finished first; its copy is the same content.
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
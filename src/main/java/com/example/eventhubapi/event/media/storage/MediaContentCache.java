@@ -0,0 +1,119 @@
+package com.example.eventhubapi.event.media.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A byte-bounded cache of hot media content held in direct buffers, outside the Java heap.
+ * <p>
+ * Entries are keyed by content hash, so they can never go stale: invalidation only frees memory early.
+ * Content larger than the per-entry limit is not cached and is served from the store as before.
+ * Eviction is Caffeine's frequency-aware LRU (W-TinyLFU), which keeps one-off downloads from flushing hot logos.
+ * The memory of an evicted entry is released when its buffer is garbage collected, so the JVM's
+ * {@code -XX:MaxDirectMemorySize} must leave room for the budget plus buffers still being written out.
+ */
+@Component
+public class MediaContentCache {
+
+    private final MediaStorage mediaStorage;
+    private final Cache<String, ByteBuffer> entries;
+    private final long maxEntryBytes;
+
+    /**
+     * Constructs a MediaContentCache and registers its metrics.
+     * @param mediaStorage The storage content is loaded from on a miss.
+     * @param meterRegistry The registry to publish hit, miss, eviction and size metrics to.
+     * @param maxBytes The total size of cached content, in bytes.
+     * @param maxEntryBytes The size of the largest content that is cached, in bytes.
+     */
+    public MediaContentCache(MediaStorage mediaStorage,
+                             MeterRegistry meterRegistry,
+                             @Value("${media.cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${media.cache.max-entry-bytes:2097152}") long maxEntryBytes) {
+        this.mediaStorage = mediaStorage;
+        this.maxEntryBytes = Math.min(maxEntryBytes, Integer.MAX_VALUE);
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String hash, ByteBuffer buffer) -> buffer.capacity())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "media.content");
+        Gauge.builder("media.content.cache.bytes", entries, cache -> cache.policy().eviction()
+                        .map(eviction -> (double) eviction.weightedSize().orElse(0))
+                        .orElse(0.0))
+                .description("Bytes of media content held in the off-heap cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens stored content, from the cache if it is small enough to be cached.
+     * @param hash The hash of the content.
+     * @return A {@link ByteBufferResource} for cached content, otherwise the store's resource.
+     * @throws com.example.eventhubapi.event.media.exception.MediaNotFoundException If no content is stored under the hash.
+     */
+    public Resource load(String hash) {
+        ByteBuffer cached = entries.get(hash, this::read);
+        if (cached == null) {
+            return mediaStorage.load(hash);
+        }
+        return new ByteBufferResource(hash, cached);
+    }
+
+    /**
+     * Drops content from the cache, e.g. after the media referring to it was deleted.
+     * @param hash The hash of the content.
+     */
+    public void evict(String hash) {
+        entries.invalidate(hash);
+    }
+
+    /**
+     * Copies content into a new direct buffer, or returns null if it is too large to cache.
+     */
+    private ByteBuffer read(String hash) {
+        Resource resource = mediaStorage.load(hash);
+        try {
+            long length = resource.contentLength();
+            if (length > maxEntryBytes) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) length);
+            if (resource.isFile()) {
+                try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                    fill(channel, buffer);
+                }
+            } else {
+                try (InputStream in = resource.getInputStream(); ReadableByteChannel channel = Channels.newChannel(in)) {
+                    fill(channel, buffer);
+                }
+            }
+            return buffer.flip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read media content " + hash, e);
+        }
+    }
+
+    private static void fill(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Media content ended early");
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.eventhubapi.event.media.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Backend holding the bytes of uploaded media, addressed by the SHA-256 hash of their content.
+ * Storing the same content twice yields the same hash and keeps a single copy.
+ */
+public interface MediaStorage {
+
+    /**
+     * Streams content into the store.
+     * @param content The content; it is read to the end and closed.
+     * @return The hash and size of the stored content.
+     * @throws IOException If the content cannot be read or written.
+     */
+    StoredBlob store(InputStream content) throws IOException;
+
+    /**
+     * Opens stored content.
+     * @param hash The lowercase hex SHA-256 hash returned by {@link #store(InputStream)}.
+     * @return A readable resource for the content.
+     * @throws com.example.eventhubapi.event.media.exception.MediaNotFoundException If no content is stored under the hash.
+     */
+    Resource load(String hash);
+
+    /**
+     * Checks whether content is stored under a hash.
+     * @param hash The hash of the content.
+     * @return True if the content is present.
+     */
+    boolean exists(String hash);
+
+    /**
+     * Removes stored content, if present.
+     * @param hash The hash of the content.
+     * @throws IOException If the content cannot be removed.
+     */
+    void delete(String hash) throws IOException;
+
+    /**
+     * Lists the content last stored before the given instant. The stream must be closed by the caller.
+     * @param cutoff Only content not stored or re-stored since this instant is listed.
+     * @return A stream of content hashes.
+     * @throws IOException If the store cannot be listed.
+     */
+    Stream<String> hashesStoredBefore(Instant cutoff) throws IOException;
+}
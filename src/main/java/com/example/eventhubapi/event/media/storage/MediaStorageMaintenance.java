@@ -0,0 +1,146 @@
+package com.example.eventhubapi.event.media.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * One-off and housekeeping tasks for the media store, run on startup when
+ * {@code media.storage.maintenance.enabled=true}.
+ * <ul>
+ *     <li>Moves content still held in the legacy {@code media.media_file} and {@code profile.profile_image} columns
+ *     into the {@link MediaStorage}, one row at a time and one transaction per chunk, then clears the column.</li>
+ *     <li>Removes stored content no media row, profile or rendition of a still referenced image refers to any more.
+ *     Content stored within the grace period is kept, so an upload whose row is not yet committed is never swept.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "media.storage.maintenance.enabled", havingValue = "true")
+public class MediaStorageMaintenance implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaStorageMaintenance.class);
+
+    private final MediaStorage mediaStorage;
+    private final MediaContentCache mediaContentCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration orphanGracePeriod;
+
+    /**
+     * Constructs a MediaStorageMaintenance.
+     * @param mediaStorage The store content is moved into and swept from.
+     * @param mediaContentCache The cache swept content is dropped from.
+     * @param jdbcTemplate The template used to read the legacy columns as streams and to find references.
+     * @param transactionTemplate The template demarcating one transaction per chunk.
+     * @param chunkSize The number of rows migrated per transaction.
+     * @param orphanGracePeriod How long unreferenced content is kept after it was last stored.
+     */
+    public MediaStorageMaintenance(MediaStorage mediaStorage,
+                                   MediaContentCache mediaContentCache,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${media.storage.maintenance.chunk-size:50}") int chunkSize,
+                                   @Value("${media.storage.maintenance.orphan-grace-period:PT24H}") Duration orphanGracePeriod) {
+        this.mediaStorage = mediaStorage;
+        this.mediaContentCache = mediaContentCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.orphanGracePeriod = orphanGracePeriod;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long migrated = migrateInlineContent();
+        long swept = sweepUnreferencedContent();
+        log.info("Media storage maintenance finished: {} rows migrated, {} unreferenced blobs removed", migrated, swept);
+    }
+
+    /**
+     * Moves every media row's and profile's legacy inline content into the store.
+     * @return The number of rows migrated.
+     */
+    public long migrateInlineContent() {
+        long media = migrateColumn("SELECT media_id FROM media WHERE content_hash IS NULL AND media_file IS NOT NULL ORDER BY media_id LIMIT ?",
+                "SELECT media_file FROM media WHERE media_id = ?",
+                (mediaId, blob) -> jdbcTemplate.update("UPDATE media SET content_hash = ?, size_bytes = ?, media_file = NULL WHERE media_id = ?",
+                        blob.getHash(), blob.getSize(), mediaId));
+        // The hash is only filled in where it is still missing: profile_image_hash.sql already set it to the hash
+        // of the legacy bytes, and a profile whose hash differs has a newer image that must not be replaced.
+        long profiles = migrateColumn("SELECT account_id FROM profile WHERE profile_image IS NOT NULL ORDER BY account_id LIMIT ?",
+                "SELECT profile_image FROM profile WHERE account_id = ?",
+                (accountId, blob) -> jdbcTemplate.update("UPDATE profile SET profile_image_hash = COALESCE(profile_image_hash, ?), profile_image = NULL WHERE account_id = ?",
+                        blob.getHash(), accountId));
+        return media + profiles;
+    }
+
+    /**
+     * Removes stored content that is older than the grace period and not referenced by any media row, profile
+     * or rendition of a still referenced image.
+     * @return The number of blobs removed.
+     * @throws IOException If the store cannot be listed or a blob cannot be removed.
+     */
+    public long sweepUnreferencedContent() throws IOException {
+        long swept = 0;
+        try (Stream<String> hashes = mediaStorage.hashesStoredBefore(Instant.now().minus(orphanGracePeriod))) {
+            for (String hash : (Iterable<String>) hashes::iterator) {
+                if (!isReferenced(hash)) {
+                    mediaStorage.delete(hash);
+                    mediaContentCache.evict(hash);
+                    swept++;
+                }
+            }
+        }
+        return swept;
+    }
+
+    private long migrateColumn(String selectChunk, String selectContent, BiConsumer<Long, StoredBlob> update) {
+        long migrated = 0;
+        List<Long> chunk;
+        do {
+            chunk = jdbcTemplate.queryForList(selectChunk, Long.class, chunkSize);
+            List<Long> ids = chunk;
+            transactionTemplate.executeWithoutResult(status -> ids.forEach(id -> migrateRow(id, selectContent, update)));
+            migrated += chunk.size();
+        } while (chunk.size() == chunkSize);
+        return migrated;
+    }
+
+    private void migrateRow(Long id, String selectContent, BiConsumer<Long, StoredBlob> update) {
+        StoredBlob blob = jdbcTemplate.query(selectContent, resultSet -> {
+            resultSet.next();
+            try (InputStream content = resultSet.getBinaryStream(1)) {
+                return mediaStorage.store(content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, id);
+        update.accept(id, blob);
+    }
+
+    private boolean isReferenced(String hash) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM media WHERE content_hash = ?) "
+                        + "OR EXISTS (SELECT 1 FROM profile WHERE profile_image_hash = ?) "
+                        + "OR EXISTS (SELECT 1 FROM image_rendition WHERE content_hash = ? "
+                        + "AND (EXISTS (SELECT 1 FROM media m WHERE m.content_hash = image_rendition.source_hash) "
+                        + "OR EXISTS (SELECT 1 FROM profile p WHERE p.profile_image_hash = image_rendition.source_hash)))",
+                Boolean.class, hash, hash, hash));
+    }
+}
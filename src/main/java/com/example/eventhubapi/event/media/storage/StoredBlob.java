@@ -0,0 +1,14 @@
+package com.example.eventhubapi.event.media.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The address and size of content held by a {@link MediaStorage}.
+ */
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+    private final String hash;
+    private final long size;
+}
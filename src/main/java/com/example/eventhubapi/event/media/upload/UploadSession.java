@@ -0,0 +1,53 @@
+package com.example.eventhubapi.event.media.upload;
+
+import com.example.eventhubapi.event.media.enums.MediaType;
+import com.example.eventhubapi.event.media.enums.MediaUsage;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A resumable upload in progress. The bytes received so far are spooled to disk by the
+ * {@link UploadSessionService}; the media row is only created once the upload is completed.
+ */
+@Entity
+@Table(name = "upload_session")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UploadSession {
+
+    @Id
+    @Column(name = "upload_session_id", length = 36)
+    private String id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long uploaderId;
+
+    @Column(nullable = false)
+    private MediaUsage usage;
+
+    @Column(name = "media_type", nullable = false)
+    private MediaType mediaType;
+
+    @Column(name = "total_bytes", nullable = false)
+    private long totalBytes;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "last_activity_at", nullable = false)
+    private Instant lastActivityAt;
+}
@@ -0,0 +1,36 @@
+package com.example.eventhubapi.event.media.upload;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the UploadSession entity.
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    /**
+     * Finds an upload session and locks its row until the end of the transaction, serializing chunk appends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findForUpdateById(@Param("id") String id);
+
+    /**
+     * Deletes the sessions that saw no activity since the cutoff.
+     * @return The number of sessions deleted.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM UploadSession s WHERE s.lastActivityAt < :cutoff")
+    int deleteInactiveSince(@Param("cutoff") Instant cutoff);
+}
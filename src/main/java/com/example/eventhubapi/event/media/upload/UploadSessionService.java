@@ -0,0 +1,342 @@
+package com.example.eventhubapi.event.media.upload;
+
+import com.example.eventhubapi.event.media.MediaService;
+import com.example.eventhubapi.event.media.dto.MediaDto;
+import com.example.eventhubapi.event.media.dto.UploadSessionCreateRequest;
+import com.example.eventhubapi.event.media.dto.UploadSessionDto;
+import com.example.eventhubapi.event.media.enums.MediaType;
+import com.example.eventhubapi.event.media.enums.MediaUsage;
+import com.example.eventhubapi.event.media.exception.InvalidUploadException;
+import com.example.eventhubapi.event.media.exception.UploadOffsetMismatchException;
+import com.example.eventhubapi.event.media.exception.UploadSessionNotFoundException;
+import com.example.eventhubapi.event.media.storage.MediaStorage;
+import com.example.eventhubapi.event.media.storage.StoredBlob;
+import com.example.eventhubapi.security.CurrentAccount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Resumable uploads: a client opens a session declaring the upload's size, sends the content in chunks at
+ * increasing offsets, and completes the session, which stores the content and creates the media row.
+ * <p>
+ * Each chunk is first written to its own file outside any transaction. It is then appended to the session's
+ * spool file while the session row is locked, and the received byte count is updated in the same transaction,
+ * so a chunk is either recorded in full or not at all and a retried chunk is rejected with the offset to resume from.
+ * Sessions without activity for the session TTL are deleted together with their spool files.
+ */
+@Service
+public class UploadSessionService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadSessionService.class);
+    private static final String SPOOL_SUFFIX = ".part";
+    private static final String CHUNK_SUFFIX = ".chunk";
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final MediaService mediaService;
+    private final MediaStorage mediaStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final Path spoolDirectory;
+    private final long maxBytes;
+    private final Duration sessionTtl;
+    private final ScheduledExecutorService purger;
+
+    /**
+     * Constructs an UploadSessionService and schedules the purge of abandoned sessions.
+     * @param uploadSessionRepository The repository for upload session data access.
+     * @param mediaService The service checking upload permissions and creating the media rows.
+     * @param mediaStorage The storage completed uploads are moved into.
+     * @param transactionTemplate The template demarcating the transaction of each chunk.
+     * @param spoolDirectory The directory holding the content of uploads in progress; created if missing.
+     * @param maxSize The largest upload accepted.
+     * @param sessionTtl How long a session is kept without activity.
+     * @param purgeInterval How often abandoned sessions are looked for.
+     * @throws IOException If the spool directory cannot be created.
+     */
+    public UploadSessionService(UploadSessionRepository uploadSessionRepository,
+                                MediaService mediaService,
+                                MediaStorage mediaStorage,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${media.uploads.spool-dir:media-uploads}") Path spoolDirectory,
+                                @Value("${media.uploads.max-size:4GB}") DataSize maxSize,
+                                @Value("${media.uploads.session-ttl:PT24H}") Duration sessionTtl,
+                                @Value("${media.uploads.purge-interval:PT1H}") Duration purgeInterval) throws IOException {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.mediaService = mediaService;
+        this.mediaStorage = mediaStorage;
+        this.transactionTemplate = transactionTemplate;
+        this.spoolDirectory = Files.createDirectories(spoolDirectory.toAbsolutePath().normalize());
+        this.maxBytes = maxSize.toBytes();
+        this.sessionTtl = sessionTtl;
+        this.purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-session-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeQuietly, purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens an upload session, subject to the same permissions as a single-shot upload of the same usage.
+     * @param eventId The ID of the event.
+     * @param request The usage, type and size of the upload.
+     * @param currentAccount The account making the request.
+     * @return A DTO of the new session.
+     */
+    @Transactional
+    public UploadSessionDto createSession(Long eventId, UploadSessionCreateRequest request, CurrentAccount currentAccount) {
+        MediaUsage usage;
+        MediaType mediaType;
+        try {
+            usage = MediaUsage.fromValue(request.getUsage());
+            mediaType = MediaType.fromValue(request.getMediaType());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidUploadException(e.getMessage());
+        }
+        if (request.getTotalBytes() > maxBytes) {
+            throw new InvalidUploadException("Uploads are limited to " + maxBytes + " bytes.");
+        }
+        mediaService.requireUploadPermission(eventId, usage, currentAccount);
+
+        Instant now = Instant.now();
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setEventId(eventId);
+        session.setUploaderId(currentAccount.getId());
+        session.setUsage(usage);
+        session.setMediaType(mediaType);
+        session.setTotalBytes(request.getTotalBytes());
+        session.setReceivedBytes(0);
+        session.setCreatedAt(now);
+        session.setLastActivityAt(now);
+        return toDto(uploadSessionRepository.save(session));
+    }
+
+    /**
+     * Retrieves the progress of an upload session.
+     * @param sessionId The ID of the session.
+     * @param currentAccount The account making the request.
+     * @return A DTO of the session.
+     */
+    @Transactional(readOnly = true)
+    public UploadSessionDto getSession(String sessionId, CurrentAccount currentAccount) {
+        return toDto(findOwnedSession(sessionId, currentAccount));
+    }
+
+    /**
+     * Appends a chunk to an upload.
+     * @param sessionId The ID of the session.
+     * @param offset The position of the chunk in the upload; must equal the number of bytes received so far.
+     * @param content The chunk; it is read to the end.
+     * @param currentAccount The account making the request.
+     * @return A DTO of the session, with the new number of bytes received.
+     * @throws IOException If the chunk cannot be read or spooled.
+     */
+    public UploadSessionDto appendChunk(String sessionId, long offset, InputStream content, CurrentAccount currentAccount) throws IOException {
+        UploadSession session = findOwnedSession(sessionId, currentAccount);
+        if (offset != session.getReceivedBytes()) {
+            throw new UploadOffsetMismatchException(session.getReceivedBytes());
+        }
+        long remaining = session.getTotalBytes() - offset;
+
+        Path chunk = Files.createTempFile(spoolDirectory, sessionId + ".", CHUNK_SUFFIX);
+        try {
+            long size;
+            try (OutputStream out = Files.newOutputStream(chunk)) {
+                // One byte more than fits is enough to reject the chunk without spooling an oversized body.
+                size = copyAtMost(content, out, remaining + 1);
+            }
+            if (size > remaining) {
+                throw new InvalidUploadException("The chunk extends past the declared upload size of " + session.getTotalBytes() + " bytes.");
+            }
+            return transactionTemplate.execute(status -> {
+                try {
+                    return commitChunk(sessionId, offset, chunk, size);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Files.deleteIfExists(chunk);
+        }
+    }
+
+    /**
+     * Completes an upload: stores its content and creates the media row in one transaction.
+     * Permissions are checked again, as the account's relationship to the event may have changed.
+     * @param sessionId The ID of the session.
+     * @param currentAccount The account making the request.
+     * @return A DTO of the created media.
+     * @throws IOException If the spooled content cannot be stored.
+     */
+    @Transactional
+    public MediaDto completeSession(String sessionId, CurrentAccount currentAccount) throws IOException {
+        UploadSession session = lockOwnedSession(sessionId, currentAccount);
+        if (session.getReceivedBytes() != session.getTotalBytes()) {
+            throw new InvalidUploadException("Only " + session.getReceivedBytes() + " of " + session.getTotalBytes() + " bytes have been received.");
+        }
+        mediaService.requireUploadPermission(session.getEventId(), session.getUsage(), currentAccount);
+
+        Path spool = spoolPath(sessionId);
+        StoredBlob blob;
+        try (InputStream content = Files.newInputStream(spool)) {
+            blob = mediaStorage.store(content);
+        }
+        MediaDto media = mediaService.createMedia(session.getEventId(), blob, session.getMediaType(), session.getUsage(), currentAccount);
+        uploadSessionRepository.delete(session);
+        deleteAfterCommit(spool);
+        return media;
+    }
+
+    /**
+     * Abandons an upload and discards the content received so far.
+     * @param sessionId The ID of the session.
+     * @param currentAccount The account making the request.
+     */
+    @Transactional
+    public void abortSession(String sessionId, CurrentAccount currentAccount) {
+        UploadSession session = lockOwnedSession(sessionId, currentAccount);
+        uploadSessionRepository.delete(session);
+        deleteAfterCommit(spoolPath(sessionId));
+    }
+
+    /**
+     * Deletes sessions without activity for the session TTL, then every spool or chunk file older than the TTL
+     * whose session no longer exists.
+     * @return The number of files removed.
+     * @throws IOException If the spool directory cannot be listed or a file cannot be removed.
+     */
+    public long purgeAbandonedSessions() throws IOException {
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        uploadSessionRepository.deleteInactiveSince(cutoff);
+        long removed = 0;
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                String sessionId = name.substring(0, Math.max(name.indexOf('.'), 0));
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && !uploadSessionRepository.existsById(sessionId)) {
+                    Files.deleteIfExists(file);
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void destroy() {
+        purger.shutdownNow();
+    }
+
+    private UploadSessionDto commitChunk(String sessionId, long offset, Path chunk, long size) throws IOException {
+        UploadSession session = uploadSessionRepository.findForUpdateById(sessionId)
+                .orElseThrow(() -> new UploadSessionNotFoundException("Upload session not found with id: " + sessionId));
+        if (session.getReceivedBytes() != offset) {
+            throw new UploadOffsetMismatchException(session.getReceivedBytes());
+        }
+        try (FileChannel spool = FileChannel.open(spoolPath(sessionId), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileChannel in = FileChannel.open(chunk, StandardOpenOption.READ)) {
+            if (spool.size() < offset) {
+                throw new IllegalStateException("The spooled content of upload " + sessionId + " is incomplete; start a new upload.");
+            }
+            // Drops bytes of an earlier append whose transaction did not commit.
+            spool.truncate(offset);
+            long written = 0;
+            while (written < size) {
+                written += spool.transferFrom(in, offset + written, size - written);
+            }
+            spool.force(false);
+        }
+        session.setReceivedBytes(offset + size);
+        session.setLastActivityAt(Instant.now());
+        return toDto(session);
+    }
+
+    private static long copyAtMost(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long copied = 0;
+        int read;
+        while (copied < limit && (read = in.read(buffer, 0, (int) Math.min(buffer.length, limit - copied))) != -1) {
+            out.write(buffer, 0, read);
+            copied += read;
+        }
+        return copied;
+    }
+
+    private UploadSession findOwnedSession(String sessionId, CurrentAccount currentAccount) {
+        return uploadSessionRepository.findById(sessionId)
+                .filter(session -> session.getUploaderId().equals(currentAccount.getId()))
+                .orElseThrow(() -> new UploadSessionNotFoundException("Upload session not found with id: " + sessionId));
+    }
+
+    private UploadSession lockOwnedSession(String sessionId, CurrentAccount currentAccount) {
+        return uploadSessionRepository.findForUpdateById(sessionId)
+                .filter(session -> session.getUploaderId().equals(currentAccount.getId()))
+                .orElseThrow(() -> new UploadSessionNotFoundException("Upload session not found with id: " + sessionId));
+    }
+
+    private Path spoolPath(String sessionId) {
+        return spoolDirectory.resolve(sessionId + SPOOL_SUFFIX);
+    }
+
+    private void deleteAfterCommit(Path file) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete upload spool file {}; it will be purged later", file, e);
+                }
+            }
+        });
+    }
+
+    private void purgeQuietly() {
+        try {
+            long removed = purgeAbandonedSessions();
+            if (removed > 0) {
+                log.info("Purged {} files of abandoned uploads", removed);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not purge abandoned uploads", e);
+        }
+    }
+
+    private UploadSessionDto toDto(UploadSession session) {
+        UploadSessionDto dto = new UploadSessionDto();
+        dto.setId(session.getId());
+        dto.setEventId(session.getEventId());
+        dto.setUsage(session.getUsage().name());
+        dto.setMediaType(session.getMediaType().name());
+        dto.setTotalBytes(session.getTotalBytes());
+        dto.setReceivedBytes(session.getReceivedBytes());
+        dto.setExpiresAt(session.getLastActivityAt().plus(sessionTtl));
+        return dto;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.eventhubapi.event.participant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory, per-event queue of pending joins.
+ * Each request enqueues its join and then tries to become the event's drainer; the thread that wins admits
+ * one batch of at most {@code event.admission.batch-size} joins in one transaction, while the other requests
+ * simply wait for their result. Under a burst of joins for one event this replaces one contended transaction
+ * per request with one transaction per batch.
+ * <p>
+ * A request thread never admits more than one batch. Joins still queued after it are handed to a small worker
+ * pool ({@code event.admission.threads}), which admits one batch per task and resubmits the event while joins
+ * remain, so a busy event neither holds a request nor starves the other events. If a batch fails, its joins
+ * are retried one by one, so a single failing join does not fail the others.
+ */
+@Component
+public class JoinAdmissionQueue implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JoinAdmissionQueue.class);
+
+    private final ParticipantAdmissionService admissionService;
+    private final int batchSize;
+    private final ExecutorService drainers;
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a JoinAdmissionQueue.
+     * @param admissionService The service that admits each batch in a transaction.
+     * @param batchSize The maximum number of joins admitted in one transaction.
+     * @param threads The number of worker threads admitting joins left over by request threads.
+     */
+    public JoinAdmissionQueue(ParticipantAdmissionService admissionService,
+                              @Value("${event.admission.batch-size:100}") int batchSize,
+                              @Value("${event.admission.threads:2}") int threads) {
+        this.admissionService = admissionService;
+        this.batchSize = batchSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.drainers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "join-admission-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Enqueues a join and drains the event's queue if no other thread is already doing so.
+     * @param eventId The ID of the event to join.
+     * @param userId The ID of the joining user.
+     * @return A future completed with the outcome once the join has been admitted.
+     */
+    public CompletableFuture<JoinOutcome> submit(Long eventId, Long userId) {
+        PendingJoin pending = new PendingJoin(userId, new CompletableFuture<>());
+        EventQueue queue = queues.computeIfAbsent(eventId, id -> new EventQueue());
+        queue.pending.add(pending);
+        drain(eventId, queue);
+        return pending.result;
+    }
+
+    /**
+     * Admits one batch if no other thread is draining the event, then hands any remaining joins to the workers.
+     */
+    private void drain(Long eventId, EventQueue queue) {
+        if (!queue.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<PendingJoin> batch = new ArrayList<>(batchSize);
+            PendingJoin next;
+            while (batch.size() < batchSize && (next = queue.pending.poll()) != null) {
+                batch.add(next);
+            }
+            admit(eventId, batch);
+        } finally {
+            queue.draining.set(false);
+        }
+        // Re-check after releasing the flag so a join enqueued during the batch is never stranded.
+        if (!queue.pending.isEmpty()) {
+            handOff(eventId, queue);
+        } else {
+            queues.computeIfPresent(eventId, (id, current) ->
+                    current.pending.isEmpty() && !current.draining.get() ? null : current);
+        }
+    }
+
+    private void handOff(Long eventId, EventQueue queue) {
+        try {
+            drainers.execute(() -> drain(eventId, queue));
+        } catch (RejectedExecutionException e) {
+            // Only happens while shutting down; nobody will wait for these joins any longer.
+            PendingJoin pending;
+            while ((pending = queue.pending.poll()) != null) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void admit(Long eventId, List<PendingJoin> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            complete(batch, admissionService.admit(eventId, batch.stream().map(PendingJoin::userId).toList()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            log.warn("Admitting a batch of {} joins to event {} failed, retrying them one by one", batch.size(), eventId, e);
+            for (PendingJoin pending : batch) {
+                try {
+                    complete(List.of(pending), admissionService.admit(eventId, List.of(pending.userId())));
+                } catch (RuntimeException single) {
+                    pending.result.completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private static void complete(List<PendingJoin> batch, Map<Long, JoinOutcome> outcomes) {
+        batch.forEach(pending -> pending.result.complete(outcomes.get(pending.userId())));
+    }
+
+    @Override
+    public void destroy() {
+        drainers.shutdownNow();
+    }
+
+    private record PendingJoin(Long userId, CompletableFuture<JoinOutcome> result) {
+    }
+
+    private static final class EventQueue {
+        private final Queue<PendingJoin> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventhubapi.event.participant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The result of admitting one pending join, as decided by {@link ParticipantAdmissionService}.
+ */
+@Getter
+@AllArgsConstructor
+public class JoinOutcome {
+
+    /**
+     * The possible outcomes of an admission.
+     */
+    public enum Type {
+        CONFIRMED,
+        WAITLISTED,
+        ALREADY_PARTICIPANT,
+        EVENT_NOT_FOUND
+    }
+
+    private final Type type;
+    private final Integer waitlistPosition;
+
+    public static JoinOutcome of(Type type) {
+        return new JoinOutcome(type, null);
+    }
+
+    public static JoinOutcome waitlisted(int position) {
+        return new JoinOutcome(Type.WAITLISTED, position);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.eventhubapi.event.participant;
+
+import com.example.eventhubapi.event.EventPermissionService;
+import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.event.calendar.EventCalendarService;
+import com.example.eventhubapi.event.dto.EventCapacity;
+import com.example.eventhubapi.event.exception.EventNotFoundException;
+import com.example.eventhubapi.event.participant.enums.EventRole;
+import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import com.example.eventhubapi.notification.NotificationService;
+import com.example.eventhubapi.user.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Service that assigns attending seats to batches of pending joins and manages the waitlist.
+ * Seats are handed out in arrival order; joins that do not fit are appended to the persisted waitlist,
+ * which is drained in order whenever seats become free.
+ */
+@Service
+public class ParticipantAdmissionService {
+
+    private static final int MAX_PROMOTIONS_PER_CALL = 500;
+
+    private final EventRepository eventRepository;
+    private final ParticipantRepository participantRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final EventPermissionService eventPermissionService;
+    private final EventCalendarService eventCalendarService;
+
+    /**
+     * Constructs a ParticipantAdmissionService with the necessary dependencies.
+     *
+     * @param eventRepository        The repository for event data access.
+     * @param participantRepository  The repository for participant data access.
+     * @param waitlistRepository     The repository for waitlist data access.
+     * @param userRepository         The repository for user data access.
+     * @param notificationService    The service used to tell users they were promoted from the waitlist.
+     * @param eventPermissionService The service whose cached event access is evicted for new participants.
+     * @param eventCalendarService   The service whose cached calendars are evicted for new participants.
+     */
+    public ParticipantAdmissionService(EventRepository eventRepository, ParticipantRepository participantRepository,
+                                       WaitlistRepository waitlistRepository, UserRepository userRepository,
+                                       NotificationService notificationService, EventPermissionService eventPermissionService,
+                                       EventCalendarService eventCalendarService) {
+        this.eventRepository = eventRepository;
+        this.participantRepository = participantRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.eventPermissionService = eventPermissionService;
+        this.eventCalendarService = eventCalendarService;
+    }
+
+    /**
+     * Admits a batch of pending joins to one event in a single transaction.
+     *
+     * @param eventId The ID of the event.
+     * @param userIds The IDs of the joining users, in arrival order.
+     * @return The outcome for each user ID.
+     */
+    @Transactional
+    public Map<Long, JoinOutcome> admit(Long eventId, List<Long> userIds) {
+        Map<Long, JoinOutcome> outcomes = new LinkedHashMap<>();
+        if (eventRepository.findCapacity(eventId).isEmpty()) {
+            userIds.forEach(userId -> outcomes.put(userId, JoinOutcome.of(JoinOutcome.Type.EVENT_NOT_FOUND)));
+            return outcomes;
+        }
+
+        // Users already waiting are ahead of this batch.
+        promoteWaitlisted(eventId);
+
+        Set<Long> existingParticipants = new HashSet<>(participantRepository.findUserIdsByEventIdAndUserIdIn(eventId, userIds));
+        List<Long> waitlist = waitlistRepository.findUserIdsByEventId(eventId);
+        Set<Long> waitlisted = new HashSet<>(waitlist);
+
+        List<Long> candidates = new ArrayList<>();
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            if (existingParticipants.contains(userId)) {
+                outcomes.put(userId, JoinOutcome.of(JoinOutcome.Type.ALREADY_PARTICIPANT));
+            } else if (!waitlisted.contains(userId)) {
+                candidates.add(userId);
+            }
+        }
+
+        int seats = reserveSeats(eventId, candidates.size());
+        for (Long userId : candidates.subList(0, seats)) {
+            if (insertAttending(eventId, userId)) {
+                outcomes.put(userId, JoinOutcome.of(JoinOutcome.Type.CONFIRMED));
+            } else {
+                outcomes.put(userId, JoinOutcome.of(JoinOutcome.Type.ALREADY_PARTICIPANT));
+            }
+        }
+
+        List<Long> overflow = candidates.subList(seats, candidates.size());
+        for (Long userId : overflow) {
+            if (waitlistRepository.insertIfAbsent(eventId, userId) == 1) {
+                waitlist.add(userId);
+            }
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < waitlist.size(); i++) {
+            positions.put(waitlist.get(i), i + 1);
+        }
+        for (Long userId : userIds) {
+            if (!outcomes.containsKey(userId)) {
+                outcomes.put(userId, JoinOutcome.waitlisted(positions.get(userId)));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Moves users from the head of an event's waitlist into free attending seats.
+     * Must be called after every change that can free a seat.
+     *
+     * @param eventId The ID of the event.
+     * @return The IDs of the promoted users.
+     */
+    @Transactional
+    public List<Long> promoteWaitlisted(Long eventId) {
+        int freeSeats = eventRepository.findCapacity(eventId).map(EventCapacity::getFreeSeats).orElse(0);
+        if (freeSeats == 0) {
+            return List.of();
+        }
+
+        List<Long> next = waitlistRepository.findUserIdsByEventId(eventId,
+                PageRequest.of(0, Math.min(freeSeats, MAX_PROMOTIONS_PER_CALL)));
+        if (next.isEmpty()) {
+            return List.of();
+        }
+
+        int seats = reserveSeats(eventId, next.size());
+        List<Long> promoted = new ArrayList<>(next.subList(0, seats));
+        promoted.removeIf(userId -> !insertAttending(eventId, userId));
+        waitlistRepository.deleteByEventIdAndUserIdIn(eventId, next.subList(0, seats));
+
+        notificationService.createAndSendNotifications(promoted.stream().map(userRepository::getReferenceById).toList(),
+                "A seat became available and you have been moved from the waitlist to the participants.", eventId);
+        return promoted;
+    }
+
+    /**
+     * Changes an event's participant limit and fills the seats a higher or removed limit adds from the waitlist.
+     *
+     * @param eventId         The ID of the event.
+     * @param maxParticipants The new limit, or null for no limit.
+     * @throws EventNotFoundException If the event does not exist.
+     * @throws IllegalStateException If more participants already attend than the new limit allows.
+     */
+    @Transactional
+    public void changeMaxParticipants(Long eventId, Long maxParticipants) {
+        EventCapacity capacity = eventRepository.findCapacity(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
+        Long previous = capacity.getMaxParticipants() == null ? null : capacity.getMaxParticipants().longValue();
+        if (Objects.equals(previous, maxParticipants)) {
+            return;
+        }
+        if (eventRepository.updateMaxParticipants(eventId, maxParticipants) == 0) {
+            throw new IllegalStateException("The participant limit cannot be lower than the number of attending participants.");
+        }
+        if (maxParticipants == null || (previous != null && maxParticipants > previous)) {
+            promoteWaitlisted(eventId);
+        }
+    }
+
+    /**
+     * Frees the attending seats of a user who is about to be deleted and fills them from the waitlists.
+     * Must be called in the deleting transaction, before the user's participant rows are removed.
+     *
+     * @param userId The ID of the user being deleted.
+     */
+    @Transactional
+    public void releaseSeatsOfDeletedUser(Long userId) {
+        List<Long> eventIds = participantRepository.findEventIdsByUserId(userId);
+        List<Long> attendedEventIds = participantRepository.findEventIdsByUserIdAndStatus(userId, ParticipantStatus.ATTENDING);
+        eventRepository.decrementAttendingCountsForUser(userId, ParticipantStatus.ATTENDING);
+        attendedEventIds.forEach(this::promoteWaitlisted);
+        eventIds.forEach(eventId -> eventPermissionService.evict(eventId, userId));
+        eventCalendarService.evictUser(userId);
+    }
+
+    /**
+     * Takes as many of the requested seats as the event has free.
+     *
+     * @return The number of seats taken.
+     */
+    private int reserveSeats(Long eventId, int requested) {
+        while (requested > 0) {
+            int seats = Math.min(requested,
+                    eventRepository.findCapacity(eventId).map(EventCapacity::getFreeSeats).orElse(0));
+            if (seats == 0 || eventRepository.addAttendingSeats(eventId, seats) == 1) {
+                return seats;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Inserts an attending participant for an already reserved seat, giving the seat back if the user
+     * turned out to be a participant already.
+     */
+    private boolean insertAttending(Long eventId, Long userId) {
+        int inserted = participantRepository.insertIfAbsent(eventId, userId,
+                ParticipantStatus.ATTENDING.getValue(), EventRole.PARTICIPANT.getValue());
+        if (inserted == 0) {
+            eventRepository.decrementAttendingCount(eventId);
+            return false;
+        }
+        eventPermissionService.evict(eventId, userId);
+        eventCalendarService.evictUser(userId);
+        return true;
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.eventhubapi.event.participant;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.event.participant.dto.JoinResultDto;
 import com.example.eventhubapi.event.participant.dto.ParticipantDto;
+import com.example.eventhubapi.security.CurrentAccount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
@@ -30,38 +32,40 @@ public class ParticipantController {
     /**
      * Allows an authenticated user to join an event.
      * @param eventId The ID of the event to join.
-     * @param authentication The authentication object of the current user.
-     * @return A ResponseEntity with the created ParticipantDto and HTTP status 201.
+     * @param currentAccount The account making the request.
+     * @return A ResponseEntity with the JoinResultDto and HTTP status 201 if a seat was taken,
+     *         or 202 if the user was waitlisted or the join is still queued.
      */
     @PostMapping
-    public ResponseEntity<ParticipantDto> joinEvent(@PathVariable Long eventId, Authentication authentication) {
-        ParticipantDto participant = participantService.joinEvent(eventId, authentication.getName());
-        return new ResponseEntity<>(participant, HttpStatus.CREATED);
+    public ResponseEntity<JoinResultDto> joinEvent(@PathVariable Long eventId, CurrentAccount currentAccount) {
+        JoinResultDto result = participantService.joinEvent(eventId, currentAccount.getId());
+        HttpStatus status = JoinResultDto.CONFIRMED.equals(result.getStatus()) ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+        return new ResponseEntity<>(result, status);
     }
 
     /**
      * Retrieves the participation status of the current user for an event.
      * @param eventId The ID of the event.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with a map containing the status.
      */
     @GetMapping("/me")
-    public ResponseEntity<Map<String, String>> getParticipantStatus(@PathVariable Long eventId, Authentication authentication) {
-        Map<String, String> status = participantService.getParticipantStatus(eventId, authentication.getName());
+    public ResponseEntity<Map<String, String>> getParticipantStatus(@PathVariable Long eventId, CurrentAccount currentAccount) {
+        Map<String, String> status = participantService.getParticipantStatus(eventId, currentAccount.getId());
         return ResponseEntity.ok(status);
     }
 
     /**
-     * Retrieves the participation status for a specific user in an event. (Admin/Organizer only)
+     * Retrieves the participation status for a specific user in an event. (Organizer, moderator or admin only)
      * @param eventId The ID of the event.
      * @param userId The ID of the user whose status is to be checked.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with a map containing the status.
      */
     @GetMapping("/{userId}")
-    @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
-    public ResponseEntity<Map<String, String>> getParticipantStatusForUser(@PathVariable Long eventId, @PathVariable Long userId, Authentication authentication) {
-        Map<String, String> status = participantService.getParticipantStatusForUser(eventId, userId, authentication.getName());
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, String>> getParticipantStatusForUser(@PathVariable Long eventId, @PathVariable Long userId, CurrentAccount currentAccount) {
+        Map<String, String> status = participantService.getParticipantStatusForUser(eventId, userId, currentAccount);
         return ResponseEntity.ok(status);
     }
 
@@ -77,35 +81,49 @@ public class ParticipantController {
         return ResponseEntity.ok(participants);
     }
 
+    /**
+     * Retrieves a slice of participants for an event after a cursor, ordered by user ID.
+     * Cursor mode, selected by the presence of the {@code after} parameter (empty for the first slice).
+     * @param eventId The ID of the event.
+     * @param after The cursor returned with the previous slice.
+     * @param size The slice size.
+     * @return A ResponseEntity with a slice of ParticipantDto objects.
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorSlice<ParticipantDto>> getParticipantsAfter(@PathVariable Long eventId, @RequestParam String after, @RequestParam(defaultValue = "20") int size) {
+        CursorSlice<ParticipantDto> participants = participantService.getParticipantsForEventAfter(eventId, after, size);
+        return ResponseEntity.ok(participants);
+    }
+
     /**
      * Allows an authenticated user to leave an event.
      * @param eventId The ID of the event to leave.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with no content.
      */
     @DeleteMapping("/me")
-    public ResponseEntity<Void> leaveEvent(@PathVariable Long eventId, Authentication authentication) {
-        participantService.leaveEvent(eventId, authentication.getName());
+    public ResponseEntity<Void> leaveEvent(@PathVariable Long eventId, CurrentAccount currentAccount) {
+        participantService.leaveEvent(eventId, currentAccount.getId());
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * Updates the status of a participant in an event. (Admin/Organizer only)
+     * Updates the status of a participant in an event. (Organizer, moderator or admin only)
      * @param eventId The ID of the event.
      * @param userId The ID of the participant to update.
      * @param payload A map containing the new status.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the updated ParticipantDto.
      */
     @PatchMapping("/{userId}/status")
-    @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ParticipantDto> updateParticipantStatus(
             @PathVariable Long eventId,
             @PathVariable Long userId,
             @RequestBody Map<String, String> payload,
-            Authentication authentication) {
+            CurrentAccount currentAccount) {
         String newStatus = payload.get("status");
-        ParticipantDto updatedParticipant = participantService.updateParticipantStatus(eventId, userId, newStatus, authentication.getName());
+        ParticipantDto updatedParticipant = participantService.updateParticipantStatus(eventId, userId, newStatus, currentAccount);
         return ResponseEntity.ok(updatedParticipant);
     }
 }
\ No newline at end of file
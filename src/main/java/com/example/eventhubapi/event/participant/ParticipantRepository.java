@@ -1,12 +1,22 @@
 package com.example.eventhubapi.event.participant;
 
+import com.example.eventhubapi.admin.dto.ParticipantExportRow;
 import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the Participant entity.
@@ -15,7 +25,43 @@ import java.util.Optional;
 public interface ParticipantRepository extends JpaRepository<Participant, Participant.ParticipantId> {
     Page<Participant> findByEventId(Long eventId, Pageable pageable);
 
+    List<Participant> findByEventIdAndUserIdGreaterThanOrderByUserIdAsc(Long eventId, Long afterUserId, Pageable limit);
+
     Optional<Participant> findByEventIdAndUserId(Long eventId, Long userId);
 
+    @Query("SELECT p FROM Participant p JOIN FETCH p.user u LEFT JOIN FETCH u.profile " +
+            "WHERE p.event.id = :eventId AND u.id = :userId")
+    Optional<Participant> findWithUserByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
     long countByEventIdAndStatus(Long eventId, ParticipantStatus status);
-}
\ No newline at end of file
+
+    @Query("SELECT p.user.id FROM Participant p WHERE p.event.id = :eventId AND p.user.id IN :userIds")
+    List<Long> findUserIdsByEventIdAndUserIdIn(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT p.event.id FROM Participant p WHERE p.user.id = :userId")
+    List<Long> findEventIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.event.id FROM Participant p WHERE p.user.id = :userId AND p.status = :status")
+    List<Long> findEventIdsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") ParticipantStatus status);
+
+    /**
+     * Inserts a participant row unless the user already participates in the event.
+     * Relies on the (account_id, event_id) primary key instead of a prior existence query.
+     *
+     * @return 1 if the row was inserted, 0 if the user was already a participant.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO participant (account_id, event_id, status, event_role) " +
+            "VALUES (:userId, :eventId, :status, :eventRole) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId, @Param("userId") Long userId,
+                       @Param("status") String status, @Param("eventRole") String eventRole);
+
+    /**
+     * Streams an export row for every participant of an event in user id order. The rows are fetched in
+     * batches as the stream is consumed, which must happen inside a transaction; close the stream when done.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.eventhubapi.admin.dto.ParticipantExportRow(u.id, u.login, pr.name, p.status, p.eventRole) " +
+            "FROM Participant p JOIN p.user u LEFT JOIN u.profile pr WHERE p.event.id = :eventId ORDER BY u.id")
+    Stream<ParticipantExportRow> streamExportRowsByEventId(@Param("eventId") Long eventId);
+}
@@ -1,24 +1,31 @@
 package com.example.eventhubapi.event.participant;
 
-import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.common.pagination.Keyset;
+import com.example.eventhubapi.event.EventPermissionService;
 import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.event.calendar.EventCalendarService;
 import com.example.eventhubapi.event.exception.EventNotFoundException;
+import com.example.eventhubapi.event.participant.dto.JoinResultDto;
 import com.example.eventhubapi.event.participant.dto.ParticipantDto;
 import com.example.eventhubapi.event.participant.enums.EventRole;
 import com.example.eventhubapi.event.participant.enums.ParticipantStatus;
 import com.example.eventhubapi.event.participant.exception.AlreadyParticipantException;
 import com.example.eventhubapi.event.participant.exception.NotParticipantException;
 import com.example.eventhubapi.event.participant.mapper.ParticipantMapper;
-import com.example.eventhubapi.user.User;
-import com.example.eventhubapi.user.UserRepository;
-import com.example.eventhubapi.user.exception.UserNotFoundException;
+import com.example.eventhubapi.security.CurrentAccount;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service class for handling participant-related business logic.
@@ -28,84 +35,109 @@ public class ParticipantService {
 
     private final ParticipantRepository participantRepository;
     private final EventRepository eventRepository;
-    private final UserRepository userRepository;
     private final ParticipantMapper participantMapper;
+    private final EventPermissionService eventPermissionService;
+    private final WaitlistRepository waitlistRepository;
+    private final ParticipantAdmissionService admissionService;
+    private final JoinAdmissionQueue admissionQueue;
+    private final EventCalendarService eventCalendarService;
+    private final long maxWaitMs;
 
     /**
      * Constructs a ParticipantService with the necessary dependencies.
      *
      * @param participantRepository The repository for participant data access.
      * @param eventRepository       The repository for event data access.
-     * @param userRepository        The repository for user data access.
      * @param participantMapper     The mapper for converting Participant entities to DTOs.
+     * @param eventPermissionService The service for event permission checks.
+     * @param waitlistRepository    The repository for waitlist data access.
+     * @param admissionService      The service that promotes waitlisted users into freed seats.
+     * @param admissionQueue        The per-event queue that admits joins in batches.
+     * @param eventCalendarService  The service detecting schedule conflicts and caching personal calendars.
+     * @param maxWaitMs             How long a join request waits for admission before answering "queued".
      */
-    public ParticipantService(ParticipantRepository participantRepository, EventRepository eventRepository, UserRepository userRepository, ParticipantMapper participantMapper) {
+    public ParticipantService(ParticipantRepository participantRepository, EventRepository eventRepository, ParticipantMapper participantMapper, EventPermissionService eventPermissionService,
+                              WaitlistRepository waitlistRepository, ParticipantAdmissionService admissionService, JoinAdmissionQueue admissionQueue,
+                              EventCalendarService eventCalendarService,
+                              @Value("${event.admission.max-wait-ms:3000}") long maxWaitMs) {
         this.participantRepository = participantRepository;
         this.eventRepository = eventRepository;
-        this.userRepository = userRepository;
         this.participantMapper = participantMapper;
-    }
-
-    private void authorizeOrganizerOrAdmin(Event event, User user) {
-        boolean isOrganizer = event.getOrganizer().getId().equals(user.getId());
-        boolean isAdmin = user.getAuthorities().stream()
-                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("admin"));
-        if (!isOrganizer && !isAdmin) {
-            throw new AccessDeniedException("You must be the event organizer or an admin to perform this action.");
-        }
+        this.eventPermissionService = eventPermissionService;
+        this.waitlistRepository = waitlistRepository;
+        this.admissionService = admissionService;
+        this.admissionQueue = admissionQueue;
+        this.eventCalendarService = eventCalendarService;
+        this.maxWaitMs = maxWaitMs;
     }
 
     /**
      * Allows a user to join an event.
+     * The join is handed to the event's admission queue, which admits concurrent joins in batches. The caller
+     * waits at most {@code event.admission.max-wait-ms} for the outcome; if the queue is busier than that,
+     * the join stays queued and its result can be read later through the participation status.
+     * No transaction or connection is held while waiting. A confirmed or waitlisted result lists the other events
+     * the user attends that overlap this one, as a warning; the join is not refused because of them.
      *
-     * @param eventId   The ID of the event to join.
-     * @param userLogin The login of the user joining.
-     * @return A ParticipantDto representing the new participant.
+     * @param eventId The ID of the event to join.
+     * @param userId  The ID of the user joining.
+     * @return A JoinResultDto describing whether the user got a seat, was waitlisted or is still queued.
      */
-    @Transactional
-    public ParticipantDto joinEvent(Long eventId, String userLogin) {
-        User user = findUserByLogin(userLogin);
-        Event event = findEventByIdWithPessimisticLock(eventId);
-
-        if (participantRepository.findByEventIdAndUserId(eventId, user.getId()).isPresent()) {
-            throw new AlreadyParticipantException("User is already a participant in this event.");
-        }
-
-        if (event.getMaxParticipants() != null) {
-            long attendingCount = participantRepository.countByEventIdAndStatus(eventId, ParticipantStatus.ATTENDING);
-            if (attendingCount >= event.getMaxParticipants()) {
-                throw new IllegalStateException("Event is full.");
+    public JoinResultDto joinEvent(Long eventId, Long userId) {
+        JoinOutcome outcome;
+        try {
+            outcome = admissionQueue.submit(eventId, userId).get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return JoinResultDto.queued();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return JoinResultDto.queued();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw new IllegalStateException("The join request could not be processed.", e.getCause());
         }
 
-        Participant participant = new Participant();
-        participant.setUser(user);
-        participant.setEvent(event);
-        participant.setEventRole(EventRole.PARTICIPANT);
-        participant.setStatus(ParticipantStatus.ATTENDING);
-        event.getParticipants().add(participant);
-
-        Participant savedParticipant = participantRepository.save(participant);
-        return participantMapper.toDto(savedParticipant);
+        return switch (outcome.getType()) {
+            case EVENT_NOT_FOUND -> throw new EventNotFoundException("Event not found with id: " + eventId);
+            case ALREADY_PARTICIPANT -> throw new AlreadyParticipantException("User is already a participant in this event.");
+            case WAITLISTED -> JoinResultDto.waitlisted(outcome.getWaitlistPosition(), eventCalendarService.findConflicts(userId, eventId));
+            case CONFIRMED -> JoinResultDto.confirmed(participantMapper.toDto(
+                    participantRepository.findWithUserByEventIdAndUserId(eventId, userId)
+                            .orElseThrow(() -> new NotParticipantException("User is not a participant in this event."))),
+                    eventCalendarService.findConflicts(userId, eventId));
+        };
     }
 
     /**
      * Allows a user to leave an event.
      *
-     * @param eventId   The ID of the event to leave.
-     * @param userLogin The login of the user leaving.
+     * @param eventId The ID of the event to leave.
+     * @param userId  The ID of the user leaving.
      */
     @Transactional
-    public void leaveEvent(Long eventId, String userLogin) {
-        User user = findUserByLogin(userLogin);
-        Participant participant = participantRepository.findByEventIdAndUserId(eventId, user.getId())
-                .orElseThrow(() -> new NotParticipantException("User is not a participant in this event."));
+    public void leaveEvent(Long eventId, Long userId) {
+        Participant participant = participantRepository.findByEventIdAndUserId(eventId, userId).orElse(null);
+        if (participant == null) {
+            if (waitlistRepository.deleteByEventIdAndUserIdIn(eventId, List.of(userId)) == 0) {
+                throw new NotParticipantException("User is not a participant in this event.");
+            }
+            return;
+        }
 
         if (participant.getEventRole() == EventRole.ORGANIZER) {
             throw new IllegalStateException("The organizer cannot leave the event.");
         }
 
+        boolean wasAttending = participant.getStatus() == ParticipantStatus.ATTENDING;
         participantRepository.delete(participant);
+        if (wasAttending) {
+            eventRepository.decrementAttendingCount(eventId);
+            admissionService.promoteWaitlisted(eventId);
+        }
+        eventPermissionService.evict(eventId, userId);
+        eventCalendarService.evictUser(userId);
     }
 
     /**
@@ -124,32 +156,48 @@ public class ParticipantService {
                 .map(participantMapper::toDto);
     }
 
+    /**
+     * Retrieves a slice of participants for a given event after a cursor, ordered by user ID.
+     *
+     * @param eventId The ID of the event.
+     * @param after   The cursor of the previous slice, or blank for the first slice.
+     * @param size    The slice size.
+     * @return A CursorSlice of ParticipantDto objects.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<ParticipantDto> getParticipantsForEventAfter(Long eventId, String after, int size) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException("Event not found with id: " + eventId);
+        }
+        Keyset keyset = Keyset.byId(after, size, Sort.Direction.ASC);
+        Long lastUserId = keyset.isFirst() ? 0L : keyset.getLastId();
+        List<Participant> participants = participantRepository.findByEventIdAndUserIdGreaterThanOrderByUserIdAsc(eventId, lastUserId, keyset.getLimit());
+        return keyset.slice(participants, participant -> participant.getUser().getId(), participantMapper::toDto);
+    }
+
     /**
      * Gets the participation status of the current user for an event.
      *
-     * @param eventId   The ID of the event.
-     * @param userLogin The login of the current user.
+     * @param eventId The ID of the event.
+     * @param userId  The ID of the current user.
      * @return A map containing the user's status.
      */
     @Transactional(readOnly = true)
-    public Map<String, String> getParticipantStatus(Long eventId, String userLogin) {
-        User user = findUserByLogin(userLogin);
-        return checkStatus(eventId, user.getId());
+    public Map<String, String> getParticipantStatus(Long eventId, Long userId) {
+        return checkStatus(eventId, userId);
     }
 
     /**
-     * Gets the participation status of a specific user for an event (organizer/admin only).
+     * Gets the participation status of a specific user for an event (organizer, moderator or admin only).
      *
      * @param eventId        The ID of the event.
      * @param userId         The ID of the user whose status to check.
-     * @param organizerLogin The login of the user making the request (must be organizer/admin).
+     * @param currentAccount The account making the request (must be organizer, moderator or admin).
      * @return A map containing the user's status.
      */
     @Transactional(readOnly = true)
-    public Map<String, String> getParticipantStatusForUser(Long eventId, Long userId, String organizerLogin) {
-        Event event = findEventById(eventId);
-        User organizer = findUserByLogin(organizerLogin);
-        authorizeOrganizerOrAdmin(event, organizer);
+    public Map<String, String> getParticipantStatusForUser(Long eventId, Long userId, CurrentAccount currentAccount) {
+        eventPermissionService.requireModerator(eventId, currentAccount, "You must be an organizer, moderator or admin of this event to perform this action.");
 
         return checkStatus(eventId, userId);
     }
@@ -157,47 +205,47 @@ public class ParticipantService {
     private Map<String, String> checkStatus(Long eventId, Long userId) {
         String status = participantRepository.findByEventIdAndUserId(eventId, userId)
                 .map(participant -> participant.getStatus().getValue())
-                .orElse("not_participant");
+                .orElseGet(() -> waitlistRepository.existsByEventIdAndUserId(eventId, userId) ? "waitlisted" : "not_participant");
 
         return Map.of("status", status);
     }
 
-    private User findUserByLogin(String login) {
-        return userRepository.findByLogin(login)
-                .orElseThrow(() -> new UserNotFoundException("User not found with login: " + login));
-    }
-
-    private Event findEventById(Long eventId) {
-        return eventRepository.findById(eventId)
-                .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
-    }
-
-    private Event findEventByIdWithPessimisticLock(Long eventId) {
-        return eventRepository.findByIdWithPessimisticLock(eventId)
-                .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + eventId));
+    private Participant findParticipant(Long eventId, Long userId) {
+        return participantRepository.findByEventIdAndUserId(eventId, userId)
+                .orElseThrow(() -> new NotParticipantException("User is not a participant in this event."));
     }
 
     /**
-     * Updates the status of a participant in an event (organizer/admin only).
+     * Updates the status of a participant in an event (organizer, moderator or admin only).
      *
      * @param eventId        The ID of the event.
      * @param userId         The ID of the participant to update.
      * @param newStatus      The new status for the participant.
-     * @param currentUserLogin The login of the user making the request.
+     * @param currentAccount The account making the request.
      * @return A ParticipantDto representing the updated participant.
      */
     @Transactional
-    public ParticipantDto updateParticipantStatus(Long eventId, Long userId, String newStatus, String currentUserLogin) {
-        User currentUser = findUserByLogin(currentUserLogin);
-        Event event = findEventById(eventId);
+    public ParticipantDto updateParticipantStatus(Long eventId, Long userId, String newStatus, CurrentAccount currentAccount) {
+        eventPermissionService.requireModerator(eventId, currentAccount, "You must be an organizer, moderator or admin of this event to perform this action.");
 
-        authorizeOrganizerOrAdmin(event, currentUser);
+        Participant participant = findParticipant(eventId, userId);
+        ParticipantStatus previousStatus = participant.getStatus();
+        ParticipantStatus status = ParticipantStatus.fromValue(newStatus);
 
-        Participant participant = participantRepository.findByEventIdAndUserId(eventId, userId)
-                .orElseThrow(() -> new NotParticipantException("User is not a participant in this event."));
+        participant.setStatus(status);
+        participantRepository.save(participant);
+
+        if (previousStatus != ParticipantStatus.ATTENDING && status == ParticipantStatus.ATTENDING) {
+            if (eventRepository.addAttendingSeats(eventId, 1) == 0) {
+                throw new IllegalStateException("Event is full.");
+            }
+        } else if (previousStatus == ParticipantStatus.ATTENDING && status != ParticipantStatus.ATTENDING) {
+            eventRepository.decrementAttendingCount(eventId);
+            admissionService.promoteWaitlisted(eventId);
+        }
 
-        participant.setStatus(ParticipantStatus.fromValue(newStatus));
-        Participant updatedParticipant = participantRepository.save(participant);
-        return participantMapper.toDto(updatedParticipant);
+        eventPermissionService.evict(eventId, userId);
+        eventCalendarService.evictUser(userId);
+        return participantMapper.toDto(findParticipant(eventId, userId));
     }
 }
\ No newline at end of file
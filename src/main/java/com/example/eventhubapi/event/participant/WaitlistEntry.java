@@ -0,0 +1,38 @@
+package com.example.eventhubapi.event.participant;
+
+import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.user.User;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Entity representing a user waiting for a seat in a full event.
+ * Entries are promoted in ascending ID order, which is the order the joins were admitted in.
+ */
+@Entity
+@Table(name = "waitlist_entry", uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "account_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "waitlist_entry_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private User user;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
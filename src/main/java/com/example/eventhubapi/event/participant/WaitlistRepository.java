@@ -0,0 +1,40 @@
+package com.example.eventhubapi.event.participant;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the WaitlistEntry entity.
+ */
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Query("SELECT w.user.id FROM WaitlistEntry w WHERE w.event.id = :eventId ORDER BY w.id")
+    List<Long> findUserIdsByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT w.user.id FROM WaitlistEntry w WHERE w.event.id = :eventId ORDER BY w.id")
+    List<Long> findUserIdsByEventId(@Param("eventId") Long eventId, Pageable pageable);
+
+    boolean existsByEventIdAndUserId(Long eventId, Long userId);
+
+    /**
+     * Appends a user to an event's waitlist unless they are already on it.
+     *
+     * @return 1 if the entry was added, 0 if the user was already waitlisted.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO waitlist_entry (event_id, account_id, created_at) " +
+            "VALUES (:eventId, :userId, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.user.id IN :userIds")
+    int deleteByEventIdAndUserIdIn(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,38 @@
+package com.example.eventhubapi.event.participant.dto;
+
+import com.example.eventhubapi.common.dto.EventSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO describing the result of a join request.
+ * The status is "confirmed" when a seat was taken, "waitlisted" when the event is full, and "queued"
+ * when the request was accepted but not yet admitted within the wait limit.
+ * Conflicts lists the other events the user attends that overlap the joined one.
+ */
+@Getter
+@AllArgsConstructor
+public class JoinResultDto {
+    public static final String CONFIRMED = "confirmed";
+    public static final String WAITLISTED = "waitlisted";
+    public static final String QUEUED = "queued";
+
+    private final String status;
+    private final ParticipantDto participant;
+    private final Integer waitlistPosition;
+    private final List<EventSummary> conflicts;
+
+    public static JoinResultDto confirmed(ParticipantDto participant, List<EventSummary> conflicts) {
+        return new JoinResultDto(CONFIRMED, participant, null, conflicts);
+    }
+
+    public static JoinResultDto waitlisted(Integer position, List<EventSummary> conflicts) {
+        return new JoinResultDto(WAITLISTED, null, position, conflicts);
+    }
+
+    public static JoinResultDto queued() {
+        return new JoinResultDto(QUEUED, null, null, List.of());
+    }
+}
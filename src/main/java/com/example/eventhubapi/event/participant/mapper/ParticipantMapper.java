@@ -1,17 +1,21 @@
 package com.example.eventhubapi.event.participant.mapper;
 
-import com.example.eventhubapi.common.dto.UserSummary;
 import com.example.eventhubapi.event.participant.Participant;
 import com.example.eventhubapi.event.participant.dto.ParticipantDto;
-import com.example.eventhubapi.user.User;
+import com.example.eventhubapi.user.mapper.UserMapper;
 import org.springframework.stereotype.Service;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * Service class responsible for mapping Participant entities to ParticipantDto objects.
  */
 @Service
 public class ParticipantMapper {
+    private final UserMapper userMapper;
+
+    public ParticipantMapper(UserMapper userMapper) {
+        this.userMapper = userMapper;
+    }
+
     public ParticipantDto toDto(Participant participant) {
         if (participant == null) return null;
 
@@ -19,18 +23,8 @@ public class ParticipantMapper {
         dto.setId(participant.getUser().getId());
         dto.setEventRole(participant.getEventRole().getValue());
         dto.setStatus(participant.getStatus().getValue());
-
-        User user = participant.getUser();
-        if (user != null) {
-            String userName = user.getProfile() != null ? user.getProfile().getName() : null;
-            String imageUrl = null;
-            if (user.getProfile() != null && user.getProfile().getProfileImage() != null) {
-                imageUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
-                        .path("/api/users/").path(String.valueOf(user.getId())).path("/profile-image").toUriString();
-            }
-            dto.setUser(new UserSummary(user.getId(), userName, imageUrl));
-        }
+        dto.setUser(userMapper.toUserSummary(participant.getUser()));
 
         return dto;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,287 @@
+package com.example.eventhubapi.event.search;
+
+import com.example.eventhubapi.event.dto.EventSearchDocument;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory inverted index over event names and descriptions.
+ * Terms are lower-cased and stripped of diacritics; each posting stores a field-weighted term frequency
+ * (a term in the name counts {@value #NAME_WEIGHT} times). Queries are ranked with BM25. Every query term
+ * must match, and the last one also matches as a prefix so results follow what the user is typing; the prefix
+ * expands to every term in the dictionary that starts with it, so no matching event is left out. The term
+ * dictionary is sorted, which also serves prefix expansion. Suggestions come from a second, sorted
+ * dictionary holding only the terms of public events, so they never reveal words of private ones. Thread-safe.
+ */
+public class EventSearchIndex {
+
+    static final int NAME_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // The number of public events containing each term.
+    private final NavigableMap<String, Integer> publicTerms = new TreeMap<>();
+    private final Map<Long, IndexedEvent> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    /**
+     * A filter applied to matching events before ranking.
+     * @param publicOnly Whether only public events match.
+     * @param startDate If set, only events starting on or after this instant match.
+     * @param endDate If set, only events ending on or before this instant match.
+     */
+    public record Filter(boolean publicOnly, Instant startDate, Instant endDate) {
+
+        boolean matches(IndexedEvent event) {
+            return (!publicOnly || event.isPublic())
+                    && (startDate == null || !event.startDate().isBefore(startDate))
+                    && (endDate == null || !event.endDate().isAfter(endDate));
+        }
+    }
+
+    /**
+     * One ranked hit.
+     * @param document The indexed event.
+     * @param score The BM25 score.
+     */
+    public record Hit(EventSearchDocument document, double score) {
+    }
+
+    private record IndexedEvent(EventSearchDocument document, Map<String, Integer> terms, int length) {
+
+        boolean isPublic() {
+            return document.isPublic();
+        }
+
+        Instant startDate() {
+            return document.getStartDate();
+        }
+
+        Instant endDate() {
+            return document.getEndDate();
+        }
+    }
+
+    /**
+     * Adds or replaces an event.
+     * @param document The event attributes.
+     * @return The previously indexed attributes, or null.
+     */
+    public EventSearchDocument put(EventSearchDocument document) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(document.getName()).forEach(term -> terms.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(document.getDescription()).forEach(term -> terms.merge(term, 1, Integer::sum));
+        int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            IndexedEvent previous = removeLocked(document.getId());
+            documents.put(document.getId(), new IndexedEvent(document, terms, length));
+            terms.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.getId(), frequency));
+            if (document.isPublic()) {
+                terms.keySet().forEach(term -> publicTerms.merge(term, 1, Integer::sum));
+            }
+            totalLength += length;
+            return previous == null ? null : previous.document();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an event.
+     * @param eventId The ID of the event.
+     * @return The previously indexed attributes, or null.
+     */
+    public EventSearchDocument remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            IndexedEvent previous = removeLocked(eventId);
+            return previous == null ? null : previous.document();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all events.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            publicTerms.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of indexed events.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the events matching every term of the query, best first.
+     * @param query The free-text query.
+     * @param filter The filter the events must pass.
+     * @return The ranked hits.
+     */
+    public List<Hit> search(String query, Filter filter) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                Map<Long, Double> termScores = scoreTerm(terms.get(i), last);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            scores.forEach((id, score) -> {
+                IndexedEvent event = documents.get(id);
+                if (filter.matches(event)) {
+                    hits.add(new Hit(event.document(), score));
+                }
+            });
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(hit -> hit.document().getStartDate()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests terms of public events starting with the given prefix, the ones in most events first.
+     * @param prefix The prefix typed so far.
+     * @param limit The maximum number of suggestions.
+     * @return The suggested terms.
+     */
+    public List<String> suggestPublic(String prefix, int limit) {
+        List<String> tokens = tokenize(prefix);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String normalized = tokens.get(tokens.size() - 1);
+
+        lock.readLock().lock();
+        try {
+            return publicTerms.subMap(normalized, true, normalized + Character.MAX_VALUE, false).entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into normalized terms.
+     * @param text The text, may be null.
+     * @return The terms in order of appearance.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace('ł', 'l');
+        List<String> terms = new ArrayList<>();
+        for (String term : NON_WORD.split(folded)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private Map<Long, Double> scoreTerm(String term, boolean prefix) {
+        Map<String, Map<Long, Integer>> matching;
+        if (prefix) {
+            matching = prefixRange(term);
+        } else if (postings.containsKey(term)) {
+            matching = Map.of(term, postings.get(term));
+        } else {
+            matching = Map.of();
+        }
+
+        int documentCount = documents.size();
+        double averageLength = documentCount == 0 ? 1 : Math.max(1, (double) totalLength / documentCount);
+        Map<Long, Double> scores = new HashMap<>();
+        matching.forEach((matchedTerm, termPostings) -> {
+            // Prefix expansions rank slightly below an exact match of the typed term.
+            double boost = matchedTerm.equals(term) ? 1.0 : 0.8;
+            double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            termPostings.forEach((id, frequency) -> {
+                double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                double score = boost * idf * frequency * (K1 + 1) / (frequency + norm);
+                scores.merge(id, score, Math::max);
+            });
+        });
+        return scores;
+    }
+
+    private NavigableMap<String, Map<Long, Integer>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private IndexedEvent removeLocked(Long eventId) {
+        IndexedEvent previous = documents.remove(eventId);
+        if (previous != null) {
+            previous.terms().keySet().forEach(term -> {
+                Map<Long, Integer> termPostings = postings.get(term);
+                termPostings.remove(eventId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+                if (previous.isPublic()) {
+                    publicTerms.computeIfPresent(term, (t, count) -> count == 1 ? null : count - 1);
+                }
+            });
+            totalLength -= previous.length();
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.eventhubapi.event.search;
+
+import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.event.EventIndexSynchronizer;
+import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.event.dto.EventSearchDocument;
+import com.example.eventhubapi.event.dto.EventSearchResult;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps the in-process {@link EventSearchIndex} in step with the event table and answers ranked searches.
+ * <p>
+ * The index is rebuilt from the database once the application is ready. Writers call {@link #index(Event)}
+ * or {@link #remove(Long)}, and the event is re-read into the index once their transaction commits
+ * (see {@link EventIndexSynchronizer}).
+ */
+@Service
+public class EventSearchService {
+
+    private final EventRepository eventRepository;
+    private final EventSearchIndex index = new EventSearchIndex();
+    private final EventIndexSynchronizer<EventSearchDocument> synchronizer;
+
+    /**
+     * Constructs an EventSearchService.
+     * @param eventRepository The repository the index is built from.
+     * @param transactionTemplate The template whose transaction manager is used to re-read committed events.
+     */
+    public EventSearchService(EventRepository eventRepository, TransactionTemplate transactionTemplate) {
+        this.eventRepository = eventRepository;
+        this.synchronizer = new EventIndexSynchronizer<>("search", transactionTemplate,
+                eventRepository::findSearchDocumentsByIdIn, EventSearchDocument::getId, index::put, index::remove);
+    }
+
+    /**
+     * Rebuilds the index from every stored event.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        index.clear();
+        synchronizer.rebuild(eventRepository::findSearchDocumentsAfter);
+    }
+
+    /**
+     * Re-indexes an event once the current transaction has committed its creation or update.
+     * @param event The saved event.
+     */
+    public void index(Event event) {
+        synchronizer.sync(event.getId());
+    }
+
+    /**
+     * Removes an event from the index once the current transaction has committed its deletion.
+     * @param eventId The ID of the deleted event.
+     */
+    public void remove(Long eventId) {
+        synchronizer.sync(eventId);
+    }
+
+    /**
+     * Searches public events by name and description, best match first.
+     * @param query The free-text query; its last word also matches as a prefix.
+     * @param startDate If set, only events starting on or after this instant are returned.
+     * @param endDate If set, only events ending on or before this instant are returned.
+     * @param pageable The page of ranked results to return; its sort is ignored.
+     * @return A Page of ranked results.
+     */
+    public Page<EventSearchResult> searchPublicEvents(String query, Instant startDate, Instant endDate, Pageable pageable) {
+        List<EventSearchIndex.Hit> hits = index.search(query, new EventSearchIndex.Filter(true, startDate, endDate));
+        List<EventSearchResult> content = hits.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(hit -> new EventSearchResult(hit.document().getId(), hit.document().getName(),
+                        hit.document().getStartDate(), hit.document().getEndDate(), hit.score()))
+                .toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    /**
+     * Suggests completions for a partially typed word, taken from public events only.
+     * @param prefix The text typed so far; only its last word is completed.
+     * @param limit The maximum number of suggestions.
+     * @return The suggested words, most common first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        return index.suggestPublic(prefix, limit);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.eventhubapi.invitation;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
 import com.example.eventhubapi.event.Event;
 import com.example.eventhubapi.invitation.enums.InvitationStatus;
 import com.example.eventhubapi.user.User;
@@ -21,7 +22,7 @@ import java.time.Instant;
 public class Invitation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("invitation_id_seq")
     @Column(name = "invitation_id")
     private Long id;
 
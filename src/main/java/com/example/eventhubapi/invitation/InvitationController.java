@@ -1,14 +1,15 @@
 package com.example.eventhubapi.invitation;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
 import com.example.eventhubapi.invitation.dto.InvitationCreateRequest;
 import com.example.eventhubapi.invitation.dto.InvitationDto;
+import com.example.eventhubapi.security.CurrentAccount;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -31,62 +32,76 @@ public class InvitationController {
     /**
      * Creates and sends an invitation to a user for an event. (Admin/Organizer only)
      * @param request The request body containing invitation details.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the created InvitationDto and HTTP status 201.
      */
     @PostMapping
     @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
-    public ResponseEntity<InvitationDto> createInvitation(@Valid @RequestBody InvitationCreateRequest request, Authentication authentication) {
-        InvitationDto createdInvitation = invitationService.createInvitation(request, authentication.getName());
+    public ResponseEntity<InvitationDto> createInvitation(@Valid @RequestBody InvitationCreateRequest request, CurrentAccount currentAccount) {
+        InvitationDto createdInvitation = invitationService.createInvitation(request, currentAccount);
         return new ResponseEntity<>(createdInvitation, HttpStatus.CREATED);
     }
 
     /**
      * Retrieves a paginated list of invitations received by the current user.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @param pageable Pagination and sorting information.
      * @return A ResponseEntity with a page of InvitationDto objects.
      */
     @GetMapping("/my")
-    public ResponseEntity<Page<InvitationDto>> getMyInvitations(Authentication authentication, Pageable pageable) {
-        Page<InvitationDto> invitations = invitationService.getInvitationsForUser(authentication.getName(), pageable);
+    public ResponseEntity<Page<InvitationDto>> getMyInvitations(CurrentAccount currentAccount, Pageable pageable) {
+        Page<InvitationDto> invitations = invitationService.getInvitationsForUser(currentAccount.getId(), pageable);
+        return ResponseEntity.ok(invitations);
+    }
+
+    /**
+     * Retrieves a slice of invitations received by the current user after a cursor, ordered by ID.
+     * Cursor mode, selected by the presence of the {@code after} parameter (empty for the first slice).
+     * @param currentAccount The account making the request.
+     * @param after The cursor returned with the previous slice.
+     * @param size The slice size.
+     * @return A ResponseEntity with a slice of InvitationDto objects.
+     */
+    @GetMapping(value = "/my", params = "after")
+    public ResponseEntity<CursorSlice<InvitationDto>> getMyInvitationsAfter(CurrentAccount currentAccount, @RequestParam String after, @RequestParam(defaultValue = "20") int size) {
+        CursorSlice<InvitationDto> invitations = invitationService.getInvitationsForUserAfter(currentAccount.getId(), after, size);
         return ResponseEntity.ok(invitations);
     }
 
     /**
      * Accepts an event invitation.
      * @param invitationId The ID of the invitation to accept.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the updated InvitationDto.
      */
     @PostMapping("/{invitationId}/accept")
-    public ResponseEntity<InvitationDto> acceptInvitation(@PathVariable Long invitationId, Authentication authentication) {
-        InvitationDto updatedInvitation = invitationService.acceptInvitation(invitationId, authentication.getName());
+    public ResponseEntity<InvitationDto> acceptInvitation(@PathVariable Long invitationId, CurrentAccount currentAccount) {
+        InvitationDto updatedInvitation = invitationService.acceptInvitation(invitationId, currentAccount.getId());
         return ResponseEntity.ok(updatedInvitation);
     }
 
     /**
      * Declines an event invitation.
      * @param invitationId The ID of the invitation to decline.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the updated InvitationDto.
      */
     @PostMapping("/{invitationId}/decline")
-    public ResponseEntity<InvitationDto> declineInvitation(@PathVariable Long invitationId, Authentication authentication) {
-        InvitationDto updatedInvitation = invitationService.declineInvitation(invitationId, authentication.getName());
+    public ResponseEntity<InvitationDto> declineInvitation(@PathVariable Long invitationId, CurrentAccount currentAccount) {
+        InvitationDto updatedInvitation = invitationService.declineInvitation(invitationId, currentAccount.getId());
         return ResponseEntity.ok(updatedInvitation);
     }
 
     /**
      * Revokes a sent event invitation. (Admin/Organizer only)
      * @param invitationId The ID of the invitation to revoke.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the updated InvitationDto.
      */
     @PostMapping("/{invitationId}/revoke")
     @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
-    public ResponseEntity<InvitationDto> revokeInvitation(@PathVariable Long invitationId, Authentication authentication) {
-        InvitationDto revokedInvitation = invitationService.revokeInvitation(invitationId, authentication.getName());
+    public ResponseEntity<InvitationDto> revokeInvitation(@PathVariable Long invitationId, CurrentAccount currentAccount) {
+        InvitationDto revokedInvitation = invitationService.revokeInvitation(invitationId, currentAccount);
         return ResponseEntity.ok(revokedInvitation);
     }
 }
\ No newline at end of file
@@ -20,6 +20,15 @@ public interface InvitationRepository extends JpaRepository<Invitation, Long> {
      */
     Page<Invitation> findByInvitedUserId(Long userId, Pageable pageable);
 
+    /**
+     * Finds the invitations sent to a user with an ID greater than the given one, in ID order.
+     * @param userId The ID of the invited user.
+     * @param afterId The ID of the last invitation already returned.
+     * @param limit The maximum number of invitations to return.
+     * @return A list of invitations.
+     */
+    List<Invitation> findByInvitedUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Pageable limit);
+
     /**
      * Checks if an invitation with a specific status exists for a given event and user.
      * @param eventId The ID of the event.
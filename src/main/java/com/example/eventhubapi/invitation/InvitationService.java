@@ -1,6 +1,9 @@
 package com.example.eventhubapi.invitation;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.common.pagination.Keyset;
 import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.event.EventPermissionService;
 import com.example.eventhubapi.event.EventRepository;
 import com.example.eventhubapi.event.exception.EventNotFoundException;
 import com.example.eventhubapi.invitation.dto.InvitationCreateRequest;
@@ -9,16 +12,19 @@ import com.example.eventhubapi.invitation.enums.InvitationStatus;
 import com.example.eventhubapi.invitation.exception.InvitationNotFoundException;
 import com.example.eventhubapi.invitation.mapper.InvitationMapper;
 import com.example.eventhubapi.notification.NotificationService;
+import com.example.eventhubapi.security.CurrentAccount;
 import com.example.eventhubapi.user.User;
 import com.example.eventhubapi.user.UserRepository;
 import com.example.eventhubapi.user.exception.UserNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Service class for handling invitation-related business logic.
@@ -31,6 +37,7 @@ public class InvitationService {
     private final EventRepository eventRepository;
     private final InvitationMapper invitationMapper;
     private final NotificationService notificationService;
+    private final EventPermissionService eventPermissionService;
 
     /**
      * Constructs an InvitationService with the necessary dependencies.
@@ -39,40 +46,32 @@ public class InvitationService {
      * @param eventRepository The repository for event data access.
      * @param invitationMapper The mapper for converting Invitation entities to DTOs.
      * @param notificationService The service for handling notifications.
+     * @param eventPermissionService The service for event permission checks.
      */
-    public InvitationService(InvitationRepository invitationRepository, UserRepository userRepository, EventRepository eventRepository, InvitationMapper invitationMapper, NotificationService notificationService) {
+    public InvitationService(InvitationRepository invitationRepository, UserRepository userRepository, EventRepository eventRepository, InvitationMapper invitationMapper, NotificationService notificationService, EventPermissionService eventPermissionService) {
         this.invitationRepository = invitationRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.invitationMapper = invitationMapper;
         this.notificationService = notificationService;
-    }
-
-    private void authorizeOrganizerOrAdmin(Event event, User user) {
-        boolean isOrganizer = event.getOrganizer().getId().equals(user.getId());
-        boolean isAdmin = user.getAuthorities().stream()
-                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("admin"));
-        if (!isOrganizer && !isAdmin) {
-            throw new AccessDeniedException("You must be the event organizer or an admin to perform this action.");
-        }
+        this.eventPermissionService = eventPermissionService;
     }
 
     /**
      * Creates and sends an invitation to a user for an event.
      * @param request The request DTO containing invitation details.
-     * @param invitingUserLogin The login of the user sending the invitation.
+     * @param currentAccount The account sending the invitation.
      * @return An InvitationDto representing the created invitation.
      */
     @Transactional
-    public InvitationDto createInvitation(InvitationCreateRequest request, String invitingUserLogin) {
-        User invitingUser = findUserByLogin(invitingUserLogin);
+    public InvitationDto createInvitation(InvitationCreateRequest request, CurrentAccount currentAccount) {
+        eventPermissionService.requireOrganizerOrAdmin(request.getEventId(), currentAccount,
+                "You must be the event organizer or an admin to perform this action.");
         User invitedUser = userRepository.findById(request.getInvitedUserId())
                 .orElseThrow(() -> new UserNotFoundException("Invited user not found with id: " + request.getInvitedUserId()));
         Event event = eventRepository.findById(request.getEventId())
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + request.getEventId()));
 
-        authorizeOrganizerOrAdmin(event, invitingUser);
-
         if (invitationRepository.existsByEventIdAndInvitedUserIdAndStatus(event.getId(), invitedUser.getId(), InvitationStatus.SENT)) {
             throw new IllegalStateException("An active invitation for this user to this event already exists.");
         }
@@ -94,15 +93,15 @@ public class InvitationService {
     /**
      * Revokes a sent invitation.
      * @param invitationId The ID of the invitation to revoke.
-     * @param userLogin The login of the user revoking the invitation.
+     * @param currentAccount The account revoking the invitation.
      * @return An InvitationDto representing the revoked invitation.
      */
     @Transactional
-    public InvitationDto revokeInvitation(Long invitationId, String userLogin) {
-        User user = findUserByLogin(userLogin);
+    public InvitationDto revokeInvitation(Long invitationId, CurrentAccount currentAccount) {
         Invitation invitation = findInvitationById(invitationId);
 
-        authorizeOrganizerOrAdmin(invitation.getEvent(), user);
+        eventPermissionService.requireOrganizerOrAdmin(invitation.getEvent().getId(), currentAccount,
+                "You must be the event organizer or an admin to perform this action.");
 
         if(invitation.getStatus() != InvitationStatus.SENT) {
             throw new IllegalStateException("Only sent invitations can be revoked.");
@@ -117,28 +116,41 @@ public class InvitationService {
 
     /**
      * Retrieves a paginated list of invitations for a specific user.
-     * @param userLogin The login of the user.
+     * @param userId The ID of the user.
      * @param pageable Pagination and sorting information.
      * @return A Page of InvitationDto objects.
      */
     @Transactional(readOnly = true)
-    public Page<InvitationDto> getInvitationsForUser(String userLogin, Pageable pageable) {
-        User user = findUserByLogin(userLogin);
-        return invitationRepository.findByInvitedUserId(user.getId(), pageable)
+    public Page<InvitationDto> getInvitationsForUser(Long userId, Pageable pageable) {
+        return invitationRepository.findByInvitedUserId(userId, pageable)
                 .map(invitationMapper::toDto);
     }
 
+    /**
+     * Retrieves a slice of invitations for the given user after a cursor, ordered by ID.
+     * @param userId The ID of the user.
+     * @param after The cursor of the previous slice, or blank for the first slice.
+     * @param size The slice size.
+     * @return A CursorSlice of InvitationDto objects.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<InvitationDto> getInvitationsForUserAfter(Long userId, String after, int size) {
+        Keyset keyset = Keyset.byId(after, size, Sort.Direction.ASC);
+        Long lastId = keyset.isFirst() ? 0L : keyset.getLastId();
+        List<Invitation> invitations = invitationRepository.findByInvitedUserIdAndIdGreaterThanOrderByIdAsc(userId, lastId, keyset.getLimit());
+        return keyset.slice(invitations, Invitation::getId, invitationMapper::toDto);
+    }
+
     /**
      * Accepts an invitation.
      * @param invitationId The ID of the invitation to accept.
-     * @param userLogin The login of the user accepting the invitation.
+     * @param userId The ID of the user accepting the invitation.
      * @return An InvitationDto representing the accepted invitation.
      */
     @Transactional
-    public InvitationDto acceptInvitation(Long invitationId, String userLogin) {
+    public InvitationDto acceptInvitation(Long invitationId, Long userId) {
         Invitation invitation = findInvitationById(invitationId);
-        User user = findUserByLogin(userLogin);
-        validateUserIsInvited(invitation, user);
+        validateUserIsInvited(invitation, userId);
 
         invitation.setStatus(InvitationStatus.ACCEPTED);
         invitation.setRespondedAt(Instant.now());
@@ -150,14 +162,13 @@ public class InvitationService {
     /**
      * Declines an invitation.
      * @param invitationId The ID of the invitation to decline.
-     * @param userLogin The login of the user declining the invitation.
+     * @param userId The ID of the user declining the invitation.
      * @return An InvitationDto representing the declined invitation.
      */
     @Transactional
-    public InvitationDto declineInvitation(Long invitationId, String userLogin) {
+    public InvitationDto declineInvitation(Long invitationId, Long userId) {
         Invitation invitation = findInvitationById(invitationId);
-        User user = findUserByLogin(userLogin);
-        validateUserIsInvited(invitation, user);
+        validateUserIsInvited(invitation, userId);
 
         invitation.setStatus(InvitationStatus.DECLINED);
         invitation.setRespondedAt(Instant.now());
@@ -166,18 +177,13 @@ public class InvitationService {
         return invitationMapper.toDto(savedInvitation);
     }
 
-    private User findUserByLogin(String login) {
-        return userRepository.findByLogin(login)
-                .orElseThrow(() -> new UserNotFoundException("User not found with login: " + login));
-    }
-
     private Invitation findInvitationById(Long invitationId) {
         return invitationRepository.findById(invitationId)
                 .orElseThrow(() -> new InvitationNotFoundException("Invitation not found with id: " + invitationId));
     }
 
-    private void validateUserIsInvited(Invitation invitation, User user) {
-        if (!invitation.getInvitedUser().getId().equals(user.getId())) {
+    private void validateUserIsInvited(Invitation invitation, Long userId) {
+        if (!invitation.getInvitedUser().getId().equals(userId)) {
             throw new AccessDeniedException("You are not authorized to respond to this invitation.");
         }
     }
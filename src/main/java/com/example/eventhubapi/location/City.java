@@ -1,5 +1,6 @@
 package com.example.eventhubapi.location;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,7 +17,7 @@ import java.util.Set;
 @NoArgsConstructor
 public class City {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("city_id_seq")
     @Column(name = "city_id")
     private Long id;
 
@@ -1,5 +1,6 @@
 package com.example.eventhubapi.location;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,7 +17,7 @@ import lombok.Setter;
 public class Location {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("location_id_seq")
     @Column(name = "location_id")
     private Long id;
 
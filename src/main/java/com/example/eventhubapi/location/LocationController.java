@@ -1,5 +1,6 @@
 package com.example.eventhubapi.location;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
 import com.example.eventhubapi.location.dto.LocationCreationRequest;
 import com.example.eventhubapi.location.dto.LocationDto;
 import jakarta.validation.Valid;
@@ -9,6 +10,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 /**
  * REST controller for managing locations.
@@ -60,6 +62,32 @@ public class LocationController {
         return ResponseEntity.ok(locations);
     }
 
+    /**
+     * Retrieves a slice of locations after a cursor, with the same optional filters.
+     * Cursor mode, selected by the presence of the {@code after} parameter (empty for the first slice).
+     * @param after The cursor returned with the previous slice.
+     * @param size The slice size.
+     * @param sort The sort order; only id is supported.
+     * @param streetName Optional filter for street name.
+     * @param city Optional filter for city.
+     * @param region Optional filter for region.
+     * @param countryIsoCode Optional filter for country ISO code.
+     * @return A ResponseEntity with a slice of LocationDto objects.
+     */
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
+    public ResponseEntity<CursorSlice<LocationDto>> getAllLocationsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort,
+            @RequestParam(required = false) String streetName,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String countryIsoCode) {
+        CursorSlice<LocationDto> locations = locationService.getAllLocationsAfter(after, size, sort, streetName, city, region, countryIsoCode);
+        return ResponseEntity.ok(locations);
+    }
+
     /**
      * Retrieves a single location by its ID.
      * @param locationId The ID of the location to retrieve.
@@ -1,12 +1,25 @@
 package com.example.eventhubapi.location;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Spring Data JPA repository for the Location entity, enabling dynamic query creation.
  */
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Long>, JpaSpecificationExecutor<Location> {
-}
\ No newline at end of file
+
+    /**
+     * Loads a batch of locations together with their coordinates in one query.
+     *
+     * @param ids The IDs of the locations.
+     * @return The existing locations among the IDs.
+     */
+    @EntityGraph(attributePaths = "mapLocation")
+    List<Location> findByIdIn(Collection<Long> ids);
+}
@@ -1,5 +1,7 @@
 package com.example.eventhubapi.location;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.common.pagination.Keyset;
 import com.example.eventhubapi.location.dto.LocationCreationRequest;
 import com.example.eventhubapi.location.dto.LocationDto;
 import com.example.eventhubapi.location.exception.LocationNotFoundException;
@@ -8,11 +10,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Join;
 
@@ -22,6 +26,8 @@ import jakarta.persistence.criteria.Join;
 @Service
 public class LocationService {
 
+    private static final Set<String> LOCATION_CURSOR_PROPERTIES = Set.of();
+
     private final LocationRepository locationRepository;
     private final CountryRepository countryRepository;
     private final RegionRepository regionRepository;
@@ -60,6 +66,21 @@ public class LocationService {
      */
     @Transactional
     public LocationDto createLocation(LocationCreationRequest request) {
+        Location location = locationMapper.toEntity(request);
+        location.setPostalCode(resolvePostalCode(request));
+
+        Location savedLocation = locationRepository.save(location);
+        return locationMapper.toDto(savedLocation);
+    }
+
+    /**
+     * Finds or creates the Country, Region, City and PostalCode of an address and links the
+     * postal code to the city, without creating the location itself.
+     * @param request The request DTO containing the address.
+     * @return The PostalCode of the address.
+     */
+    @Transactional
+    public PostalCode resolvePostalCode(LocationCreationRequest request) {
         Country country = countryRepository.findByIsoCode(request.getCountryIsoCode())
                 .orElseGet(() -> {
                     Country newCountry = new Country();
@@ -97,12 +118,7 @@ public class LocationService {
             city.getPostalCodes().add(postalCode);
             cityRepository.save(city);
         }
-
-        Location location = locationMapper.toEntity(request);
-        location.setPostalCode(postalCode);
-
-        Location savedLocation = locationRepository.save(location);
-        return locationMapper.toDto(savedLocation);
+        return postalCode;
     }
 
     /**
@@ -121,7 +137,32 @@ public class LocationService {
             String city,
             String region,
             String countryIsoCode) {
-        Specification<Location> spec = (root, query, criteriaBuilder) -> {
+        return locationRepository.findAll(locationsSpecification(streetName, city, region, countryIsoCode), pageable)
+                .map(locationMapper::toDto);
+    }
+
+    /**
+     * Retrieves a slice of locations after a cursor, with the same optional filters.
+     * Uses keyset pagination and does not count the matching rows.
+     * @param after The cursor of the previous slice, or blank for the first slice.
+     * @param size The slice size.
+     * @param sort The sort order; only id is supported, as the other location attributes are nullable.
+     * @param streetName Optional filter for street name.
+     * @param city Optional filter for city.
+     * @param region Optional filter for region.
+     * @param countryIsoCode Optional filter for country ISO code.
+     * @return A CursorSlice of LocationDto objects.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<LocationDto> getAllLocationsAfter(String after, int size, Sort sort, String streetName, String city, String region, String countryIsoCode) {
+        Keyset keyset = Keyset.of(after, size, sort, LOCATION_CURSOR_PROPERTIES);
+        Specification<Location> spec = locationsSpecification(streetName, city, region, countryIsoCode).and(keyset.seek());
+        List<Location> rows = locationRepository.findBy(spec, query -> query.sortBy(keyset.getSort()).limit(keyset.getFetchSize()).all());
+        return keyset.slice(rows, Location::getId, locationMapper::toDto);
+    }
+
+    private Specification<Location> locationsSpecification(String streetName, String city, String region, String countryIsoCode) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             Join<Location, PostalCode> postalCodeJoin = root.join("postalCode");
@@ -146,9 +187,6 @@ public class LocationService {
 
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
-
-        return locationRepository.findAll(spec, pageable)
-                .map(locationMapper::toDto);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.example.eventhubapi.location;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,7 +17,7 @@ import java.util.Set;
 @NoArgsConstructor
 public class PostalCode {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("postal_code_id_seq")
     @Column(name = "postal_code_id")
     private Long id;
 
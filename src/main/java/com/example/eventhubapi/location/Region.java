@@ -1,5 +1,6 @@
 package com.example.eventhubapi.location;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,7 +16,7 @@ import lombok.Setter;
 @NoArgsConstructor
 public class Region {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("region_id_seq")
     @Column(name = "region_id")
     private Long id;
 
@@ -3,9 +3,11 @@ package com.example.eventhubapi.notification;
 import com.example.eventhubapi.notification.enums.NotificationStatus;
 import com.example.eventhubapi.user.User;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.io.Serializable;
 import java.util.Objects;
@@ -13,6 +15,8 @@ import java.util.Objects;
 /**
  * Join table entity that links a Notification to a specific User (Account).
  * It tracks the delivery status for each user.
+ * Its key is assigned from the two associations, so it reports whether it is new itself; otherwise
+ * saving a new row would merge it and look the row up first.
  */
 @Entity
 @Table(name = "account_notification")
@@ -20,7 +24,7 @@ import java.util.Objects;
 @Getter
 @Setter
 @NoArgsConstructor
-public class AccountNotification {
+public class AccountNotification implements Persistable<AccountNotification.AccountNotificationId> {
 
     @Id
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,6 +39,30 @@ public class AccountNotification {
     @Column(length = 30, nullable = false)
     private NotificationStatus status;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public AccountNotificationId getId() {
+        AccountNotificationId id = new AccountNotificationId();
+        id.setRecipient(recipient == null ? null : recipient.getId());
+        id.setNotification(notification == null ? null : notification.getId());
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+
     @Getter
     @Setter
     public static class AccountNotificationId implements Serializable {
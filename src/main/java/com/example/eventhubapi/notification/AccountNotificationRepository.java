@@ -18,4 +18,13 @@ public interface AccountNotificationRepository extends JpaRepository<AccountNoti
      * @return A page of AccountNotifications.
      */
     Page<AccountNotification> findByRecipientId(Long recipientId, Pageable pageable);
+
+    /**
+     * Finds the notifications of a recipient older than the given notification, newest first.
+     * @param recipientId The ID of the recipient user.
+     * @param beforeId The ID of the last notification already returned.
+     * @param limit The maximum number of notifications to return.
+     * @return A list of AccountNotifications.
+     */
+    List<AccountNotification> findByRecipientIdAndNotificationIdLessThanOrderByNotificationIdDesc(Long recipientId, Long beforeId, Pageable limit);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.eventhubapi.notification;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,7 +20,7 @@ import java.time.Instant;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("notification_id_seq")
     @Column(name = "notification_id")
     private Long id;
 
@@ -1,11 +1,12 @@
 package com.example.eventhubapi.notification;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
 import com.example.eventhubapi.notification.dto.NotificationDto;
 import com.example.eventhubapi.notification.enums.NotificationStatus;
+import com.example.eventhubapi.security.CurrentAccount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -29,13 +30,27 @@ public class NotificationController {
 
     /**
      * Retrieves a paginated list of notifications for the currently authenticated user.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @param pageable Pagination and sorting information.
      * @return A ResponseEntity with a page of NotificationDto objects.
      */
     @GetMapping
-    public ResponseEntity<Page<NotificationDto>> getMyNotifications(Authentication authentication, Pageable pageable) {
-        Page<NotificationDto> notifications = notificationService.getNotificationsForUser(authentication.getName(), pageable);
+    public ResponseEntity<Page<NotificationDto>> getMyNotifications(CurrentAccount currentAccount, Pageable pageable) {
+        Page<NotificationDto> notifications = notificationService.getNotificationsForUser(currentAccount.getId(), pageable);
+        return ResponseEntity.ok(notifications);
+    }
+
+    /**
+     * Retrieves a slice of notifications for the current user after a cursor, newest first.
+     * Cursor mode, selected by the presence of the {@code after} parameter (empty for the first slice).
+     * @param currentAccount The account making the request.
+     * @param after The cursor returned with the previous slice.
+     * @param size The slice size.
+     * @return A ResponseEntity with a slice of NotificationDto objects.
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorSlice<NotificationDto>> getMyNotificationsAfter(CurrentAccount currentAccount, @RequestParam String after, @RequestParam(defaultValue = "20") int size) {
+        CursorSlice<NotificationDto> notifications = notificationService.getNotificationsForUserAfter(currentAccount.getId(), after, size);
         return ResponseEntity.ok(notifications);
     }
 
@@ -43,13 +58,13 @@ public class NotificationController {
      * Updates the status of a specific notification for the current user.
      * @param id The ID of the notification to update.
      * @param payload A map containing the new status.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the updated NotificationDto.
      */
     @PatchMapping("/{id}/status")
-    public ResponseEntity<NotificationDto> updateNotificationStatus(@PathVariable Long id, @RequestBody Map<String, String> payload, Authentication authentication) {
+    public ResponseEntity<NotificationDto> updateNotificationStatus(@PathVariable Long id, @RequestBody Map<String, String> payload, CurrentAccount currentAccount) {
         String status = payload.get("status");
-        NotificationDto notification = notificationService.updateStatus(id, NotificationStatus.valueOf(status.toUpperCase()), authentication.getName());
+        NotificationDto notification = notificationService.updateStatus(id, NotificationStatus.valueOf(status.toUpperCase()), currentAccount.getId());
         return ResponseEntity.ok(notification);
     }
 }
\ No newline at end of file
@@ -1,18 +1,22 @@
 package com.example.eventhubapi.notification;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.common.pagination.Keyset;
 import com.example.eventhubapi.notification.dto.NotificationDto;
 import com.example.eventhubapi.notification.enums.NotificationStatus;
 import com.example.eventhubapi.notification.exception.NotificationNotFoundException;
 import com.example.eventhubapi.notification.mapper.NotificationMapper;
 import com.example.eventhubapi.user.User;
-import com.example.eventhubapi.user.UserRepository;
-import com.example.eventhubapi.user.exception.UserNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Service class for handling notification-related business logic.
@@ -22,23 +26,19 @@ public class NotificationService {
 
     private final AccountNotificationRepository accountNotificationRepository;
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
     private final NotificationMapper notificationMapper;
 
     /**
      * Constructs a NotificationService with the necessary dependencies.
      * @param accountNotificationRepository The repository for the join table between accounts and notifications.
      * @param notificationRepository The repository for notification data access.
-     * @param userRepository The repository for user data access.
      * @param notificationMapper The mapper for converting Notification entities to DTOs.
      */
     public NotificationService(AccountNotificationRepository accountNotificationRepository,
                                NotificationRepository notificationRepository,
-                               UserRepository userRepository,
                                NotificationMapper notificationMapper) {
         this.accountNotificationRepository = accountNotificationRepository;
         this.notificationRepository = notificationRepository;
-        this.userRepository = userRepository;
         this.notificationMapper = notificationMapper;
     }
 
@@ -50,45 +50,78 @@ public class NotificationService {
      */
     @Transactional
     public void createAndSendNotification(User recipient, String message, Long eventId) {
-        Notification notification = new Notification();
-        notification.setMessage(message);
-        notification.setEventId(eventId);
-        notification.setCreatedAt(Instant.now());
-        Notification savedNotification = notificationRepository.save(notification);
+        createAndSendNotifications(List.of(recipient), message, eventId);
+    }
+
+    /**
+     * Creates and sends the same message to several users, as one notification per user.
+     * The rows are inserted when the transaction flushes, in JDBC batches.
+     * @param recipients The users who will receive the notification.
+     * @param message The content of the notification message.
+     * @param eventId The ID of the event related to the notification, can be null.
+     */
+    @Transactional
+    public void createAndSendNotifications(Collection<User> recipients, String message, Long eventId) {
+        Instant now = Instant.now();
+        List<Notification> notifications = new ArrayList<>(recipients.size());
+        List<AccountNotification> accountNotifications = new ArrayList<>(recipients.size());
+        for (User recipient : recipients) {
+            Notification notification = new Notification();
+            notification.setMessage(message);
+            notification.setEventId(eventId);
+            notification.setCreatedAt(now);
+            notifications.add(notification);
 
-        AccountNotification accountNotification = new AccountNotification();
-        accountNotification.setRecipient(recipient);
-        accountNotification.setNotification(savedNotification);
-        accountNotification.setStatus(NotificationStatus.CREATED);
+            AccountNotification accountNotification = new AccountNotification();
+            accountNotification.setRecipient(recipient);
+            accountNotification.setNotification(notification);
+            accountNotification.setStatus(NotificationStatus.CREATED);
+            accountNotifications.add(accountNotification);
+        }
 
-        accountNotificationRepository.save(accountNotification);
+        notificationRepository.saveAll(notifications);
+        accountNotificationRepository.saveAll(accountNotifications);
     }
 
     /**
      * Retrieves a paginated list of notifications for a specific user.
-     * @param userLogin The login of the user.
+     * @param userId The ID of the user.
      * @param pageable Pagination and sorting information.
      * @return A Page of NotificationDto objects.
      */
     @Transactional(readOnly = true)
-    public Page<NotificationDto> getNotificationsForUser(String userLogin, Pageable pageable) {
-        User user = findUserByLogin(userLogin);
-        return accountNotificationRepository.findByRecipientId(user.getId(), pageable)
+    public Page<NotificationDto> getNotificationsForUser(Long userId, Pageable pageable) {
+        return accountNotificationRepository.findByRecipientId(userId, pageable)
                 .map(notificationMapper::toDto);
     }
 
+    /**
+     * Retrieves a slice of notifications for a specific user after a cursor, newest first.
+     * @param userId The ID of the user.
+     * @param after The cursor of the previous slice, or blank for the first slice.
+     * @param size The slice size.
+     * @return A CursorSlice of NotificationDto objects.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<NotificationDto> getNotificationsForUserAfter(Long userId, String after, int size) {
+        Keyset keyset = Keyset.byId(after, size, Sort.Direction.DESC);
+        Long lastId = keyset.isFirst() ? Long.MAX_VALUE : keyset.getLastId();
+        List<AccountNotification> notifications = accountNotificationRepository
+                .findByRecipientIdAndNotificationIdLessThanOrderByNotificationIdDesc(userId, lastId, keyset.getLimit());
+        return keyset.slice(notifications, notification -> notification.getNotification().getId(), notificationMapper::toDto);
+    }
+
     /**
      * Updates the status of a notification for a user.
      * @param notificationId The ID of the notification to update.
      * @param status The new status for the notification.
-     * @param userLogin The login of the user whose notification is being updated.
+     * @param userId The ID of the user whose notification is being updated.
      * @return A NotificationDto representing the updated notification.
      */
     @Transactional
-    public NotificationDto updateStatus(Long notificationId, NotificationStatus status, String userLogin) {
-        User user = findUserByLogin(userLogin);
+    public NotificationDto updateStatus(Long notificationId, NotificationStatus status, Long userId) {
         AccountNotification.AccountNotificationId id = new AccountNotification.AccountNotificationId();
-        id.setRecipient(user.getId());
+        id.setRecipient(userId);
         id.setNotification(notificationId);
 
         AccountNotification notification = accountNotificationRepository.findById(id)
@@ -98,9 +131,4 @@ public class NotificationService {
         AccountNotification savedNotification = accountNotificationRepository.save(notification);
         return notificationMapper.toDto(savedNotification);
     }
-
-    private User findUserByLogin(String login) {
-        return userRepository.findByLogin(login)
-                .orElseThrow(() -> new UserNotFoundException("User not found with login: " + login));
-    }
 }
\ No newline at end of file
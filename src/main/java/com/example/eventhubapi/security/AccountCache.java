@@ -0,0 +1,125 @@
+package com.example.eventhubapi.security;
+
+import com.example.eventhubapi.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A size- and TTL-bounded cache of authenticated account snapshots, keyed by account ID with a
+ * secondary login index. Snapshots are loaded with a single projection query and never hold
+ * managed entities.
+ * <p>
+ * Lookups made inside a transaction only populate the cache once that transaction commits,
+ * so uncommitted or rolled-back changes are never cached. Every change to an account's password,
+ * role or status, and every deletion, must call {@link #evict(Long)}.
+ */
+@Component
+public class AccountCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, AuthenticatedAccount> accountsById;
+    private final Cache<String, Long> idsByLogin;
+
+    /**
+     * Constructs an AccountCache and registers its metrics.
+     * @param userRepository The repository used to load account snapshots.
+     * @param meterRegistry The registry to publish hit, miss and eviction metrics to.
+     * @param maxSize The maximum number of cached accounts.
+     * @param ttlMs How long a snapshot may be served after it was loaded, in milliseconds.
+     */
+    public AccountCache(UserRepository userRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${security.account-cache.max-size:10000}") long maxSize,
+                        @Value("${security.account-cache.ttl-ms:300000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.accountsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.idsByLogin = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accountsById, "accounts.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByLogin, "accounts.byLogin");
+    }
+
+    /**
+     * Finds an account snapshot by ID.
+     * @param userId The ID of the account.
+     * @return The account snapshot, or empty if no such account exists.
+     */
+    public Optional<AuthenticatedAccount> findById(Long userId) {
+        AuthenticatedAccount cached = accountsById.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<AuthenticatedAccount> loaded = userRepository.findAccountById(userId);
+        loaded.ifPresent(this::store);
+        return loaded;
+    }
+
+    /**
+     * Finds an account snapshot by login.
+     * @param login The login of the account.
+     * @return The account snapshot, or empty if no such account exists.
+     */
+    public Optional<AuthenticatedAccount> findByLogin(String login) {
+        Long userId = idsByLogin.getIfPresent(login);
+        if (userId != null) {
+            AuthenticatedAccount cached = accountsById.getIfPresent(userId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<AuthenticatedAccount> loaded = userRepository.findAccountByLogin(login);
+        loaded.ifPresent(this::store);
+        return loaded;
+    }
+
+    /**
+     * Removes an account from the cache. When called inside a transaction the account is removed
+     * again once the transaction completes, so a concurrent lookup cannot re-cache pre-commit values.
+     * @param userId The ID of the account to evict.
+     */
+    public void evict(Long userId) {
+        accountsById.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    accountsById.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private void store(AuthenticatedAccount account) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(account);
+                }
+            });
+        } else {
+            put(account);
+        }
+    }
+
+    private void put(AuthenticatedAccount account) {
+        accountsById.put(account.getId(), account);
+        idsByLogin.put(account.getLogin(), account.getId());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.eventhubapi.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * The authenticated principal placed in the security context.
+ * Exposes the account ID so callers never need to know whether the principal
+ * was loaded from the database or rebuilt from verified JWT claims.
+ */
+public interface AccountPrincipal extends UserDetails {
+
+    /**
+     * Returns the ID of the authenticated account.
+     * @return The account ID.
+     */
+    Long getId();
+
+    /**
+     * Returns the name of the account's role.
+     * @return The role name.
+     */
+    String getRoleName();
+
+    /**
+     * Returns the name of the account's status.
+     * @return The status name.
+     */
+    String getStatusName();
+}
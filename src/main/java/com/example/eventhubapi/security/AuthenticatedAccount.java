@@ -0,0 +1,85 @@
+package com.example.eventhubapi.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A lightweight, immutable principal used instead of the User entity.
+ * It is either loaded through a projection query or rebuilt from verified JWT claims,
+ * and is never attached to a persistence context.
+ */
+@Getter
+public class AuthenticatedAccount implements AccountPrincipal {
+
+    private final Long id;
+    private final String login;
+    private final String password;
+    private final String role;
+    private final String status;
+
+    /**
+     * Constructs an AuthenticatedAccount.
+     * @param id The ID of the account.
+     * @param login The login of the account.
+     * @param password The encoded password, or null when built from token claims.
+     * @param role The name of the account's role.
+     * @param status The name of the account's status.
+     */
+    public AuthenticatedAccount(Long id, String login, String password, String role, String status) {
+        this.id = id;
+        this.login = login;
+        this.password = password;
+        this.role = role;
+        this.status = status;
+    }
+
+    @Override
+    public String getRoleName() {
+        return this.role;
+    }
+
+    @Override
+    public String getStatusName() {
+        return this.status;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getPassword() {
+        return this.password;
+    }
+
+    @Override
+    public String getUsername() {
+        return this.login;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        String statusName = status.toUpperCase();
+        return !statusName.equals("BANNED") && !statusName.equals("DEACTIVATED");
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return status.equalsIgnoreCase("ACTIVE");
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.eventhubapi.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The account making the current request, as resolved once from the authenticated principal.
+ * Controllers receive it as a handler method argument and pass it, or just its ID, to services,
+ * so services never need to look the caller up again.
+ */
+@Getter
+@AllArgsConstructor
+public class CurrentAccount {
+
+    private final Long id;
+    private final String role;
+    private final String status;
+
+    /**
+     * Checks whether the account has the 'admin' role.
+     * @return True if the account is an administrator.
+     */
+    public boolean isAdmin() {
+        return "admin".equals(role);
+    }
+}
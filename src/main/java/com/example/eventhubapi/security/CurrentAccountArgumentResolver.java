@@ -0,0 +1,50 @@
+package com.example.eventhubapi.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentAccount} handler method arguments from the authenticated principal.
+ * The result is stored as a request attribute, so it is built at most once per request.
+ */
+@Component
+public class CurrentAccountArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = CurrentAccount.class.getName();
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return CurrentAccount.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request != null && request.getAttribute(ATTRIBUTE) instanceof CurrentAccount cached) {
+            return cached;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AccountPrincipal principal)) {
+            throw new AuthenticationCredentialsNotFoundException("Authentication is required to access this resource.");
+        }
+
+        CurrentAccount currentAccount = new CurrentAccount(principal.getId(), principal.getRoleName(), principal.getStatusName());
+        if (request != null) {
+            request.setAttribute(ATTRIBUTE, currentAccount);
+        }
+        return currentAccount;
+    }
+}
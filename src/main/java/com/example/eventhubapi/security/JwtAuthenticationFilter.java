@@ -1,10 +1,13 @@
 package com.example.eventhubapi.security;
 
 import com.example.eventhubapi.auth.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,16 +21,35 @@ import java.io.IOException;
 /**
  * A filter that intercepts incoming requests to validate JWTs.
  * If the token is valid, it sets the authentication in the security context.
+ * When {@code jwt.claims-only-auth} is enabled, the principal is built from the verified
+ * token claims, checked against the {@link TokenEpochRegistry} and the cached account state.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final AccountCache accountCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService) {
+    @Value("${jwt.claims-only-auth:false}")
+    private boolean claimsOnlyAuth;
+
+    /**
+     * Constructs a JwtAuthenticationFilter.
+     * @param jwtService The service for JWT operations.
+     * @param userDetailsService The service for loading users from the database.
+     * @param tokenEpochRegistry The registry of per-account token epochs.
+     * @param accountCache The cache of account snapshots.
+     */
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsServiceImpl userDetailsService,
+                                   TokenEpochRegistry tokenEpochRegistry,
+                                   AccountCache accountCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.accountCache = accountCache;
     }
 
     @Override
@@ -38,7 +60,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userLogin;
 
         // If there's no Authorization header or it doesn't start with "Bearer ", pass to the next filter.
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -48,13 +69,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Extract the token from the header
         jwt = authHeader.substring(7);
-        userLogin = jwtService.extractUsername(jwt);
 
-        // If login is extracted and user is not already authenticated
-        if (userLogin != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userLogin);
-            // If the token is valid, create an authentication token and set it in the context
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        // If the user is not already authenticated, verify the token once and resolve the principal from it.
+        // An invalid or expired token leaves the request unauthenticated.
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails;
+            try {
+                Claims claims = jwtService.verify(jwt);
+                userDetails = claimsOnlyAuth ? loadFromClaims(claims) : loadFromDatabase(claims);
+            } catch (JwtException e) {
+                userDetails = null;
+            }
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -66,4 +92,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails loadFromDatabase(Claims claims) {
+        String userLogin = claims.getSubject();
+        if (userLogin == null) {
+            return null;
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userLogin);
+        return jwtService.isTokenValid(claims, userDetails) ? userDetails : null;
+    }
+
+    private UserDetails loadFromClaims(Claims claims) {
+        Long userId = claims.get("userId", Long.class);
+        String role = claims.get("role", String.class);
+        Long epoch = claims.get("epoch", Long.class);
+        if (claims.getSubject() == null || userId == null || role == null
+                || !tokenEpochRegistry.isCurrent(userId, epoch != null ? epoch : 0L)) {
+            return null;
+        }
+        return accountCache.findById(userId)
+                .filter(account -> account.getRole().equals(role) && account.getLogin().equals(claims.getSubject()))
+                .filter(AuthenticatedAccount::isAccountNonLocked)
+                .orElse(null);
+    }
+}
@@ -38,6 +38,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/events/public").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/events/public/search", "/api/events/public/suggest", "/api/events/public/nearby", "/api/events/calendar").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/events/{id}").permitAll()
                         .requestMatchers("/api/accounts/{id}/summary").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/media/gallery/**").permitAll()
@@ -0,0 +1,77 @@
+package com.example.eventhubapi.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the per-account "token epoch" used to revoke JWTs without a database round-trip.
+ * Every issued token carries the epoch it was issued at; revoking an account records a newer
+ * epoch, after which only tokens issued later are accepted. Revoking also evicts the account
+ * from the {@link AccountCache}, so the next request sees its current role and status.
+ * <p>
+ * Epochs come from a monotonic clock seeded with wall-clock microseconds, so they keep increasing
+ * across restarts. A revocation is kept for one token lifetime ({@code jwt.expiration-ms}), after
+ * which every token it could reject has expired, and is then pruned.
+ * <p>
+ * Revocations are held in memory only and are not shared between instances. After a restart, or
+ * on another instance, the account's role and status are loaded from the database instead, which
+ * still rejects banned and deleted accounts and tokens carrying a stale role; another instance may
+ * however serve its cached snapshot for up to {@code security.account-cache.ttl-ms} after the change.
+ */
+@Component
+public class TokenEpochRegistry {
+
+    private final AccountCache accountCache;
+    private final long tokenLifetimeMs;
+    private final AtomicLong clock = new AtomicLong();
+    private final ConcurrentMap<Long, Long> revokedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a TokenEpochRegistry.
+     * @param accountCache The cache of account snapshots to evict on revocation.
+     * @param tokenLifetimeMs How long an issued token stays valid, in milliseconds.
+     */
+    public TokenEpochRegistry(AccountCache accountCache,
+                              @Value("${jwt.expiration-ms}") long tokenLifetimeMs) {
+        this.accountCache = accountCache;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    /**
+     * Returns a new epoch, strictly greater than every epoch handed out before.
+     * @return The epoch to embed in a newly issued token.
+     */
+    public long nextEpoch() {
+        long now = System.currentTimeMillis() * 1000;
+        return clock.updateAndGet(previous -> Math.max(previous + 1, now));
+    }
+
+    /**
+     * Checks whether a token issued at the given epoch is still honoured for the account.
+     * @param userId The ID of the account.
+     * @param tokenEpoch The epoch embedded in the token.
+     * @return True if the account has not been revoked since the token was issued.
+     */
+    public boolean isCurrent(Long userId, long tokenEpoch) {
+        Long revokedEpoch = revokedAt.get(userId);
+        return revokedEpoch == null || tokenEpoch > revokedEpoch;
+    }
+
+    /**
+     * Invalidates every token issued to the account so far and evicts its cached snapshot.
+     * Must be called whenever an account is banned, has its role changed or is deleted.
+     * @param userId The ID of the account to revoke.
+     */
+    public void revoke(Long userId) {
+        long epoch = nextEpoch();
+        // Tokens issued before an older revocation have all expired by now, so it no longer rejects anything.
+        long expiredBefore = epoch - tokenLifetimeMs * 1000;
+        revokedAt.values().removeIf(revokedEpoch -> revokedEpoch < expiredBefore);
+        revokedAt.put(userId, epoch);
+        accountCache.evict(userId);
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.eventhubapi.security;
 
-import com.example.eventhubapi.user.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -8,18 +7,19 @@ import org.springframework.stereotype.Service;
 
 /**
  * Service to load user-specific data for Spring Security.
+ * Returns cached {@link AuthenticatedAccount} snapshots rather than User entities.
  */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final AccountCache accountCache;
 
     /**
-     * Constructs a UserDetailsServiceImpl with the necessary UserRepository.
-     * @param userRepository The repository for user data access.
+     * Constructs a UserDetailsServiceImpl with the necessary AccountCache.
+     * @param accountCache The cache of account snapshots.
      */
-    public UserDetailsServiceImpl(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserDetailsServiceImpl(AccountCache accountCache) {
+        this.accountCache = accountCache;
     }
 
     /**
@@ -30,7 +30,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByLogin(username)
+        return accountCache.findByLogin(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with login: " + username));
     }
 }
\ No newline at end of file
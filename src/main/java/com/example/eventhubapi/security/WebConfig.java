@@ -0,0 +1,35 @@
+package com.example.eventhubapi.security;
+
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the web MVC extensions used by the security layer.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    static {
+        // CurrentAccount is resolved from the security context, not from request parameters.
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(CurrentAccount.class);
+    }
+
+    private final CurrentAccountArgumentResolver currentAccountArgumentResolver;
+
+    /**
+     * Constructs a WebConfig.
+     * @param currentAccountArgumentResolver The resolver for CurrentAccount handler arguments.
+     */
+    public WebConfig(CurrentAccountArgumentResolver currentAccountArgumentResolver) {
+        this.currentAccountArgumentResolver = currentAccountArgumentResolver;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentAccountArgumentResolver);
+    }
+}
@@ -8,6 +8,7 @@ import lombok.Setter;
 /**
  * Represents a user's profile, containing extended information like name,
  * description, and a profile image. It is linked one-to-one with the User entity.
+ * The image bytes live in the media storage; the profile only holds their content hash.
  */
 @Entity
 @Table(name = "profile")
@@ -28,8 +29,8 @@ public class Profile {
     @Column(length = 50)
     private String name;
 
-    @Column(name = "profile_image", columnDefinition = "bytea")
-    private byte[] profileImage;
+    @Column(name = "profile_image_hash", length = 64)
+    private String profileImageHash;
 
     @Column(columnDefinition = "TEXT")
     private String description;
@@ -1,5 +1,7 @@
 package com.example.eventhubapi.user;
 
+import com.example.eventhubapi.common.persistence.PooledSequence;
+import com.example.eventhubapi.security.AccountPrincipal;
 import com.example.eventhubapi.security.Role;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -7,15 +9,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 
 /**
- * Represents a user account in the system. Implements UserDetails to integrate
- * with Spring Security for authentication and authorization.
+ * Represents a user account in the system. Implements AccountPrincipal (and thus UserDetails)
+ * to integrate with Spring Security for authentication and authorization.
  */
 @Entity
 @Table(name = "account")
@@ -23,10 +24,10 @@ import java.util.Collections;
 @Getter
 @Setter
 @NoArgsConstructor
-public class User implements UserDetails {
+public class User implements AccountPrincipal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("account_id_seq")
     @Column(name = "account_id")
     private Long id;
 
@@ -50,6 +51,16 @@ public class User implements UserDetails {
     @JoinColumn(name = "status_id", nullable = false)
     private AccountStatus status;
 
+    @Override
+    public String getRoleName() {
+        return role.getName();
+    }
+
+    @Override
+    public String getStatusName() {
+        return status.getStatusName();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority(role.getName()));
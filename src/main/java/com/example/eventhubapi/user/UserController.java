@@ -1,20 +1,20 @@
 package com.example.eventhubapi.user;
 
+import com.example.eventhubapi.event.media.MediaContent;
 import com.example.eventhubapi.user.dto.ChangePasswordRequest;
 import com.example.eventhubapi.user.dto.UpdateProfileRequest;
 import com.example.eventhubapi.user.dto.UserDto;
 import com.example.eventhubapi.common.dto.UserSummary;
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.security.CurrentAccount;
 import jakarta.validation.Valid;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -38,13 +38,12 @@ public class UserController {
 
     /**
      * Retrieves the profile of the currently authenticated user.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with the UserDto of the current user.
      */
     @GetMapping("/account/me")
-    public ResponseEntity<UserDto> getCurrentUser(Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
-        UserDto userDto = userService.getUserProfile(currentUser.getId());
+    public ResponseEntity<UserDto> getCurrentUser(CurrentAccount currentAccount) {
+        UserDto userDto = userService.getUserProfile(currentAccount.getId());
         return ResponseEntity.ok(userDto);
     }
 
@@ -92,69 +91,92 @@ public class UserController {
         return ResponseEntity.ok(userSummaries);
     }
 
+    /**
+     * Retrieves a slice of user summaries after a cursor, with the same optional filters.
+     * Cursor mode, selected by the presence of the {@code after} parameter (empty for the first slice).
+     * @param after The cursor returned with the previous slice.
+     * @param size The slice size.
+     * @param sort The sort order; id or login.
+     * @param name Optional filter for user's profile name.
+     * @param login Optional filter for user's login.
+     * @param role Optional filter for user's role name.
+     * @param status Optional filter for user's account status.
+     * @return A ResponseEntity with a slice of UserSummary objects.
+     */
+    @GetMapping(value = "/accounts/summary/all", params = "after")
+    @PreAuthorize("hasAnyAuthority('organizer', 'admin')")
+    public ResponseEntity<CursorSlice<UserSummary>> getAllUserSummariesAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String login,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String status) {
+        CursorSlice<UserSummary> userSummaries = userService.getAllUserSummariesAfter(after, size, sort, name, login, role, status);
+        return ResponseEntity.ok(userSummaries);
+    }
+
     /**
      * Updates the profile of the currently authenticated user.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @param request The request body containing the updated profile information.
      * @return A ResponseEntity with the updated UserDto.
      */
     @PutMapping("/account/profile")
-    public ResponseEntity<UserDto> updateCurrentUser(Authentication authentication, @Valid @RequestBody UpdateProfileRequest request) {
-        User currentUser = (User) authentication.getPrincipal();
-        UserDto updatedUser = userService.updateUserProfile(currentUser.getId(), request);
+    public ResponseEntity<UserDto> updateCurrentUser(CurrentAccount currentAccount, @Valid @RequestBody UpdateProfileRequest request) {
+        UserDto updatedUser = userService.updateUserProfile(currentAccount.getId(), request);
         return ResponseEntity.ok(updatedUser);
     }
 
     /**
      * Changes the password of the currently authenticated user.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @param request The request body containing the old and new passwords.
      * @return A ResponseEntity with a success message.
      */
     @PutMapping("/account/password")
-    public ResponseEntity<String> changePassword(Authentication authentication, @Valid @RequestBody ChangePasswordRequest request) {
-        User currentUser = (User) authentication.getPrincipal();
-        userService.changePassword(currentUser.getId(), request);
+    public ResponseEntity<String> changePassword(CurrentAccount currentAccount, @Valid @RequestBody ChangePasswordRequest request) {
+        userService.changePassword(currentAccount.getId(), request);
         return ResponseEntity.ok("Password changed successfully.");
     }
 
     /**
      * Uploads or updates the profile image for the currently authenticated user.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @param file The image file to upload.
      * @return A ResponseEntity with a success message.
      * @throws IOException if an I/O error occurs.
      */
     @PostMapping("/account/profile-image")
-    public ResponseEntity<String> uploadProfileImage(Authentication authentication, @RequestParam("file") MultipartFile file) throws IOException {
-        User currentUser = (User) authentication.getPrincipal();
-        userService.updateProfileImage(currentUser.getId(), file);
+    public ResponseEntity<String> uploadProfileImage(CurrentAccount currentAccount, @RequestParam("file") MultipartFile file) throws IOException {
+        userService.updateProfileImage(currentAccount.getId(), file);
         return ResponseEntity.ok("Profile image updated successfully.");
     }
 
     /**
      * Retrieves the profile image of a user by their ID.
      * @param id The ID of the user whose image is to be retrieved.
-     * @return A ResponseEntity containing the image resource.
+     * @param size Optional longer-side size in pixels; the smallest ready rendition at least this large is served,
+     *             or the original if there is none.
+     * @param requestHeaders The request headers, consulted for ranges and conditional requests.
+     * @return A ResponseEntity containing the image content, revalidated on every use since the user may replace it.
+     * @throws IOException if the content length cannot be determined.
      */
     @GetMapping("/users/{id}/profile-image")
-    public ResponseEntity<Resource> getProfileImage(@PathVariable Long id) {
-        byte[] imageBytes = userService.getProfileImage(id);
-        return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
-                .body(new ByteArrayResource(imageBytes));
+    public ResponseEntity<MediaContent> getProfileImage(@PathVariable Long id, @RequestParam(required = false) Integer size,
+                                                        @RequestHeader HttpHeaders requestHeaders) throws IOException {
+        return MediaContent.response(userService.getProfileImage(id, size), null, MediaContent.revalidated().cachePrivate(), requestHeaders);
     }
 
     /**
      * Deletes the account of the currently authenticated user.
-     * @param authentication The authentication object of the current user.
+     * @param currentAccount The account making the request.
      * @return A ResponseEntity with no content.
      */
     @DeleteMapping("/account")
-    public ResponseEntity<Void> deleteMyAccount(Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
-        userService.deleteUser(currentUser.getId());
+    public ResponseEntity<Void> deleteMyAccount(CurrentAccount currentAccount) {
+        userService.deleteUser(currentAccount.getId());
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -1,17 +1,26 @@
 // File: eventHubAPI/src/main/java/com/example/eventhubapi/user/UserRepository.java
 package com.example.eventhubapi.user;
 
+import com.example.eventhubapi.admin.dto.AccountExportRow;
+import com.example.eventhubapi.security.AuthenticatedAccount;
+import com.example.eventhubapi.user.dto.ProfileSummary;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor; // Import JpaSpecificationExecutor
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the User entity.
@@ -40,4 +49,55 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     @Query("SELECT u FROM User u WHERE u.id = :userId")
     Optional<User> findByIdWithLock(@Param("userId") Long userId);
 
+    /**
+     * Loads a lightweight account snapshot by ID, without fetching the entity.
+     *
+     * @param userId The ID of the user.
+     * @return An Optional containing the account snapshot if the user exists.
+     */
+    @Query("SELECT new com.example.eventhubapi.security.AuthenticatedAccount(u.id, u.login, u.password, u.role.name, u.status.statusName) " +
+            "FROM User u WHERE u.id = :userId")
+    Optional<AuthenticatedAccount> findAccountById(@Param("userId") Long userId);
+
+    /**
+     * Loads a lightweight account snapshot by login, without fetching the entity.
+     *
+     * @param login The login of the user.
+     * @return An Optional containing the account snapshot if the user exists.
+     */
+    @Query("SELECT new com.example.eventhubapi.security.AuthenticatedAccount(u.id, u.login, u.password, u.role.name, u.status.statusName) " +
+            "FROM User u WHERE u.login = :login")
+    Optional<AuthenticatedAccount> findAccountByLogin(@Param("login") String login);
+
+    /**
+     * Loads profile summaries for a batch of users in one query, without fetching the profile image.
+     *
+     * @param userIds The IDs of the users.
+     * @return A list with one summary per existing user.
+     */
+    @Query("SELECT new com.example.eventhubapi.user.dto.ProfileSummary(u.id, p.name, " +
+            "CASE WHEN p.profileImageHash IS NOT NULL THEN true ELSE false END) " +
+            "FROM User u LEFT JOIN u.profile p WHERE u.id IN :userIds")
+    List<ProfileSummary> findProfileSummariesByIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Looks up the content hash of a user's profile image without loading the user or profile.
+     *
+     * @param userId The ID of the user.
+     * @return An Optional containing the hash if the user has a profile image.
+     */
+    @Query("SELECT p.profileImageHash FROM Profile p WHERE p.accountId = :userId AND p.profileImageHash IS NOT NULL")
+    Optional<String> findProfileImageHash(@Param("userId") Long userId);
+
+    /**
+     * Streams an export row for every account in id order. The rows are fetched from the database in
+     * batches as the stream is consumed, which must happen inside a transaction; close the stream when done.
+     *
+     * @return A stream of account rows.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.eventhubapi.admin.dto.AccountExportRow(u.id, u.login, p.name, u.role.name, " +
+            "u.status.statusName, u.createdAt) " +
+            "FROM User u LEFT JOIN u.profile p ORDER BY u.id")
+    Stream<AccountExportRow> streamExportRows();
 }
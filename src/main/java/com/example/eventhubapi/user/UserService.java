@@ -1,22 +1,39 @@
 package com.example.eventhubapi.user;
 
+import com.example.eventhubapi.common.pagination.CursorSlice;
+import com.example.eventhubapi.common.pagination.Keyset;
 import com.example.eventhubapi.common.dto.UserSummary;
+import com.example.eventhubapi.event.media.dto.StoredContent;
+import com.example.eventhubapi.event.media.rendition.ImageRendition;
+import com.example.eventhubapi.event.media.rendition.ImageRenditionService;
+import com.example.eventhubapi.event.media.storage.MediaContentCache;
+import com.example.eventhubapi.event.media.storage.MediaStorage;
+import com.example.eventhubapi.event.media.storage.StoredBlob;
+import com.example.eventhubapi.event.participant.ParticipantAdmissionService;
+import com.example.eventhubapi.security.AccountCache;
+import com.example.eventhubapi.security.TokenEpochRegistry;
 import com.example.eventhubapi.user.dto.ChangePasswordRequest;
 import com.example.eventhubapi.user.dto.UpdateProfileRequest;
 import com.example.eventhubapi.user.dto.UserDto;
 import com.example.eventhubapi.user.exception.UserNotFoundException;
 import com.example.eventhubapi.user.mapper.UserMapper;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Join;
 
@@ -26,20 +43,47 @@ import jakarta.persistence.criteria.Join;
 @Service
 public class UserService {
 
+    private static final Set<String> USER_CURSOR_PROPERTIES = Set.of("login");
+    private static final String PROFILE_IMAGE_TYPE = "image/jpeg";
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final AccountCache accountCache;
+    private final ParticipantAdmissionService admissionService;
+    private final MediaStorage mediaStorage;
+    private final MediaContentCache mediaContentCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageRenditionService imageRenditionService;
 
     /**
      * Constructs a UserService with necessary dependencies.
      * @param userRepository The repository for user data access.
      * @param userMapper The mapper for converting user entities to DTOs.
      * @param passwordEncoder The encoder for user passwords.
+     * @param tokenEpochRegistry The registry used to revoke a deleted user's tokens.
+     * @param accountCache The cache of account snapshots used by the security layer.
+     * @param admissionService The service that frees a deleted user's event seats and fills them from the waitlists.
+     * @param mediaStorage The storage holding profile image content.
+     * @param mediaContentCache The off-heap cache profile images are served through.
+     * @param jdbcTemplate The template used to read and clear images not yet migrated out of the profile table.
+     * @param imageRenditionService The service generating and looking up downscaled image renditions.
      */
-    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder,
+                       TokenEpochRegistry tokenEpochRegistry, AccountCache accountCache, ParticipantAdmissionService admissionService,
+                       MediaStorage mediaStorage, MediaContentCache mediaContentCache, JdbcTemplate jdbcTemplate,
+                       ImageRenditionService imageRenditionService) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.accountCache = accountCache;
+        this.admissionService = admissionService;
+        this.mediaStorage = mediaStorage;
+        this.mediaContentCache = mediaContentCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.imageRenditionService = imageRenditionService;
     }
 
     /**
@@ -82,7 +126,32 @@ public class UserService {
             String login,
             String role,
             String status) {
-        Specification<User> spec = (root, query, criteriaBuilder) -> {
+        return userRepository.findAll(userSummariesSpecification(name, login, role, status), pageable)
+                .map(userMapper::toUserSummary);
+    }
+
+    /**
+     * Retrieves a slice of user summaries after a cursor, with the same optional filters.
+     * Uses keyset pagination and does not count the matching rows.
+     * @param after The cursor of the previous slice, or blank for the first slice.
+     * @param size The slice size.
+     * @param sort The sort order; id or login.
+     * @param name Optional filter for user's profile name.
+     * @param login Optional filter for user's login.
+     * @param role Optional filter for user's role name.
+     * @param status Optional filter for user's account status.
+     * @return A CursorSlice of UserSummary objects.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<UserSummary> getAllUserSummariesAfter(String after, int size, Sort sort, String name, String login, String role, String status) {
+        Keyset keyset = Keyset.of(after, size, sort, USER_CURSOR_PROPERTIES);
+        Specification<User> spec = userSummariesSpecification(name, login, role, status).and(keyset.seek());
+        List<User> rows = userRepository.findBy(spec, query -> query.sortBy(keyset.getSort()).limit(keyset.getFetchSize()).all());
+        return keyset.slice(rows, User::getId, userMapper::toUserSummary);
+    }
+
+    private Specification<User> userSummariesSpecification(String name, String login, String role, String status) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             if (name != null && !name.isEmpty()) {
@@ -102,9 +171,6 @@ public class UserService {
 
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
-
-        return userRepository.findAll(spec, pageable)
-                .map(userMapper::toUserSummary);
     }
 
     /**
@@ -157,6 +223,7 @@ public class UserService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        accountCache.evict(userId);
     }
 
     /**
@@ -177,24 +244,47 @@ public class UserService {
             user.setProfile(profile);
         }
 
-        profile.setProfileImage(file.getBytes());
+        StoredBlob blob;
+        try (InputStream content = file.getInputStream()) {
+            blob = mediaStorage.store(content);
+        }
+        profile.setProfileImageHash(blob.getHash());
         userRepository.save(user);
+        // Drop a not yet migrated legacy image, so the maintenance job cannot bring it back.
+        jdbcTemplate.update("UPDATE profile SET profile_image = NULL WHERE account_id = ? AND profile_image IS NOT NULL", userId);
+        imageRenditionService.requestRenditions(blob.getHash(), file.getContentType());
     }
 
     /**
-     * Retrieves a user's profile image.
+     * Resolves a user's profile image, or its smallest ready rendition at least the requested size,
+     * without loading the user or profile. The payload is opened when the returned supplier is called.
+     * Images not yet migrated out of the legacy profile_image column are served from it.
      * @param userId The ID of the user.
-     * @return A byte array of the image data.
+     * @param size The requested longer-side size in pixels, or null for the original.
+     * @return The image content.
      */
     @Transactional(readOnly = true)
-    public byte[] getProfileImage(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-
-        if (user.getProfile() == null || user.getProfile().getProfileImage() == null) {
-            throw new UserNotFoundException("Profile image not found for user with id: " + userId);
+    public StoredContent getProfileImage(Long userId, Integer size) {
+        String hash = userRepository.findProfileImageHash(userId)
+                .orElseThrow(() -> new UserNotFoundException("Profile image not found for user with id: " + userId));
+        if (size != null) {
+            Optional<ImageRendition> rendition = imageRenditionService.findRendition(hash, size);
+            if (rendition.isPresent()) {
+                String renditionHash = rendition.get().getContentHash();
+                return new StoredContent(renditionHash, rendition.get().getContentType(), () -> mediaContentCache.load(renditionHash));
+            }
         }
-        return user.getProfile().getProfileImage();
+        if (mediaStorage.exists(hash)) {
+            return new StoredContent(hash, PROFILE_IMAGE_TYPE, () -> mediaContentCache.load(hash));
+        }
+        return new StoredContent(hash, PROFILE_IMAGE_TYPE, () -> {
+            byte[] inlineImage = jdbcTemplate.query("SELECT profile_image FROM profile WHERE account_id = ?",
+                    resultSet -> resultSet.next() ? resultSet.getBytes(1) : null, userId);
+            if (inlineImage == null) {
+                throw new UserNotFoundException("Profile image not found for user with id: " + userId);
+            }
+            return new ByteArrayResource(inlineImage);
+        });
     }
 
     /**
@@ -206,6 +296,8 @@ public class UserService {
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException("User not found with id: " + userId);
         }
+        admissionService.releaseSeatsOfDeletedUser(userId);
         userRepository.deleteById(userId);
+        tokenEpochRegistry.revoke(userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.eventhubapi.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A lightweight projection of a user's profile used to build UserSummary objects in bulk,
+ * without loading the User entity or the profile image itself.
+ */
+@Getter
+@AllArgsConstructor
+public class ProfileSummary {
+    private final Long userId;
+    private final String name;
+    private final boolean hasProfileImage;
+}
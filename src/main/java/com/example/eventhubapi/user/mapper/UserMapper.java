@@ -3,6 +3,7 @@ package com.example.eventhubapi.user.mapper;
 import com.example.eventhubapi.common.dto.UserSummary;
 import com.example.eventhubapi.user.Profile;
 import com.example.eventhubapi.user.User;
+import com.example.eventhubapi.user.dto.ProfileSummary;
 import com.example.eventhubapi.user.dto.UserDto;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -13,6 +14,9 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @Service
 public class UserMapper {
 
+    /** Longer-side size, in pixels, of the avatar rendition linked from user summaries. */
+    private static final int AVATAR_SIZE = 128;
+
     /**
      * Converts a User entity to a UserDto.
      *
@@ -35,7 +39,7 @@ public class UserMapper {
         if (profile != null) {
             dto.setName(profile.getName());
             dto.setDescription(profile.getDescription());
-            dto.setProfileImageUrl(buildProfileImageUrl(user.getId(), profile));
+            dto.setProfileImageUrl(buildProfileImageUrl(user.getId(), hasProfileImage(profile), null));
         }
 
         return dto;
@@ -46,18 +50,38 @@ public class UserMapper {
             return null;
         }
         String name = user.getProfile() != null ? user.getProfile().getName() : null;
-        String imageUrl = user.getProfile() != null ? buildProfileImageUrl(user.getId(), user.getProfile()) : null;
+        String imageUrl = user.getProfile() != null ? buildProfileImageUrl(user.getId(), hasProfileImage(user.getProfile()), AVATAR_SIZE) : null;
         return new UserSummary(user.getId(), name, imageUrl);
     }
 
-    private String buildProfileImageUrl(Long userId, Profile profile) {
-        if (profile.getProfileImage() != null && profile.getProfileImage().length > 0) {
-            return ServletUriComponentsBuilder
-                    .fromCurrentContextPath()
-                    .path("/api/users/")
+    /**
+     * Converts a ProfileSummary projection to a UserSummary.
+     *
+     * @param summary The profile projection.
+     * @return The corresponding UserSummary.
+     */
+    public UserSummary toUserSummary(ProfileSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+        return new UserSummary(summary.getUserId(), summary.getName(),
+                buildProfileImageUrl(summary.getUserId(), summary.isHasProfileImage(), AVATAR_SIZE));
+    }
+
+    private boolean hasProfileImage(Profile profile) {
+        return profile.getProfileImageHash() != null;
+    }
+
+    private String buildProfileImageUrl(Long userId, boolean hasProfileImage, Integer size) {
+        if (hasProfileImage) {
+            ServletUriComponentsBuilder builder = ServletUriComponentsBuilder.fromCurrentContextPath();
+            builder.path("/api/users/")
                     .path(String.valueOf(userId))
-                    .path("/profile-image")
-                    .toUriString();
+                    .path("/profile-image");
+            if (size != null) {
+                builder.queryParam("size", size);
+            }
+            return builder.toUriString();
         }
         return null;
     }
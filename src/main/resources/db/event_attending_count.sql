@@ -0,0 +1,14 @@
+-- Adds the denormalised attending counter to events and backfills it from the participant table.
+-- Must be applied to the event_hub schema before deploying, as Hibernate runs with ddl-auto=validate.
+
+ALTER TABLE event ADD COLUMN attending_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE event e
+SET attending_count = (
+    SELECT COUNT(*)
+    FROM participant p
+    WHERE p.event_id = e.event_id
+      AND p.status = 'attending'
+);
+
+ALTER TABLE event ADD CONSTRAINT event_attending_count_non_negative CHECK (attending_count >= 0);
@@ -0,0 +1,12 @@
+-- Persisted waitlist for capacity-limited events.
+-- Must be applied to the event_hub schema before deploying, as Hibernate runs with ddl-auto=validate.
+
+CREATE TABLE waitlist_entry (
+    waitlist_entry_id BIGSERIAL PRIMARY KEY,
+    event_id          BIGINT      NOT NULL REFERENCES event (event_id) ON DELETE CASCADE,
+    account_id        BIGINT      NOT NULL REFERENCES account (account_id) ON DELETE CASCADE,
+    created_at        TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT waitlist_entry_event_account_unique UNIQUE (event_id, account_id)
+);
+
+CREATE INDEX waitlist_entry_event_order_idx ON waitlist_entry (event_id, waitlist_entry_id);
@@ -0,0 +1,13 @@
+-- Downscaled renditions of uploaded images, keyed by the content hash of the original.
+-- Must be applied to the event_hub schema before deploying, as Hibernate runs with ddl-auto=validate.
+
+CREATE TABLE image_rendition (
+    image_rendition_id BIGSERIAL   PRIMARY KEY,
+    source_hash        VARCHAR(64) NOT NULL,
+    max_size           INTEGER     NOT NULL,
+    content_hash       VARCHAR(64) NOT NULL,
+    content_type       VARCHAR(50) NOT NULL,
+    CONSTRAINT image_rendition_source_size_unique UNIQUE (source_hash, max_size)
+);
+
+CREATE INDEX image_rendition_content_hash_idx ON image_rendition (content_hash);
@@ -0,0 +1,14 @@
+-- Media content moves out of the media table into the content-addressed media storage.
+-- Must be applied to the event_hub schema before deploying, as Hibernate runs with ddl-auto=validate.
+-- Existing rows keep their bytes in media_file until migrated with media.storage.maintenance.enabled=true.
+
+ALTER TABLE media
+    ADD COLUMN content_hash VARCHAR(64),
+    ADD COLUMN size_bytes   BIGINT;
+
+ALTER TABLE media ALTER COLUMN media_file DROP NOT NULL;
+
+CREATE INDEX media_content_hash_idx ON media (content_hash);
+
+-- Once every row has a content_hash, the legacy column can be dropped:
+-- ALTER TABLE media DROP COLUMN media_file;
@@ -0,0 +1,4 @@
+-- Serves the per-event media listing (newest first, keyset on media_id) from the index alone for the seek.
+-- Must be applied to the event_hub schema before deploying.
+
+CREATE INDEX media_event_id_media_id_idx ON media (event_id, media_id DESC);
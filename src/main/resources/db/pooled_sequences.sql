@@ -0,0 +1,55 @@
+-- Sequences behind the pooled ID generator (see PooledSequenceGenerator), replacing identity/serial columns so
+-- Hibernate can batch inserts. Must be applied to the event_hub schema before deploying, as Hibernate runs with
+-- ddl-auto=validate.
+--
+-- INCREMENT BY must equal eventhub.id.allocation_size (50). To change the allocation size later, change both
+-- the setting and every sequence (ALTER SEQUENCE ... INCREMENT BY n) in the same deployment.
+-- Each sequence resumes one block above the highest existing ID, which is safe for both the pooled-lo and pooled
+-- optimizers. Column defaults are moved to the same sequences, so rows inserted by plain SQL never reuse an ID
+-- Hibernate has handed out; such a row uses up a whole block. The bulk event import reserves blocks itself and
+-- fills them, one nextval per block of rows.
+
+CREATE SEQUENCE account_id_seq INCREMENT BY 50 OWNED BY account.account_id;
+SELECT setval('account_id_seq', COALESCE((SELECT MAX(account_id) FROM account), 0) + 51, false);
+ALTER TABLE account ALTER COLUMN account_id DROP IDENTITY IF EXISTS;
+ALTER TABLE account ALTER COLUMN account_id SET DEFAULT nextval('account_id_seq');
+
+CREATE SEQUENCE region_id_seq INCREMENT BY 50 OWNED BY region.region_id;
+SELECT setval('region_id_seq', COALESCE((SELECT MAX(region_id) FROM region), 0) + 51, false);
+ALTER TABLE region ALTER COLUMN region_id DROP IDENTITY IF EXISTS;
+ALTER TABLE region ALTER COLUMN region_id SET DEFAULT nextval('region_id_seq');
+
+CREATE SEQUENCE city_id_seq INCREMENT BY 50 OWNED BY city.city_id;
+SELECT setval('city_id_seq', COALESCE((SELECT MAX(city_id) FROM city), 0) + 51, false);
+ALTER TABLE city ALTER COLUMN city_id DROP IDENTITY IF EXISTS;
+ALTER TABLE city ALTER COLUMN city_id SET DEFAULT nextval('city_id_seq');
+
+CREATE SEQUENCE postal_code_id_seq INCREMENT BY 50 OWNED BY postal_code.postal_code_id;
+SELECT setval('postal_code_id_seq', COALESCE((SELECT MAX(postal_code_id) FROM postal_code), 0) + 51, false);
+ALTER TABLE postal_code ALTER COLUMN postal_code_id DROP IDENTITY IF EXISTS;
+ALTER TABLE postal_code ALTER COLUMN postal_code_id SET DEFAULT nextval('postal_code_id_seq');
+
+CREATE SEQUENCE location_id_seq INCREMENT BY 50 OWNED BY location.location_id;
+SELECT setval('location_id_seq', COALESCE((SELECT MAX(location_id) FROM location), 0) + 51, false);
+ALTER TABLE location ALTER COLUMN location_id DROP IDENTITY IF EXISTS;
+ALTER TABLE location ALTER COLUMN location_id SET DEFAULT nextval('location_id_seq');
+
+CREATE SEQUENCE event_id_seq INCREMENT BY 50 OWNED BY event.event_id;
+SELECT setval('event_id_seq', COALESCE((SELECT MAX(event_id) FROM event), 0) + 51, false);
+ALTER TABLE event ALTER COLUMN event_id DROP IDENTITY IF EXISTS;
+ALTER TABLE event ALTER COLUMN event_id SET DEFAULT nextval('event_id_seq');
+
+CREATE SEQUENCE media_id_seq INCREMENT BY 50 OWNED BY media.media_id;
+SELECT setval('media_id_seq', COALESCE((SELECT MAX(media_id) FROM media), 0) + 51, false);
+ALTER TABLE media ALTER COLUMN media_id DROP IDENTITY IF EXISTS;
+ALTER TABLE media ALTER COLUMN media_id SET DEFAULT nextval('media_id_seq');
+
+CREATE SEQUENCE invitation_id_seq INCREMENT BY 50 OWNED BY invitation.invitation_id;
+SELECT setval('invitation_id_seq', COALESCE((SELECT MAX(invitation_id) FROM invitation), 0) + 51, false);
+ALTER TABLE invitation ALTER COLUMN invitation_id DROP IDENTITY IF EXISTS;
+ALTER TABLE invitation ALTER COLUMN invitation_id SET DEFAULT nextval('invitation_id_seq');
+
+CREATE SEQUENCE notification_id_seq INCREMENT BY 50 OWNED BY notification.notification_id;
+SELECT setval('notification_id_seq', COALESCE((SELECT MAX(notification_id) FROM notification), 0) + 51, false);
+ALTER TABLE notification ALTER COLUMN notification_id DROP IDENTITY IF EXISTS;
+ALTER TABLE notification ALTER COLUMN notification_id SET DEFAULT nextval('notification_id_seq');
@@ -0,0 +1,11 @@
+-- Profile images move out of the profile table into the content-addressed media storage.
+-- Must be applied to the event_hub schema before deploying, as Hibernate runs with ddl-auto=validate.
+-- The hash of existing images is filled in here, so avatar URLs keep appearing before the bytes are
+-- moved with media.storage.maintenance.enabled=true; until then they are served from profile_image.
+
+ALTER TABLE profile ADD COLUMN profile_image_hash VARCHAR(64);
+
+UPDATE profile SET profile_image_hash = encode(sha256(profile_image), 'hex') WHERE profile_image IS NOT NULL;
+
+-- Once no profile_image is left, the legacy column can be dropped:
+-- ALTER TABLE profile DROP COLUMN profile_image;
@@ -0,0 +1,16 @@
+-- Resumable media uploads in progress; their content is spooled under media.uploads.spool-dir.
+-- Must be applied to the event_hub schema before deploying, as Hibernate runs with ddl-auto=validate.
+
+CREATE TABLE upload_session (
+    upload_session_id VARCHAR(36)  PRIMARY KEY,
+    event_id          BIGINT       NOT NULL REFERENCES event (event_id) ON DELETE CASCADE,
+    account_id        BIGINT       NOT NULL REFERENCES account (account_id) ON DELETE CASCADE,
+    usage             VARCHAR(255) NOT NULL,
+    media_type        VARCHAR(255) NOT NULL,
+    total_bytes       BIGINT       NOT NULL,
+    received_bytes    BIGINT       NOT NULL,
+    created_at        TIMESTAMPTZ  NOT NULL,
+    last_activity_at  TIMESTAMPTZ  NOT NULL
+);
+
+CREATE INDEX upload_session_last_activity_idx ON upload_session (last_activity_at);
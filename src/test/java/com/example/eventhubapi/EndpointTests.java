@@ -779,6 +779,26 @@ public class EndpointTests extends AbstractTransactionalTestNGSpringContextTests
 
     }
 
+    @Test
+    public void testTokenRevokedAfterBan() throws Exception {
+        mockMvc.perform(get("/api/account/me")
+                        .header("Authorization", userToken))
+                .andExpect(status().isOk());
+
+        AdminUserUpdateStatusRequest statusRequest = new AdminUserUpdateStatusRequest();
+        statusRequest.setStatus("banned");
+        mockMvc.perform(patch("/api/admin/accounts/" + userId + "/status")
+                        .header("Authorization", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusRequest)))
+                .andExpect(status().isOk());
+
+        // The token issued before the ban must no longer authenticate
+        mockMvc.perform(get("/api/account/me")
+                        .header("Authorization", userToken))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     public void testAccessDeniedHandling() throws Exception {
         // Organizer creates an event
@@ -4,33 +4,80 @@ import com.example.eventhubapi.admin.AdminService;
 import com.example.eventhubapi.admin.dto.AdminEventUpdateRequest;
 import com.example.eventhubapi.admin.dto.AdminChangeUserRoleRequest;
 import com.example.eventhubapi.admin.dto.AdminUserUpdateStatusRequest;
+import com.example.eventhubapi.admin.export.AdminExportService;
+import com.example.eventhubapi.admin.export.ExportFormat;
+import com.example.eventhubapi.auth.JwtService;
 import com.example.eventhubapi.auth.dto.LoginRequest;
 import com.example.eventhubapi.auth.dto.RegistrationRequest;
 import com.example.eventhubapi.event.EventRepository;
 import com.example.eventhubapi.event.dto.EventCreationRequest;
+import com.example.eventhubapi.event.media.Media;
+import com.example.eventhubapi.event.media.MediaRepository;
+import com.example.eventhubapi.event.media.enums.MediaUsage;
+import com.example.eventhubapi.event.media.rendition.ImageRenditionService;
+import com.example.eventhubapi.event.participant.Participant;
+import com.example.eventhubapi.event.participant.ParticipantRepository;
+import com.example.eventhubapi.event.participant.enums.EventRole;
 import com.example.eventhubapi.invitation.dto.InvitationCreateRequest;
 import com.example.eventhubapi.location.dto.LocationCreationRequest;
+import com.example.eventhubapi.notification.AccountNotification;
+import com.example.eventhubapi.notification.AccountNotificationRepository;
+import com.example.eventhubapi.notification.Notification;
+import com.example.eventhubapi.notification.NotificationRepository;
+import com.example.eventhubapi.notification.NotificationService;
+import com.example.eventhubapi.notification.enums.NotificationStatus;
+import com.example.eventhubapi.security.AccountCache;
+import com.example.eventhubapi.security.AuthenticatedAccount;
+import com.example.eventhubapi.security.CurrentAccount;
+import com.example.eventhubapi.security.CurrentAccountArgumentResolver;
+import com.example.eventhubapi.security.TokenEpochRegistry;
 import com.example.eventhubapi.user.User;
+import com.example.eventhubapi.user.UserController;
 import com.example.eventhubapi.user.UserRepository;
 import com.example.eventhubapi.user.dto.ChangePasswordRequest;
 import com.example.eventhubapi.user.dto.UpdateProfileRequest;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.testng.AbstractTransactionalTestNGSpringContextTests;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,11 +85,18 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -67,6 +121,48 @@ public class EndpointTests2 extends AbstractTransactionalTestNGSpringContextTest
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private ImageRenditionService imageRenditionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdminExportService adminExportService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private AccountNotificationRepository accountNotificationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private CurrentAccountArgumentResolver currentAccountArgumentResolver;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenEpochRegistry tokenEpochRegistry;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
 
     private String adminToken;
     private String organizerToken;
@@ -433,6 +529,604 @@ public class EndpointTests2 extends AbstractTransactionalTestNGSpringContextTest
         mockMvc.perform(get("/api/events/" + eventId)).andExpect(status().isOk()).andExpect(jsonPath("$.participantsCount").value(2));
     }
 
+    @Test
+    public void testParticipantCount_FollowsLeavesAndStatusChangesAndRejectsOverbooking() throws Exception {
+        EventCreationRequest eventRequest = createSampleEvent();
+        eventRequest.setMaxParticipants(2L);
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(eventRequest))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(1));
+
+        Long changingId = findOrCreateUserAndGetId("status_changing@test.com", "Status Changing", "password");
+        String changingToken = loginAndGetToken("status_changing@test.com", "password");
+        findOrCreateUserAndGetId("late_joiner@test.com", "Late Joiner", "password");
+        String lateJoinerToken = loginAndGetToken("late_joiner@test.com", "password");
+        String statusUrl = "/api/events/" + eventId + "/participants/" + changingId + "/status";
+
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", changingToken)).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(2));
+
+        mockMvc.perform(delete("/api/events/" + eventId + "/participants/me").header("Authorization", changingToken)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(1));
+
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", changingToken)).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(2));
+
+        mockMvc.perform(patch(statusUrl).header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("status", "cancelled"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(1));
+
+        mockMvc.perform(patch(statusUrl).header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("status", "attending"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(2));
+
+        mockMvc.perform(patch(statusUrl).header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("status", "banned"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(1));
+
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", lateJoinerToken)).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(2));
+
+        // The freed seat has been taken, so the banned participant cannot be let back in.
+        mockMvc.perform(patch(statusUrl).header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("status", "attending"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Event is full."));
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.participantsCount").value(2));
+    }
+
+    @Test
+    public void testModerator_CanRemoveGalleryMediaAndChangeStatusesButParticipantCannot() throws Exception {
+        EventCreationRequest eventRequest = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(eventRequest))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        Long moderatorId = findOrCreateUserAndGetId("moderator@test.com", "Moderator", "password");
+        String moderatorToken = loginAndGetToken("moderator@test.com", "password");
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", moderatorToken)).andExpect(status().isCreated());
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", userToken)).andExpect(status().isCreated());
+        Participant moderator = participantRepository.findByEventIdAndUserId(eventId, moderatorId).orElseThrow();
+        moderator.setEventRole(EventRole.MODERATOR);
+        participantRepository.saveAndFlush(moderator);
+
+        MockMultipartFile imageFile = new MockMultipartFile("file", "moderated.jpg", MediaType.IMAGE_JPEG_VALUE, "moderated-content".getBytes());
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(imageFile).header("Authorization", organizerToken))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long mediaId = objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+
+        // A plain participant may neither remove other people's media nor change statuses.
+        mockMvc.perform(delete("/api/events/" + eventId + "/media/gallery/" + mediaId).header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/events/" + eventId + "/participants/" + moderatorId + "/status").header("Authorization", userToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("status", "cancelled"))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/" + moderatorId).header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+
+        // A moderator may do both.
+        mockMvc.perform(delete("/api/events/" + eventId + "/media/gallery/" + mediaId).header("Authorization", moderatorToken))
+                .andExpect(status().isNoContent());
+        assertThat(mediaRepository.findById(mediaId)).isEmpty();
+        mockMvc.perform(patch("/api/events/" + eventId + "/participants/" + userId + "/status").header("Authorization", moderatorToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("status", "cancelled"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("cancelled"));
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/" + userId).header("Authorization", moderatorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("cancelled"));
+    }
+
+    @Test
+    public void testJoinFullEvent_WaitlistsAndPromotesOnLeave() throws Exception {
+        EventCreationRequest eventRequest = createSampleEvent();
+        eventRequest.setMaxParticipants(2L);
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(eventRequest))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        findOrCreateUserAndGetId("seat_holder@test.com", "Seat Holder", "password");
+        String seatHolderToken = loginAndGetToken("seat_holder@test.com", "password");
+        findOrCreateUserAndGetId("waiting@test.com", "Waiting", "password");
+        String waitingToken = loginAndGetToken("waiting@test.com", "password");
+
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", seatHolderToken))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("confirmed"));
+
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", waitingToken))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("waitlisted"))
+                .andExpect(jsonPath("$.waitlistPosition").value(1));
+
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/me").header("Authorization", waitingToken))
+                .andExpect(jsonPath("$.status").value("waitlisted"));
+
+        mockMvc.perform(delete("/api/events/" + eventId + "/participants/me").header("Authorization", seatHolderToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/me").header("Authorization", waitingToken))
+                .andExpect(jsonPath("$.status").value("attending"));
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(status().isOk()).andExpect(jsonPath("$.participantsCount").value(2));
+    }
+
+    @Test
+    public void testDeletingAttendingUser_PromotesFirstWaitlistedUser() throws Exception {
+        EventCreationRequest eventRequest = createSampleEvent();
+        eventRequest.setMaxParticipants(2L);
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(eventRequest))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        Long seatHolderId = findOrCreateUserAndGetId("deleted_seat_holder@test.com", "Deleted Seat Holder", "password");
+        String seatHolderToken = loginAndGetToken("deleted_seat_holder@test.com", "password");
+        findOrCreateUserAndGetId("first_waiting@test.com", "First Waiting", "password");
+        String firstWaitingToken = loginAndGetToken("first_waiting@test.com", "password");
+        findOrCreateUserAndGetId("second_waiting@test.com", "Second Waiting", "password");
+        String secondWaitingToken = loginAndGetToken("second_waiting@test.com", "password");
+
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", seatHolderToken))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", firstWaitingToken))
+                .andExpect(jsonPath("$.waitlistPosition").value(1));
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", secondWaitingToken))
+                .andExpect(jsonPath("$.waitlistPosition").value(2));
+
+        mockMvc.perform(delete("/api/admin/accounts/" + seatHolderId).header("Authorization", adminToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/me").header("Authorization", firstWaitingToken))
+                .andExpect(jsonPath("$.status").value("attending"));
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/me").header("Authorization", secondWaitingToken))
+                .andExpect(jsonPath("$.status").value("waitlisted"));
+
+        mockMvc.perform(delete("/api/account").header("Authorization", firstWaitingToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/me").header("Authorization", secondWaitingToken))
+                .andExpect(jsonPath("$.status").value("attending"));
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(status().isOk()).andExpect(jsonPath("$.participantsCount").value(2));
+    }
+
+    @Test
+    public void testParticipantLimitChange_RejectsOverbookingAndPromotesIntoNewSeats() throws Exception {
+        EventCreationRequest eventRequest = createSampleEvent();
+        eventRequest.setMaxParticipants(2L);
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(eventRequest))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        findOrCreateUserAndGetId("limit_attendee@test.com", "Limit Attendee", "password");
+        String attendeeToken = loginAndGetToken("limit_attendee@test.com", "password");
+        findOrCreateUserAndGetId("limit_waiting1@test.com", "Limit Waiting One", "password");
+        String firstWaitingToken = loginAndGetToken("limit_waiting1@test.com", "password");
+        findOrCreateUserAndGetId("limit_waiting2@test.com", "Limit Waiting Two", "password");
+        String secondWaitingToken = loginAndGetToken("limit_waiting2@test.com", "password");
+
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", attendeeToken))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", firstWaitingToken))
+                .andExpect(jsonPath("$.waitlistPosition").value(1));
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", secondWaitingToken))
+                .andExpect(jsonPath("$.waitlistPosition").value(2));
+
+        eventRequest.setMaxParticipants(1L);
+        mockMvc.perform(put("/api/events/" + eventId).header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(eventRequest)))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/events/" + eventId)).andExpect(jsonPath("$.maxParticipants").value(2));
+
+        eventRequest.setMaxParticipants(3L);
+        mockMvc.perform(put("/api/events/" + eventId).header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(eventRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxParticipants").value(3))
+                .andExpect(jsonPath("$.participantsCount").value(3));
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/me").header("Authorization", firstWaitingToken))
+                .andExpect(jsonPath("$.status").value("attending"));
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/me").header("Authorization", secondWaitingToken))
+                .andExpect(jsonPath("$.status").value("waitlisted"));
+
+        AdminEventUpdateRequest adminUpdate = new AdminEventUpdateRequest();
+        adminUpdate.setName(eventRequest.getName());
+        adminUpdate.setStartDate(eventRequest.getStartDate());
+        adminUpdate.setEndDate(eventRequest.getEndDate());
+        adminUpdate.setIsPublic(eventRequest.getIsPublic());
+        mockMvc.perform(put("/api/admin/events/" + eventId).header("Authorization", adminToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(adminUpdate)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participantsCount").value(4));
+        mockMvc.perform(get("/api/events/" + eventId + "/participants/me").header("Authorization", secondWaitingToken))
+                .andExpect(jsonPath("$.status").value("attending"));
+    }
+
+    @Test
+    public void testPublicEvents_CursorModeWalksAllMatchingEvents() throws Exception {
+        String prefix = "Cursor " + UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            EventCreationRequest eventRequest = createSampleEvent();
+            eventRequest.setName(prefix + " " + i);
+            mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(eventRequest))).andExpect(status().isCreated());
+        }
+
+        MvcResult firstSlice = mockMvc.perform(get("/api/events/public").param("after", "").param("size", "2").param("name", prefix).param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value(prefix + " 0"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstSlice.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/events/public").param("after", nextCursor).param("size", "2").param("name", prefix).param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value(prefix + " 2"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/events/public").param("after", nextCursor).param("sort", "startDate,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // The index only follows committed events
+    public void testPublicEventSearch_RanksNameMatchesFirstAndFollowsDeletes() throws Exception {
+        String word = "searchable" + UUID.randomUUID().toString().replace("-", "");
+        String privateWord = "secret" + UUID.randomUUID().toString().replace("-", "");
+        List<Long> eventIds = new ArrayList<>();
+        try {
+            EventCreationRequest describedEvent = createSampleEvent();
+            describedEvent.setDescription("An evening about " + word + " topics");
+            eventIds.add(createEvent(describedEvent));
+            EventCreationRequest namedEvent = createSampleEvent();
+            namedEvent.setName("Meetup " + word);
+            long namedEventId = createEvent(namedEvent);
+            eventIds.add(namedEventId);
+            EventCreationRequest privateEvent = createSampleEvent();
+            privateEvent.setDescription("Planning the " + privateWord + " party");
+            privateEvent.setIsPublic(false);
+            eventIds.add(createEvent(privateEvent));
+
+            String typedPrefix = word.substring(0, word.length() - 4);
+            mockMvc.perform(get("/api/events/public/search").param("q", typedPrefix))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(namedEventId));
+            mockMvc.perform(get("/api/events/public/suggest").param("prefix", typedPrefix))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0]").value(word));
+            mockMvc.perform(get("/api/events/public/suggest").param("prefix", privateWord.substring(0, privateWord.length() - 4)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+
+            mockMvc.perform(delete("/api/events/" + namedEventId).header("Authorization", organizerToken)).andExpect(status().isNoContent());
+            mockMvc.perform(get("/api/events/public/search").param("q", word))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(1));
+        } finally {
+            deleteEvents(eventIds);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // The index only follows committed events
+    public void testPublicEventSearch_PrefixMatchesEveryTermSharingIt() throws Exception {
+        String prefix = "pfx" + UUID.randomUUID().toString().replace("-", "");
+        List<Long> eventIds = new ArrayList<>();
+        try {
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < 70; i++) {
+                description.append(prefix).append(String.format("a%03d ", i));
+            }
+            EventCreationRequest manyTermsEvent = createSampleEvent();
+            manyTermsEvent.setDescription(description.toString());
+            eventIds.add(createEvent(manyTermsEvent));
+            EventCreationRequest lastTermEvent = createSampleEvent();
+            lastTermEvent.setName("Meetup " + prefix + "zzz");
+            long lastTermEventId = createEvent(lastTermEvent);
+            eventIds.add(lastTermEventId);
+
+            // The name term sorts after all 70 description terms, so it is found only if every expansion is kept.
+            mockMvc.perform(get("/api/events/public/search").param("q", prefix))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(lastTermEventId));
+            mockMvc.perform(get("/api/events/public/search").param("q", "meetup " + prefix.substring(0, 6)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[?(@.id == " + lastTermEventId + ")]").exists());
+        } finally {
+            deleteEvents(eventIds);
+        }
+    }
+
+    @Test
+    public void testMediaUpload_IdenticalContentIsStoredOnceAndServedToEachRow() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        byte[] bytes = ("same-bytes-" + UUID.randomUUID()).getBytes();
+        long[] mediaIds = new long[2];
+        for (int i = 0; i < mediaIds.length; i++) {
+            MockMultipartFile imageFile = new MockMultipartFile("file", "copy" + i + ".jpg", MediaType.IMAGE_JPEG_VALUE, bytes);
+            MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(imageFile).header("Authorization", organizerToken))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.sizeBytes").value(bytes.length))
+                    .andReturn();
+            mediaIds[i] = objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+        }
+
+        assertThat(mediaRepository.findById(mediaIds[0]).orElseThrow().getContentHash())
+                .isEqualTo(mediaRepository.findById(mediaIds[1]).orElseThrow().getContentHash());
+        for (long mediaId : mediaIds) {
+            mockMvc.perform(get("/api/media/gallery/" + mediaId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(bytes));
+        }
+    }
+
+    @Test
+    public void testMediaDownload_ServesRequestedByteRanges() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        MockMultipartFile videoFile = new MockMultipartFile("file", "clip.mp4", "video/mp4", "0123456789".getBytes());
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(videoFile).header("Authorization", organizerToken))
+                .andExpect(status().isCreated()).andReturn();
+        long mediaId = objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+
+        MvcResult fullResult = mockMvc.perform(get("/api/media/gallery/" + mediaId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().bytes("0123456789".getBytes()))
+                .andReturn();
+        String etag = fullResult.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/media/gallery/" + mediaId).header("Range", "bytes=2-5").header("If-Range", etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(content().bytes("2345".getBytes()));
+        mockMvc.perform(get("/api/media/gallery/" + mediaId).header("Range", "bytes=0-1,8-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Type", containsString("multipart/byteranges")))
+                .andExpect(content().string(containsString("Content-Range: bytes 8-9/10")));
+        mockMvc.perform(get("/api/media/gallery/" + mediaId).header("Range", "bytes=2-5").header("If-Range", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("0123456789".getBytes()));
+        mockMvc.perform(get("/api/media/gallery/" + mediaId).header("Range", "bytes=50-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    public void testMediaDownload_AnswersConditionalRequestsWithNotModified() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        MockMultipartFile imageFile = new MockMultipartFile("file", "logo.png", MediaType.IMAGE_PNG_VALUE, ("logo-" + UUID.randomUUID()).getBytes());
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(imageFile).header("Authorization", organizerToken))
+                .andExpect(status().isCreated()).andReturn();
+        long mediaId = objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+
+        MvcResult fullResult = mockMvc.perform(get("/api/media/gallery/" + mediaId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andReturn();
+        String etag = fullResult.getResponse().getHeader("ETag");
+        String lastModified = fullResult.getResponse().getHeader("Last-Modified");
+
+        mockMvc.perform(get("/api/media/gallery/" + mediaId).header("If-None-Match", "\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/api/media/gallery/" + mediaId).header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/media/gallery/" + mediaId).header("If-None-Match", "\"other\"").header("If-Modified-Since", lastModified))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(imageFile.getBytes()));
+        mockMvc.perform(get("/api/media/gallery/" + mediaId + "?size=128"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("no-cache")));
+    }
+
+    @Test
+    public void testMediaDownload_RepeatedReadsAreServedFromContentCache() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        byte[] bytes = ("hot-logo-" + UUID.randomUUID()).getBytes();
+        MockMultipartFile imageFile = new MockMultipartFile("file", "logo.png", MediaType.IMAGE_PNG_VALUE, bytes);
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(imageFile).header("Authorization", organizerToken))
+                .andExpect(status().isCreated()).andReturn();
+        long mediaId = objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+
+        double hitsBefore = meterRegistry.get("cache.gets").tag("cache", "media.content").tag("result", "hit").functionCounter().count();
+        double servedBefore = meterRegistry.get("media.content.cache.served").counter().count();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/media/gallery/" + mediaId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(bytes));
+        }
+        mockMvc.perform(get("/api/media/gallery/" + mediaId).header("Range", "bytes=4-6"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("log".getBytes()));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "media.content").tag("result", "hit").functionCounter().count())
+                .isGreaterThanOrEqualTo(hitsBefore + 3);
+        assertThat(meterRegistry.get("media.content.cache.served").counter().count())
+                .isEqualTo(servedBefore + 3.0 * bytes.length + 3);
+    }
+
+    @Test
+    public void testResumableUpload_ResumesAtReceivedOffsetAndCreatesMedia() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        Map<String, Object> sessionRequest = Map.of("usage", "gallery", "mediaType", "video/mp4", "totalBytes", 10);
+        mockMvc.perform(post("/api/events/" + eventId + "/media/uploads").header("Authorization", userToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(sessionRequest)))
+                .andExpect(status().isForbidden());
+        MvcResult sessionResult = mockMvc.perform(post("/api/events/" + eventId + "/media/uploads").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(sessionRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.receivedBytes").value(0))
+                .andReturn();
+        String uploadId = objectMapper.readTree(sessionResult.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(put("/api/media/uploads/" + uploadId + "?offset=0").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_OCTET_STREAM).content("01234".getBytes()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(5));
+        mockMvc.perform(put("/api/media/uploads/" + uploadId + "?offset=0").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_OCTET_STREAM).content("01234".getBytes()))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/media/uploads/" + uploadId).header("Authorization", userToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/media/uploads/" + uploadId + "/complete").header("Authorization", organizerToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/media/uploads/" + uploadId + "?offset=5").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_OCTET_STREAM).content("56789-too-long".getBytes()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/media/uploads/" + uploadId).header("Authorization", organizerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(5));
+        mockMvc.perform(put("/api/media/uploads/" + uploadId + "?offset=5").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_OCTET_STREAM).content("56789".getBytes()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(10));
+
+        MvcResult completeResult = mockMvc.perform(post("/api/media/uploads/" + uploadId + "/complete").header("Authorization", organizerToken))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.sizeBytes").value(10))
+                .andReturn();
+        long mediaId = objectMapper.readTree(completeResult.getResponse().getContentAsString()).get("id").asLong();
+        mockMvc.perform(get("/api/media/gallery/" + mediaId))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("0123456789".getBytes()));
+        mockMvc.perform(get("/api/media/uploads/" + uploadId).header("Authorization", organizerToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testMediaLogo_ReuploadReplacesPreviousLogo() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        long[] logoIds = new long[2];
+        for (int i = 0; i < logoIds.length; i++) {
+            MockMultipartFile logoFile = new MockMultipartFile("file", "logo.png", MediaType.IMAGE_PNG_VALUE, ("logo-" + i).getBytes());
+            MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/logo").file(logoFile).header("Authorization", organizerToken))
+                    .andExpect(status().isCreated()).andReturn();
+            logoIds[i] = objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+        }
+
+        assertThat(mediaRepository.findByEventIdAndUsage(eventId, MediaUsage.LOGO)).extracting(Media::getId).containsExactly(logoIds[1]);
+        mockMvc.perform(get("/api/media/gallery/" + logoIds[0])).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testMediaDownload_ServesDownscaledRenditionWhenSizeRequested() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        BufferedImage image = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(17, 23, UUID.randomUUID().hashCode() & 0xFFFFFF);
+        ImageIO.write(image, "png", png);
+        MockMultipartFile imageFile = new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE, png.toByteArray());
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(imageFile).header("Authorization", organizerToken))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.thumbnailUrl").value(containsString("size=128")))
+                .andReturn();
+        long mediaId = objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(get("/api/media/gallery/" + mediaId + "?size=100"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(png.toByteArray()));
+
+        imageRenditionService.generateRenditions(mediaRepository.findById(mediaId).orElseThrow().getContentHash());
+
+        MvcResult thumbnailResult = mockMvc.perform(get("/api/media/gallery/" + mediaId + "?size=100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.IMAGE_JPEG_VALUE))
+                .andReturn();
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(thumbnailResult.getResponse().getContentAsByteArray()));
+        assertThat(thumbnail.getWidth()).isEqualTo(128);
+        assertThat(thumbnail.getHeight()).isEqualTo(85);
+        mockMvc.perform(get("/api/media/gallery/" + mediaId + "?size=800"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(png.toByteArray()));
+    }
+
+    @Test
+    public void testMediaRenditions_SubsampleLargeImagesAndSkipOversizedOnes() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        ByteArrayOutputStream wide = new ByteArrayOutputStream();
+        BufferedImage image = new BufferedImage(4400, 20, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(17, 3, UUID.randomUUID().hashCode() & 0xFFFFFF);
+        ImageIO.write(image, "png", wide);
+        long wideId = uploadGalleryImage(eventId, "wide.png", wide.toByteArray());
+        imageRenditionService.generateRenditions(mediaRepository.findById(wideId).orElseThrow().getContentHash());
+        MvcResult renditionResult = mockMvc.perform(get("/api/media/gallery/" + wideId + "?size=1000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.IMAGE_JPEG_VALUE))
+                .andReturn();
+        BufferedImage rendition = ImageIO.read(new ByteArrayInputStream(renditionResult.getResponse().getContentAsByteArray()));
+        assertThat(rendition.getWidth()).isEqualTo(1024);
+        assertThat(rendition.getHeight()).isEqualTo(5);
+
+        // A few dozen bytes declaring 50000x50000 pixels would need 10 GB once decoded.
+        byte[] bomb = pngDeclaring(50_000, 50_000);
+        long bombId = uploadGalleryImage(eventId, "bomb.png", bomb);
+        imageRenditionService.generateRenditions(mediaRepository.findById(bombId).orElseThrow().getContentHash());
+        mockMvc.perform(get("/api/media/gallery/" + bombId + "?size=100"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bomb));
+    }
+
+    @Test
+    public void testEventMediaListing_FiltersAndFollowsCursor() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        String[][] uploads = {{"gallery", "a.png", MediaType.IMAGE_PNG_VALUE}, {"gallery", "clip.mp4", "video/mp4"},
+                {"gallery", "b.jpg", MediaType.IMAGE_JPEG_VALUE}, {"schedule", "plan.pdf", MediaType.APPLICATION_PDF_VALUE}};
+        long[] mediaIds = new long[uploads.length];
+        for (int i = 0; i < uploads.length; i++) {
+            MockMultipartFile file = new MockMultipartFile("file", uploads[i][1], uploads[i][2], ("content-" + i).getBytes());
+            MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/" + uploads[i][0]).file(file).header("Authorization", organizerToken))
+                    .andExpect(status().isCreated()).andReturn();
+            mediaIds[i] = objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+        }
+
+        MvcResult firstSlice = mockMvc.perform(get("/api/events/" + eventId + "/media?usage=gallery&type=image&size=1").header("Authorization", organizerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(mediaIds[2]))
+                .andExpect(jsonPath("$.content[0].uploader.id").value(organizerId))
+                .andExpect(jsonPath("$.content[0].downloadUrl").value(containsString("/api/media/gallery/" + mediaIds[2])))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String cursor = objectMapper.readTree(firstSlice.getResponse().getContentAsString()).get("nextCursor").asText();
+        mockMvc.perform(get("/api/events/" + eventId + "/media?usage=gallery&type=image&size=1&after=" + cursor).header("Authorization", organizerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(mediaIds[0]))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/events/" + eventId + "/media").header("Authorization", organizerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(4));
+        mockMvc.perform(get("/api/events/" + eventId + "/media").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3));
+        mockMvc.perform(get("/api/events/" + eventId + "/media?usage=schedule").header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testProfileImage_SummaryLinksImageStoredOutsideProfile() throws Exception {
+        byte[] imageBytes = ("avatar-" + UUID.randomUUID()).getBytes();
+        MockMultipartFile imageFile = new MockMultipartFile("file", "avatar.jpg", MediaType.IMAGE_JPEG_VALUE, imageBytes);
+        mockMvc.perform(multipart("/api/account/profile-image").file(imageFile).header("Authorization", userToken))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findProfileImageHash(userId)).isPresent();
+        mockMvc.perform(get("/api/accounts/" + userId + "/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profileImageUrl").value(containsString("/api/users/" + userId + "/profile-image")));
+        mockMvc.perform(get("/api/users/" + userId + "/profile-image").header("Authorization", userToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(content().bytes(imageBytes));
+    }
+
     @Test
     public void testSecurity_OrganizerCannotModifyAnotherOrganizersEvent() throws Exception {
         EventCreationRequest event = createSampleEvent();
@@ -505,6 +1199,581 @@ public class EndpointTests2 extends AbstractTransactionalTestNGSpringContextTest
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void testGalleryArchive_StreamsGalleryWithStoredAndDeflatedEntries() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event))).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        byte[] photo = "png-bytes".getBytes();
+        byte[] drawing = "<svg xmlns=\"http://www.w3.org/2000/svg\"></svg>".getBytes();
+        MvcResult photoResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE, photo)).header("Authorization", organizerToken))
+                .andExpect(status().isCreated()).andReturn();
+        MvcResult drawingResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(new MockMultipartFile("file", "drawing.svg", "image/svg+xml", drawing)).header("Authorization", organizerToken))
+                .andExpect(status().isCreated()).andReturn();
+        mockMvc.perform(multipart("/api/events/" + eventId + "/media/schedule").file(new MockMultipartFile("file", "schedule.pdf", MediaType.APPLICATION_PDF_VALUE, "schedule-content".getBytes())).header("Authorization", organizerToken))
+                .andExpect(status().isCreated());
+        long photoId = objectMapper.readTree(photoResult.getResponse().getContentAsString()).get("id").asLong();
+        long drawingId = objectMapper.readTree(drawingResult.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(get("/api/events/" + eventId + "/media/archive").header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        MvcResult archiveResult = mockMvc.perform(get("/api/events/" + eventId + "/media/archive").header("Authorization", organizerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andExpect(header().string("Content-Disposition", containsString("event-" + eventId + "-gallery.zip")))
+                .andReturn();
+
+        Map<String, Integer> methods = new HashMap<>();
+        Map<String, byte[]> contents = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archiveResult.getResponse().getContentAsByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                methods.put(entry.getName(), entry.getMethod());
+                contents.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        assertThat(contents).containsOnlyKeys(photoId + ".png", drawingId + ".svg");
+        assertThat(methods.get(photoId + ".png")).isEqualTo(ZipEntry.STORED);
+        assertThat(methods.get(drawingId + ".svg")).isEqualTo(ZipEntry.DEFLATED);
+        assertThat(contents.get(photoId + ".png")).isEqualTo(photo);
+        assertThat(contents.get(drawingId + ".svg")).isEqualTo(drawing);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // The index only follows committed events
+    public void testNearbyEvents_ReturnsPublicEventsWithinRadiusNearestFirst() throws Exception {
+        List<Long> eventIds = new ArrayList<>();
+        try {
+            long nearId = createEventAt(-47.1234, -23.4567, true, 2);
+            eventIds.add(nearId);
+            long closeId = createEventAt(-47.0964, -23.4567, true, 2);
+            eventIds.add(closeId);
+            long farId = createEventAt(-46.7634, -23.4567, true, 3);
+            eventIds.add(farId);
+            eventIds.add(createEventAt(-47.1234, -23.4567, false, 2));
+
+            mockMvc.perform(get("/api/events/public/nearby?lat=-47.1234&lon=-23.4567&radiusKm=10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(nearId))
+                    .andExpect(jsonPath("$.content[0].distanceKm").value(0.0))
+                    .andExpect(jsonPath("$.content[1].id").value(closeId));
+            mockMvc.perform(get("/api/events/public/nearby?lat=-47.1234&lon=-23.4567&radiusKm=100&page=1&size=2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(3))
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.content[0].id").value(farId));
+            mockMvc.perform(get("/api/events/public/nearby?lat=-47.1234&lon=-23.4567&radiusKm=100&endDate=" + Instant.now().plus(2, ChronoUnit.DAYS).plus(1, ChronoUnit.HOURS)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(2));
+
+            mockMvc.perform(delete("/api/events/" + closeId).header("Authorization", organizerToken))
+                    .andExpect(status().isNoContent());
+            mockMvc.perform(get("/api/events/public/nearby?lat=-47.1234&lon=-23.4567&radiusKm=10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(1));
+            mockMvc.perform(get("/api/events/public/nearby?lat=91&lon=0&radiusKm=10"))
+                    .andExpect(status().isBadRequest());
+        } finally {
+            deleteEvents(eventIds);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // The public calendar only follows committed events
+    public void testCalendar_ReturnsOverlappingEventsAndWarnsAboutConflictingJoins() throws Exception {
+        List<Long> eventIds = new ArrayList<>();
+        try {
+            Instant base = Instant.parse("2091-03-01T00:00:00Z");
+            long morningId = createEventBetween(base.plus(9, ChronoUnit.HOURS), base.plus(12, ChronoUnit.HOURS));
+            eventIds.add(morningId);
+            long lunchId = createEventBetween(base.plus(11, ChronoUnit.HOURS), base.plus(14, ChronoUnit.HOURS));
+            eventIds.add(lunchId);
+            long eveningId = createEventBetween(base.plus(18, ChronoUnit.HOURS), base.plus(20, ChronoUnit.HOURS));
+            eventIds.add(eveningId);
+
+            mockMvc.perform(get("/api/events/calendar?from=" + base + "&to=" + base.plus(18, ChronoUnit.HOURS)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(morningId))
+                    .andExpect(jsonPath("$.content[1].id").value(lunchId));
+            mockMvc.perform(get("/api/events/calendar?from=" + base.plus(13, ChronoUnit.HOURS) + "&to=" + base.plus(1, ChronoUnit.DAYS)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(2))
+                    .andExpect(jsonPath("$.content[0].id").value(lunchId))
+                    .andExpect(jsonPath("$.content[1].id").value(eveningId));
+
+            mockMvc.perform(post("/api/events/" + morningId + "/participants").header("Authorization", userToken))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.conflicts.length()").value(0));
+            mockMvc.perform(post("/api/events/" + lunchId + "/participants").header("Authorization", userToken))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.conflicts.length()").value(1))
+                    .andExpect(jsonPath("$.conflicts[0].id").value(morningId));
+
+            mockMvc.perform(get("/api/events/my-calendar?from=" + base + "&to=" + base.plus(1, ChronoUnit.DAYS)).header("Authorization", userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].id").value(morningId))
+                    .andExpect(jsonPath("$[1].id").value(lunchId));
+            mockMvc.perform(delete("/api/events/" + lunchId + "/participants/me").header("Authorization", userToken))
+                    .andExpect(status().isNoContent());
+            mockMvc.perform(get("/api/events/my-calendar?from=" + base + "&to=" + base.plus(1, ChronoUnit.DAYS)).header("Authorization", userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1));
+
+            // Moving an event drops the cached calendars of the users attending it.
+            EventCreationRequest moved = createSampleEvent();
+            moved.setStartDate(base.plus(1, ChronoUnit.DAYS).plus(9, ChronoUnit.HOURS));
+            moved.setEndDate(base.plus(1, ChronoUnit.DAYS).plus(12, ChronoUnit.HOURS));
+            mockMvc.perform(put("/api/events/" + morningId).header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(moved)))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/events/my-calendar?from=" + base + "&to=" + base.plus(1, ChronoUnit.DAYS)).header("Authorization", userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+            mockMvc.perform(get("/api/events/calendar?from=" + base + "&to=" + base.plus(1, ChronoUnit.DAYS)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(2));
+
+            mockMvc.perform(get("/api/events/calendar?from=" + base + "&to=" + base))
+                    .andExpect(status().isBadRequest());
+        } finally {
+            deleteEvents(eventIds);
+        }
+    }
+
+    @Test
+    public void testAdminExport_StreamsRowsAsNdjsonAndEscapedCsv() throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        event.setName("=1+1, \"quoted\"");
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event)))
+                .andExpect(status().isCreated()).andReturn();
+        long eventId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        mockMvc.perform(post("/api/events/" + eventId + "/participants").header("Authorization", userToken))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/admin/export/events").header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/export/events?format=xml").header("Authorization", adminToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/export/events/999999/participants").header("Authorization", adminToken))
+                .andExpect(status().isNotFound());
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/admin/export/accounts?format=csv").header("Authorization", adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("text/csv")))
+                .andExpect(header().string("Content-Disposition", containsString("accounts.csv")));
+
+        // The streamed body is written on another thread that cannot see this test's uncommitted rows, so the
+        // content is checked by running the export in the test's own transaction.
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        adminExportService.exportEvents(ExportFormat.CSV, csv);
+        String csvText = csv.toString(StandardCharsets.UTF_8);
+        assertThat(csvText).startsWith("id,name,public,startDate,endDate,maxParticipants,attendingCount,organizerId,locationId\r\n");
+        assertThat(csvText).contains(eventId + ",\"'=1+1, \"\"quoted\"\"\",true,");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        adminExportService.exportParticipants(eventId, ExportFormat.NDJSON, ndjson);
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("userId").asLong()).isEqualTo(organizerId);
+        assertThat(objectMapper.readTree(lines[1]).get("userId").asLong()).isEqualTo(userId);
+        assertThat(objectMapper.readTree(lines[1]).get("status").asText()).isEqualTo("attending");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // The geo index only follows committed events
+    public void testBulkImport_CreatesValidRowsAndReportsRejectedOnes() throws Exception {
+        List<Long> eventIds = new ArrayList<>();
+        try {
+            Instant start = Instant.now().plus(3, ChronoUnit.DAYS);
+            Instant end = start.plus(2, ChronoUnit.HOURS);
+            String ndjson = "{\"name\":\"Imported Concert\",\"startDate\":\"" + start + "\",\"endDate\":\"" + end + "\",\"isPublic\":true," +
+                    "\"location\":{\"streetName\":\"Import Street\",\"streetNumber\":\"1\",\"postalCode\":\"54321\",\"city\":\"Import City\"," +
+                    "\"region\":\"ImportReg\",\"countryIsoCode\":\"PL\",\"latitude\":-12.3456,\"longitude\":65.4321}}\n" +
+                    "\n" +
+                    "{\"startDate\":\"" + start + "\",\"endDate\":\"" + end + "\",\"isPublic\":true}\n" +
+                    "{\"name\":\"Nowhere\",\"startDate\":\"" + start + "\",\"endDate\":\"" + end + "\",\"isPublic\":false,\"locationId\":999999}\n" +
+                    "{not json}\n";
+
+            MvcResult ndjsonResult = mockMvc.perform(post("/api/events/bulk").header("Authorization", organizerToken)
+                            .contentType("application/x-ndjson").content(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.failed").value(3))
+                    .andExpect(jsonPath("$.rows[0].row").value(1))
+                    .andExpect(jsonPath("$.rows[1].error").value(containsString("name")))
+                    .andExpect(jsonPath("$.rows[2].error").value(containsString("999999")))
+                    .andExpect(jsonPath("$.rows[3].error").value(containsString("Malformed row")))
+                    .andReturn();
+            long importedId = objectMapper.readTree(ndjsonResult.getResponse().getContentAsString()).get("rows").get(0).get("eventId").asLong();
+            eventIds.add(importedId);
+
+            mockMvc.perform(get("/api/events/" + importedId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Imported Concert"))
+                    .andExpect(jsonPath("$.participantsCount").value(1))
+                    .andExpect(jsonPath("$.location.city").value("Import City"));
+            mockMvc.perform(get("/api/events/public/nearby?lat=-12.3456&lon=65.4321&radiusKm=1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(importedId));
+
+            String csv = "name,description,startDate,endDate,isPublic,locationId\r\n" +
+                    "\"Workshop, part 1\",\"Bring a \"\"laptop\"\"\nand a charger\"," + start + "," + end + ",false,\r\n" +
+                    "\"Workshop, part 2\",," + start + "," + end + ",false,\r\n";
+            MvcResult csvResult = mockMvc.perform(post("/api/events/bulk").header("Authorization", organizerToken)
+                            .contentType("text/csv").content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(2))
+                    .andReturn();
+            JsonNode csvRows = objectMapper.readTree(csvResult.getResponse().getContentAsString()).get("rows");
+            long workshopId = csvRows.get(0).get("eventId").asLong();
+            long secondWorkshopId = csvRows.get(1).get("eventId").asLong();
+            eventIds.add(workshopId);
+            eventIds.add(secondWorkshopId);
+            // Both rows take their IDs from one reserved block
+            assertThat(secondWorkshopId).isEqualTo(workshopId + 1);
+            mockMvc.perform(get("/api/events/" + workshopId).header("Authorization", organizerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Workshop, part 1"))
+                    .andExpect(jsonPath("$.description").value("Bring a \"laptop\"\nand a charger"));
+
+            mockMvc.perform(post("/api/events/bulk").header("Authorization", organizerToken)
+                            .contentType("text/csv").content("name,colour\r\nParty,red\r\n"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/api/events/bulk").header("Authorization", organizerToken)
+                            .contentType(MediaType.APPLICATION_XML).content("<events/>"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/api/events/bulk").header("Authorization", userToken)
+                            .contentType("application/x-ndjson").content(ndjson))
+                    .andExpect(status().isForbidden());
+        } finally {
+            deleteEvents(eventIds);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // Each request needs a persistence context of its own
+    public void testMyParticipatedEvents_StatementCountDoesNotGrowWithPageSize() throws Exception {
+        List<Long> eventIds = new ArrayList<>();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        try {
+            // More events than the larger page, so both pages also run the count query
+            Instant start = Instant.now().plus(3, ChronoUnit.DAYS);
+            Instant end = start.plus(2, ChronoUnit.HOURS);
+            StringBuilder ndjson = new StringBuilder();
+            for (int i = 0; i < 21; i++) {
+                ndjson.append("{\"name\":\"Paged ").append(i).append("\",\"startDate\":\"").append(start)
+                        .append("\",\"endDate\":\"").append(end).append("\",\"isPublic\":true,")
+                        .append("\"location\":{\"streetName\":\"Paged Street\",\"streetNumber\":\"").append(i)
+                        .append("\",\"postalCode\":\"12345\",\"city\":\"Test City\",\"region\":\"TestReg\",")
+                        .append("\"countryIsoCode\":\"PL\"}}\n");
+            }
+            MvcResult importResult = mockMvc.perform(post("/api/events/bulk").header("Authorization", organizerToken)
+                            .contentType("application/x-ndjson").content(ndjson.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(21))
+                    .andReturn();
+            for (JsonNode row : objectMapper.readTree(importResult.getResponse().getContentAsString()).get("rows")) {
+                eventIds.add(row.get("eventId").asLong());
+            }
+
+            // Warms the account cache, so neither measured request loads the caller
+            mockMvc.perform(get("/api/events/my-participated?size=1").header("Authorization", organizerToken))
+                    .andExpect(status().isOk());
+
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+            mockMvc.perform(get("/api/events/my-participated?size=1").header("Authorization", organizerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1));
+            long singleEventStatements = statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            mockMvc.perform(get("/api/events/my-participated?size=20").header("Authorization", organizerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(20));
+            long twentyEventStatements = statistics.getPrepareStatementCount();
+
+            assertThat(singleEventStatements).isPositive();
+            assertThat(twentyEventStatements).isEqualTo(singleEventStatements);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+            deleteEvents(eventIds);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // The account cache only keeps committed snapshots
+    public void testAccountCache_RoleChangeTakesTheOldAuthorityAway() throws Exception {
+        String login = "cached_role_" + UUID.randomUUID() + "@test.com";
+        Long accountId = findOrCreateUserAndGetId(login, "Cached Role", "password");
+        try {
+            AdminChangeUserRoleRequest roleRequest = new AdminChangeUserRoleRequest();
+            roleRequest.setRoleName("organizer");
+            mockMvc.perform(patch("/api/admin/accounts/" + accountId + "/role").header("Authorization", adminToken)
+                            .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(roleRequest)))
+                    .andExpect(status().isOk());
+            String organizerRoleToken = loginAndGetToken(login, "password");
+            mockMvc.perform(get("/api/events/my-created").header("Authorization", organizerRoleToken))
+                    .andExpect(status().isOk());
+            assertThat(accountCache.findById(accountId)).map(AuthenticatedAccount::getRole).contains("organizer");
+
+            roleRequest.setRoleName("user");
+            mockMvc.perform(patch("/api/admin/accounts/" + accountId + "/role").header("Authorization", adminToken)
+                            .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(roleRequest)))
+                    .andExpect(status().isOk());
+
+            assertThat(accountCache.findById(accountId)).map(AuthenticatedAccount::getRole).contains("user");
+            mockMvc.perform(get("/api/events/my-created").header("Authorization", organizerRoleToken))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(get("/api/events/my-created").header("Authorization", loginAndGetToken(login, "password")))
+                    .andExpect(status().isForbidden());
+        } finally {
+            mockMvc.perform(delete("/api/admin/accounts/" + accountId).header("Authorization", adminToken));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // The account cache only keeps committed snapshots
+    public void testAccountCache_PasswordChangeRejectsTheOldPasswordAtOnce() throws Exception {
+        String login = "cached_password_" + UUID.randomUUID() + "@test.com";
+        Long accountId = findOrCreateUserAndGetId(login, "Cached Password", "password");
+        try {
+            String token = loginAndGetToken(login, "password");
+            mockMvc.perform(get("/api/account/me").header("Authorization", token))
+                    .andExpect(status().isOk());
+            assertThat(accountCache.findByLogin(login)).isPresent();
+
+            ChangePasswordRequest passwordRequest = new ChangePasswordRequest();
+            passwordRequest.setOldPassword("password");
+            passwordRequest.setNewPassword("newpassword");
+            mockMvc.perform(put("/api/account/password").header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(passwordRequest)))
+                    .andExpect(status().isOk());
+
+            LoginRequest oldPasswordLogin = new LoginRequest();
+            oldPasswordLogin.setLogin(login);
+            oldPasswordLogin.setPassword("password");
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(oldPasswordLogin)))
+                    .andExpect(status().isUnauthorized());
+            loginAndGetToken(login, "newpassword");
+        } finally {
+            mockMvc.perform(delete("/api/admin/accounts/" + accountId).header("Authorization", adminToken));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER) // The account cache only keeps committed snapshots
+    public void testAccountCache_DeletedAccountIsNotServedFromTheCache() throws Exception {
+        String login = "cached_deleted_" + UUID.randomUUID() + "@test.com";
+        Long accountId = findOrCreateUserAndGetId(login, "Cached Deleted", "password");
+        String token = loginAndGetToken(login, "password");
+        mockMvc.perform(get("/api/account/me").header("Authorization", token))
+                .andExpect(status().isOk());
+        assertThat(accountCache.findById(accountId)).isPresent();
+
+        mockMvc.perform(delete("/api/admin/accounts/" + accountId).header("Authorization", adminToken))
+                .andExpect(status().isNoContent());
+
+        assertThat(accountCache.findById(accountId)).isEmpty();
+        assertThat(accountCache.findByLogin(login)).isEmpty();
+        mockMvc.perform(get("/api/account/me").header("Authorization", token))
+                .andExpect(status().isForbidden());
+        LoginRequest deletedLogin = new LoginRequest();
+        deletedLogin.setLogin(login);
+        deletedLogin.setPassword("password");
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(deletedLogin)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testCurrentAccount_ResolvesTheCallersIdAndRole() throws Exception {
+        MvcResult organizerResult = mockMvc.perform(get("/api/account/me").header("Authorization", organizerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(organizerId))
+                .andReturn();
+        CurrentAccount organizer = (CurrentAccount) organizerResult.getRequest().getAttribute(CurrentAccount.class.getName());
+        assertThat(organizer.getId()).isEqualTo(organizerId);
+        assertThat(organizer.getRole()).isEqualTo("organizer");
+        assertThat(organizer.isAdmin()).isFalse();
+
+        MvcResult adminResult = mockMvc.perform(get("/api/account/me").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(adminId))
+                .andReturn();
+        CurrentAccount admin = (CurrentAccount) adminResult.getRequest().getAttribute(CurrentAccount.class.getName());
+        assertThat(admin.getId()).isEqualTo(adminId);
+        assertThat(admin.isAdmin()).isTrue();
+
+        mockMvc.perform(get("/api/account/me"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/account/me").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isForbidden());
+
+        // Without an account principal the resolver refuses instead of failing on a missing principal
+        MethodParameter parameter = new MethodParameter(UserController.class.getMethod("getCurrentUser", CurrentAccount.class), 0);
+        try {
+            SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                    "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+            assertThatThrownBy(() -> currentAccountArgumentResolver.resolveArgument(
+                    parameter, null, new ServletWebRequest(new MockHttpServletRequest()), null))
+                    .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+            SecurityContextHolder.clearContext();
+            assertThatThrownBy(() -> currentAccountArgumentResolver.resolveArgument(
+                    parameter, null, new ServletWebRequest(new MockHttpServletRequest()), null))
+                    .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testJwtVerification_CachedTokenIsRejectedOnceExpired() throws Exception {
+        JwtService shortLivedTokens = new JwtService(jwtSecret, 1500, 10, tokenEpochRegistry);
+        String token = shortLivedTokens.generateToken(userRepository.findById(userId).orElseThrow());
+        assertThat(shortLivedTokens.verify(token).get("userId", Long.class)).isEqualTo(userId);
+        assertThat(shortLivedTokens.verify(token).getSubject()).isEqualTo("user@test.com");
+
+        Thread.sleep(2500);
+
+        assertThatThrownBy(() -> shortLivedTokens.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    public void testJwtVerification_TamperedSignatureIsNotServedFromTheCache() throws Exception {
+        String token = userToken.substring("Bearer ".length());
+        assertThat(jwtService.verify(token).get("userId", Long.class)).isEqualTo(userId);
+
+        // Same header and payload, different signature
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + token.substring(signatureStart + 1);
+
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+        mockMvc.perform(get("/api/account/me").header("Authorization", "Bearer " + tampered))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/account/me").header("Authorization", userToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testNotificationFanOut_InsertsOneRowPerRecipientWithSequenceIds() throws Exception {
+        List<User> recipients = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Long recipientId = findOrCreateUserAndGetId("fanout" + i + "@test.com", "Fan Out " + i, "password");
+            recipients.add(userRepository.findById(recipientId).orElseThrow());
+        }
+        String message = "Fan-out " + UUID.randomUUID();
+
+        notificationService.createAndSendNotifications(recipients, message, null);
+        accountNotificationRepository.flush();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT an.account_id, an.notification_id, an.status FROM account_notification an " +
+                        "JOIN notification n ON n.notification_id = an.notification_id WHERE n.message = ?", message);
+        assertThat(rows).hasSize(3);
+        assertThat(rows).extracting(row -> ((Number) row.get("account_id")).longValue())
+                .containsExactlyInAnyOrderElementsOf(recipients.stream().map(User::getId).toList());
+        assertThat(rows).extracting(row -> row.get("status")).containsOnly("created");
+        List<Long> notificationIds = rows.stream().map(row -> ((Number) row.get("notification_id")).longValue()).toList();
+        assertThat(notificationIds).doesNotHaveDuplicates().allMatch(id -> id > 0);
+
+        // The key of a new AccountNotification is assigned from its associations, so it must report itself
+        // as new: save() then persists it in place instead of merging it into a copy after a lookup.
+        Notification notification = new Notification();
+        notification.setMessage(message);
+        notification.setCreatedAt(Instant.now());
+        notificationRepository.save(notification);
+        assertThat(notification.getId()).isNotNull();
+        AccountNotification accountNotification = new AccountNotification();
+        accountNotification.setRecipient(recipients.get(0));
+        accountNotification.setNotification(notification);
+        accountNotification.setStatus(NotificationStatus.CREATED);
+        assertThat(accountNotification.isNew()).isTrue();
+        assertThat(accountNotificationRepository.save(accountNotification)).isSameAs(accountNotification);
+        accountNotificationRepository.flush();
+        assertThat(accountNotification.isNew()).isFalse();
+        assertThat(accountNotificationRepository.findByRecipientId(recipients.get(0).getId(), PageRequest.of(0, 10)))
+                .allMatch(loaded -> !loaded.isNew());
+    }
+
+    private long uploadGalleryImage(long eventId, String filename, byte[] content) throws Exception {
+        MockMultipartFile imageFile = new MockMultipartFile("file", filename, MediaType.IMAGE_PNG_VALUE, content);
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/events/" + eventId + "/media/gallery").file(imageFile).header("Authorization", organizerToken))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(uploadResult.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    /**
+     * Builds a valid PNG header declaring the given dimensions, followed by a single empty data chunk.
+     */
+    private static byte[] pngDeclaring(int width, int height) throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        png.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+        ByteBuffer header = ByteBuffer.allocate(13).putInt(width).putInt(height).put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+        writePngChunk(png, "IHDR", header.array());
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(data)) {
+            deflater.write(new byte[1]);
+        }
+        writePngChunk(png, "IDAT", data.toByteArray());
+        writePngChunk(png, "IEND", new byte[0]);
+        return png.toByteArray();
+    }
+
+    private static void writePngChunk(ByteArrayOutputStream png, String type, byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(type.getBytes(StandardCharsets.US_ASCII));
+        crc.update(data);
+        png.writeBytes(ByteBuffer.allocate(4).putInt(data.length).array());
+        png.writeBytes(type.getBytes(StandardCharsets.US_ASCII));
+        png.writeBytes(data);
+        png.writeBytes(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+    }
+
+    private long createEvent(EventCreationRequest event) throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event)))
+                .andExpect(status().isCreated()).andReturn();
+        return objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    /**
+     * Cleans up after tests running without a rolled-back transaction; events already deleted are skipped.
+     */
+    private void deleteEvents(List<Long> eventIds) throws Exception {
+        for (Long eventId : eventIds) {
+            mockMvc.perform(delete("/api/admin/events/" + eventId).header("Authorization", adminToken));
+        }
+    }
+
+    private long createEventBetween(Instant startDate, Instant endDate) throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        event.setStartDate(startDate);
+        event.setEndDate(endDate);
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event)))
+                .andExpect(status().isCreated()).andReturn();
+        return objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private long createEventAt(double latitude, double longitude, boolean isPublic, int endInDays) throws Exception {
+        EventCreationRequest event = createSampleEvent();
+        event.getLocation().setLatitude(latitude);
+        event.getLocation().setLongitude(longitude);
+        event.setIsPublic(isPublic);
+        event.setEndDate(Instant.now().plus(endInDays, ChronoUnit.DAYS));
+        MvcResult createResult = mockMvc.perform(post("/api/events").header("Authorization", organizerToken).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(event)))
+                .andExpect(status().isCreated()).andReturn();
+        return objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+    }
+
     private EventCreationRequest createSampleEvent() {
         LocationCreationRequest location = new LocationCreationRequest();
         location.setStreetName("Test Street");
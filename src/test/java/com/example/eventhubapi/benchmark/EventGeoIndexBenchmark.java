@@ -0,0 +1,118 @@
+package com.example.eventhubapi.benchmark;
+
+import com.example.eventhubapi.event.dto.EventGeoDocument;
+import com.example.eventhubapi.event.geo.EventGeoIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures nearby-event queries against {@link EventGeoIndex} holding one million synthetic locations,
+ * for several radii, compared with checking the distance of every event as a full scan would.
+ * Most locations are clustered around a few hundred city centres, the rest are spread over land latitudes.
+ * Run with {@code main} from the test classpath; it is not part of the regular test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class EventGeoIndexBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+    private static final int CITIES = 500;
+    private static final int QUERY_POINTS = 1024;
+
+    @Param({"5", "50", "500"})
+    public double radiusKm;
+
+    private EventGeoIndex index;
+    private EventGeoDocument[] documents;
+    private double[][] queryPoints;
+    private int next;
+    private final EventGeoIndex.Filter filter = new EventGeoIndex.Filter(true, null, null);
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[][] cities = new double[CITIES][];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = new double[]{random.nextDouble(-55, 70), random.nextDouble(-180, 180)};
+        }
+
+        Instant start = Instant.parse("2025-06-01T00:00:00Z");
+        index = new EventGeoIndex();
+        documents = new EventGeoDocument[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            double latitude;
+            double longitude;
+            if (random.nextInt(10) < 8) {
+                double[] city = cities[random.nextInt(CITIES)];
+                latitude = Math.max(-90, Math.min(90, city[0] + random.nextDouble(-0.5, 0.5)));
+                longitude = wrap(city[1] + random.nextDouble(-0.5, 0.5));
+            } else {
+                latitude = random.nextDouble(-55, 70);
+                longitude = random.nextDouble(-180, 180);
+            }
+            Instant eventStart = start.plus(random.nextInt(365), ChronoUnit.DAYS);
+            documents[i] = new EventGeoDocument((long) i + 1, "Event " + i, random.nextInt(10) != 0,
+                    eventStart, eventStart.plus(1, ChronoUnit.DAYS), latitude, longitude);
+            index.put(documents[i]);
+        }
+
+        queryPoints = new double[QUERY_POINTS][];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            double[] city = cities[random.nextInt(CITIES)];
+            queryPoints[i] = new double[]{city[0], city[1]};
+        }
+    }
+
+    @Benchmark
+    public EventGeoIndex.Result gridIndex() {
+        double[] point = nextPoint();
+        return index.nearby(point[0], point[1], radiusKm, filter, 20);
+    }
+
+    @Benchmark
+    public int fullScan() {
+        double[] point = nextPoint();
+        double latitude = Math.toRadians(point[0]);
+        double longitude = Math.toRadians(point[1]);
+        int matches = 0;
+        for (EventGeoDocument document : documents) {
+            double phi = Math.toRadians(document.getLatitude());
+            double sinHalfPhi = Math.sin((phi - latitude) / 2);
+            double sinHalfLambda = Math.sin((Math.toRadians(document.getLongitude()) - longitude) / 2);
+            double a = sinHalfPhi * sinHalfPhi + Math.cos(latitude) * Math.cos(phi) * sinHalfLambda * sinHalfLambda;
+            if (document.isPublic() && 2 * 6371.0088 * Math.asin(Math.min(1, Math.sqrt(a))) <= radiusKm) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private double[] nextPoint() {
+        double[] point = queryPoints[next];
+        next = (next + 1) & (QUERY_POINTS - 1);
+        return point;
+    }
+
+    private static double wrap(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EventGeoIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
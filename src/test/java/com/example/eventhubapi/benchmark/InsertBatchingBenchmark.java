@@ -0,0 +1,124 @@
+package com.example.eventhubapi.benchmark;
+
+import com.example.eventhubapi.EventHubApiApplication;
+import com.example.eventhubapi.event.Event;
+import com.example.eventhubapi.event.EventRepository;
+import com.example.eventhubapi.invitation.Invitation;
+import com.example.eventhubapi.invitation.InvitationRepository;
+import com.example.eventhubapi.invitation.enums.InvitationStatus;
+import com.example.eventhubapi.notification.NotificationService;
+import com.example.eventhubapi.user.User;
+import com.example.eventhubapi.user.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inserted rows per second for the two write-heavy paths: a notification fan-out (one notification and
+ * one account_notification row per recipient) and a batch of invitations for one event, each in one transaction.
+ * <p>
+ * Runs against the database configured in application.properties, which must already hold at least
+ * {@code recipients} accounts and one event; every transaction is rolled back, so the data is left unchanged.
+ * {@code jdbcBatchSize=1} turns insert batching off while keeping sequence IDs. To compare with identity columns,
+ * run the benchmark on the revision before {@code db/pooled_sequences.sql} as well.
+ * Run with {@code main} from the test classpath; it is not part of the regular test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int RECIPIENTS = 200;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private InvitationRepository invitationRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<User> recipients;
+    private Event event;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(EventHubApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize)
+                .run();
+        notificationService = context.getBean(NotificationService.class);
+        invitationRepository = context.getBean(InvitationRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        recipients = context.getBean(UserRepository.class).findAll(PageRequest.of(0, RECIPIENTS)).getContent();
+        event = context.getBean(EventRepository.class).findAll(PageRequest.of(0, 1)).stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("The benchmark needs at least one event in the database."));
+        if (recipients.size() < RECIPIENTS) {
+            throw new IllegalStateException("The benchmark needs at least " + RECIPIENTS + " accounts in the database.");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Each operation is one inserted recipient: a notification and its account_notification row.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void notificationFanOut() {
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationService.createAndSendNotifications(recipients, "Benchmark notification", event.getId());
+            invitationRepository.flush();
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * Each operation is one inserted invitation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void invitations() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            List<Invitation> invitations = new ArrayList<>(RECIPIENTS);
+            for (User recipient : recipients) {
+                Invitation invitation = new Invitation();
+                invitation.setEvent(event);
+                invitation.setInvitedUser(recipient);
+                invitation.setStatus(InvitationStatus.SENT);
+                invitation.setSentAt(now);
+                invitations.add(invitation);
+            }
+            invitationRepository.saveAll(invitations);
+            invitationRepository.flush();
+            status.setRollbackOnly();
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InsertBatchingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.eventhubapi.benchmark;
+
+import com.example.eventhubapi.auth.JwtService;
+import com.example.eventhubapi.security.Role;
+import com.example.eventhubapi.security.TokenEpochRegistry;
+import com.example.eventhubapi.user.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous JWT verification path (three parses per request, each rebuilding the parser
+ * and re-decoding the secret) with {@link JwtService#verify(String)}, both on a cold and a warm cache.
+ * Run with {@code main} from the test classpath; it is not part of the regular test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "71c653fd57b16640286b09f6acf3e7bd610e430525be7368f8b8ee497f8503b443664837a24775da515aa06b8b555cbca5445d3f86d9ad5e47278f3e5ac3fdde2374288379c284fae545750850d542aa9229bf677ead9bbc26796ce1c7d440718130313f7fa741f5661b1695c160291585194034500a81ad796794229c27a013fe64209c7753e13263d3477e654c1fff1859bb3dd2d3e137c49791ddc65ce395b091a70057da2ca2a95e5e48431e5f1eddd234eb39df5adf54793929896b1be0750a6474506d7546f357145e87ba2340ad450a0fce2e3c071137038fdad226e75cbea1d8373c3aa756e75b1e73d0c299c431255c9cbdeae654477153e412b879";
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        TokenEpochRegistry registry = new TokenEpochRegistry(null, 3_600_000L);
+        cachedService = new JwtService(SECRET, 3_600_000L, 10_000L, registry);
+        uncachedService = new JwtService(SECRET, 3_600_000L, 0L, registry);
+
+        User user = new User();
+        user.setId(42L);
+        user.setLogin("benchmark@test.com");
+        user.setRole(new Role("user"));
+        token = cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public void legacyTriplePass(Blackhole blackhole) {
+        String username = legacyClaims(token).getSubject();
+        boolean valid = legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+        blackhole.consume(valid);
+    }
+
+    @Benchmark
+    public Claims verifyWithoutCache() {
+        return uncachedService.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyWithCache() {
+        return cachedService.verify(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}